@@ -0,0 +1,49 @@
+package com.swissre.employee.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command line, but writes
+ * results as JSON to {@code results/jmh-<revision>.json} unless {@code -rf}/{@code -rff}
+ * say otherwise, so runs from different commits can be compared side by side.
+ * The revision is taken from the {@code benchmark.revision} system property.
+ */
+public final class BenchmarkMain {
+    private static final String RESULTS_DIRECTORY = "results";
+
+    private BenchmarkMain() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+                || commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            String revision = System.getProperty("benchmark.revision", "local");
+            Path results = Paths.get(RESULTS_DIRECTORY);
+            Files.createDirectories(results);
+            options.result(results.resolve("jmh-" + revision + ".json").toString());
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,60 @@
+package com.swissre.employee.benchmark;
+
+import com.swissre.employee.EmployeeAnalysisApplication;
+import com.swissre.employee.service.impl.CsvEmployeeDataService;
+import com.swissre.employee.service.impl.DefaultReportingLineAnalysisService;
+import com.swissre.employee.service.impl.DefaultSalaryAnalysisService;
+import com.swissre.employee.service.impl.OrgAnalysisEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@link EmployeeAnalysisApplication#runAnalysis(String)} from CSV file to printed report.
+ * The report is written to a discarding stream so console speed does not skew results.
+ */
+@State(Scope.Benchmark)
+public class EndToEndBenchmark extends OrgBenchmarkSupport {
+    private Path csv;
+    private PrintStream originalOut;
+    private EmployeeAnalysisApplication engineApplication;
+    private EmployeeAnalysisApplication servicesApplication;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csv = Files.createTempFile("employee-benchmark", ".csv");
+        generator().writeCsv(size, csv);
+
+        engineApplication = new EmployeeAnalysisApplication(new CsvEmployeeDataService(), new OrgAnalysisEngine());
+        servicesApplication = new EmployeeAnalysisApplication(new CsvEmployeeDataService(),
+                new DefaultSalaryAnalysisService(), new DefaultReportingLineAnalysisService());
+
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    public void engine() {
+        engineApplication.runAnalysis(csv.toString());
+    }
+
+    @Benchmark
+    public void separateServices() {
+        servicesApplication.runAnalysis(csv.toString());
+    }
+}
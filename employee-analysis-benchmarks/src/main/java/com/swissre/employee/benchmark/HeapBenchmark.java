@@ -0,0 +1,142 @@
+package com.swissre.employee.benchmark;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.service.EmployeeDataException;
+import com.swissre.employee.service.EmployeeDataService;
+import com.swissre.employee.service.impl.CsvEmployeeDataService;
+import com.swissre.employee.service.impl.SnapshotEmployeeDataService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Heap retained by a loaded organization, for each {@link EmployeeDataService} variant.
+ * <p>
+ * Each iteration loads the generated CSV once and reports, next to the load time, the heap still in
+ * use after a full GC ({@code retainedBytes}) and the number of distinct name String instances
+ * ({@code nameInstances}). {@code perRowNames} copies every name of a mapped load into its own String,
+ * which is what the heap would hold without the name dictionary. JMH sums the counters over the
+ * measurement iterations, so divide them by the sample count for one load. Run with {@code -prof gc}
+ * to compare the bytes allocated per load as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class HeapBenchmark extends OrgBenchmarkSupport {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private Path directory;
+    private String csvPath;
+    private EmployeeDataService mappedService;
+    private EmployeeDataService openCsvService;
+    private EmployeeDataService snapshotService;
+    private long baselineBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, EmployeeDataException {
+        directory = Files.createTempDirectory("employee-benchmark");
+        Path csv = directory.resolve("employees.csv");
+        generator().writeCsv(size, csv);
+        csvPath = csv.toString();
+
+        mappedService = new CsvEmployeeDataService();
+        openCsvService = new CsvEmployeeDataService(false);
+        snapshotService = new SnapshotEmployeeDataService(new CsvEmployeeDataService(), directory);
+        // Write the snapshot up front so the benchmark measures warm loads only
+        snapshotService.loadEmployeesFromCsv(csvPath);
+    }
+
+    @Setup(Level.Iteration)
+    public void measureBaseline() {
+        baselineBytes = usedHeapAfterGc();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<Employee> mappedCsv(HeapCounters counters) throws EmployeeDataException {
+        return retained(mappedService.loadEmployeesFromCsv(csvPath), counters);
+    }
+
+    @Benchmark
+    public List<Employee> openCsv(HeapCounters counters) throws EmployeeDataException {
+        return retained(openCsvService.loadEmployeesFromCsv(csvPath), counters);
+    }
+
+    @Benchmark
+    public List<Employee> snapshot(HeapCounters counters) throws EmployeeDataException {
+        return retained(snapshotService.loadEmployeesFromCsv(csvPath), counters);
+    }
+
+    @Benchmark
+    public List<Employee> perRowNames(HeapCounters counters) throws EmployeeDataException {
+        List<Employee> loaded = mappedService.loadEmployeesFromCsv(csvPath);
+        List<Employee> copies = new ArrayList<>(loaded.size());
+        for (Employee employee : loaded) {
+            copies.add(new Employee(employee.getId(), new String(employee.getFirstName()),
+                    new String(employee.getLastName()), employee.getSalary(), employee.getManagerId()));
+        }
+        return retained(copies, counters);
+    }
+
+    private List<Employee> retained(List<Employee> employees, HeapCounters counters) {
+        counters.retainedBytes = usedHeapAfterGc() - baselineBytes;
+        Set<String> names = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Employee employee : employees) {
+            names.add(employee.getFirstName());
+            names.add(employee.getLastName());
+        }
+        counters.nameInstances = names.size();
+        return employees;
+    }
+
+    private static long usedHeapAfterGc() {
+        // A second collection picks up objects whose finalization the first one only queued
+        System.gc();
+        System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Secondary results of one load, reported by JMH next to its time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapCounters {
+        public long retainedBytes;
+        public long nameInstances;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+            nameInstances = 0;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.swissre.employee.benchmark;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.service.EmployeeDataException;
+import com.swissre.employee.service.EmployeeDataService;
+import com.swissre.employee.service.impl.CsvEmployeeDataService;
+import com.swissre.employee.service.impl.SnapshotEmployeeDataService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Loading a generated CSV file through each {@link EmployeeDataService} variant.
+ */
+@State(Scope.Benchmark)
+public class LoadBenchmark extends OrgBenchmarkSupport {
+    private Path directory;
+    private String csvPath;
+    private EmployeeDataService mappedService;
+    private EmployeeDataService openCsvService;
+    private EmployeeDataService snapshotService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, EmployeeDataException {
+        directory = Files.createTempDirectory("employee-benchmark");
+        Path csv = directory.resolve("employees.csv");
+        generator().writeCsv(size, csv);
+        csvPath = csv.toString();
+
+        mappedService = new CsvEmployeeDataService();
+        openCsvService = new CsvEmployeeDataService(false);
+        snapshotService = new SnapshotEmployeeDataService(new CsvEmployeeDataService(), directory);
+        // Write the snapshot up front so the benchmark measures warm loads only
+        snapshotService.loadEmployeesFromCsv(csvPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<Employee> mappedCsv() throws EmployeeDataException {
+        return mappedService.loadEmployeesFromCsv(csvPath);
+    }
+
+    @Benchmark
+    public List<Employee> openCsv() throws EmployeeDataException {
+        return openCsvService.loadEmployeesFromCsv(csvPath);
+    }
+
+    @Benchmark
+    public List<Employee> snapshot() throws EmployeeDataException {
+        return snapshotService.loadEmployeesFromCsv(csvPath);
+    }
+}
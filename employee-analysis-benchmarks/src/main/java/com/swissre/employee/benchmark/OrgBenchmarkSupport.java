@@ -0,0 +1,45 @@
+package com.swissre.employee.benchmark;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared JMH settings and organization parameters.
+ * Sizes up to 10M employees can be selected with {@code -p size=10000000}; give the forked
+ * JVM enough heap for that with {@code -jvmArgsAppend -Xmx16g}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Dlogback.configurationFile=logback-benchmark.xml"})
+@State(Scope.Benchmark)
+public abstract class OrgBenchmarkSupport {
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"6"})
+    public int maxDepth;
+
+    @Param({"16"})
+    public int fanOut;
+
+    @Param({"GAUSSIAN"})
+    public SalaryDistribution distribution;
+
+    @Param({"42"})
+    public long seed;
+
+    protected SyntheticOrgGenerator generator() {
+        return new SyntheticOrgGenerator(seed, maxDepth, fanOut, distribution);
+    }
+}
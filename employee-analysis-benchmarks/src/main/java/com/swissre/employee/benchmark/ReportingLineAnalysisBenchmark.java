@@ -0,0 +1,48 @@
+package com.swissre.employee.benchmark;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeTable;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.service.impl.DefaultReportingLineAnalysisService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Reporting-line analysis over the object list, the columnar table and the shared index.
+ */
+@State(Scope.Benchmark)
+public class ReportingLineAnalysisBenchmark extends OrgBenchmarkSupport {
+    private List<Employee> employees;
+    private EmployeeTable table;
+    private OrgIndex index;
+    private DefaultReportingLineAnalysisService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = generator().generate(size);
+        table = EmployeeTable.fromEmployees(employees);
+        index = OrgIndex.build(employees);
+        service = new DefaultReportingLineAnalysisService();
+    }
+
+    @Benchmark
+    public List<ReportingLineAnalysisResult> list() {
+        return service.analyzeReportingLines(employees);
+    }
+
+    @Benchmark
+    public List<ReportingLineAnalysisResult> table() {
+        return service.analyzeReportingLines(table);
+    }
+
+    @Benchmark
+    public List<ReportingLineAnalysisResult> orgIndex() {
+        return service.analyzeReportingLines(index);
+    }
+}
@@ -0,0 +1,59 @@
+package com.swissre.employee.benchmark;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeTable;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.service.impl.DefaultSalaryAnalysisService;
+import com.swissre.employee.service.impl.OrgAnalysisEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Salary analysis over the object list, the columnar table and the shared index.
+ */
+@State(Scope.Benchmark)
+public class SalaryAnalysisBenchmark extends OrgBenchmarkSupport {
+    private List<Employee> employees;
+    private EmployeeTable table;
+    private OrgIndex index;
+    private DefaultSalaryAnalysisService sequentialService;
+    private DefaultSalaryAnalysisService parallelService;
+    private OrgAnalysisEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = generator().generate(size);
+        table = EmployeeTable.fromEmployees(employees);
+        index = OrgIndex.build(employees);
+        sequentialService = new DefaultSalaryAnalysisService(ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+        parallelService = new DefaultSalaryAnalysisService(ForkJoinPool.commonPool(), 0);
+        engine = new OrgAnalysisEngine();
+    }
+
+    @Benchmark
+    public List<SalaryAnalysisResult> listSequential() {
+        return sequentialService.analyzeSalaryDiscrepancies(employees);
+    }
+
+    @Benchmark
+    public List<SalaryAnalysisResult> listParallel() {
+        return parallelService.analyzeSalaryDiscrepancies(employees);
+    }
+
+    @Benchmark
+    public List<SalaryAnalysisResult> table() {
+        return sequentialService.analyzeSalaryDiscrepancies(table);
+    }
+
+    @Benchmark
+    public List<SalaryAnalysisResult> orgIndex() {
+        return engine.analyzeSalaryDiscrepancies(index);
+    }
+}
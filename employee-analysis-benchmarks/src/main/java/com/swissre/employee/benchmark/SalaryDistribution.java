@@ -0,0 +1,25 @@
+package com.swissre.employee.benchmark;
+
+import java.util.Random;
+
+/**
+ * Spread of generated salaries around the expected salary of a level.
+ */
+public enum SalaryDistribution {
+    /** Uniform in {@code [mean * (1 - spread), mean * (1 + spread)]}. */
+    UNIFORM {
+        @Override
+        double sample(Random random, double mean, double spread) {
+            return mean * (1 + spread * (2 * random.nextDouble() - 1));
+        }
+    },
+    /** Normal with standard deviation {@code mean * spread}, cut off at 1% of the mean. */
+    GAUSSIAN {
+        @Override
+        double sample(Random random, double mean, double spread) {
+            return Math.max(mean * 0.01, mean * (1 + spread * random.nextGaussian()));
+        }
+    };
+
+    abstract double sample(Random random, double mean, double spread);
+}
@@ -0,0 +1,191 @@
+package com.swissre.employee.benchmark;
+
+import com.swissre.employee.model.Employee;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic generator of large synthetic organizations.
+ * <p>
+ * Employees are laid out level by level: the CEO has id 1 and every manager gets
+ * {@code fanOut} direct reports until the organization has the requested size. Once the
+ * tree reaches {@code maxDepth}, further employees are spread round-robin over the deepest
+ * managers allowed, so no reporting line exceeds {@code maxDepth}. Each level up earns
+ * {@code levelPremium} more on average, with per-employee noise drawn from the salary
+ * distribution. The same settings and seed always produce the same organization.
+ */
+public final class SyntheticOrgGenerator {
+    private static final String CSV_HEADER = "id,firstName,lastName,salary,managerId";
+    private static final long MAX_MEAN_SALARY_MINOR_UNITS = 100_000_000_000L;
+    private static final String[] FIRST_NAMES = {
+            "Joe", "Martin", "Bob", "Alice", "Brett", "Carla", "Dmitri", "Elena", "Farid", "Grace",
+            "Hiro", "Ines", "Jonas", "Keiko", "Lars", "Maria", "Nadia", "Omar", "Priya", "Quentin"
+    };
+    private static final String[] LAST_NAMES = {
+            "Doe", "Chekov", "Ronstad", "Hasacat", "Hardleaf", "Novak", "Ivanov", "Rossi", "Haddad", "Smith",
+            "Tanaka", "Moreau", "Berg", "Sato", "Nilsson", "Garcia", "Kowalski", "Khan", "Patel", "Dubois"
+    };
+
+    private final long seed;
+    private final int maxDepth;
+    private final int fanOut;
+    private final SalaryDistribution distribution;
+    private final long baseSalaryMinorUnits;
+    private final double spread;
+    private final double levelPremium;
+
+    /**
+     * Creates a generator with a base salary of 50,000.00, 15% spread and a 35% premium
+     * per level, which keeps most managers inside the expected salary band.
+     */
+    public SyntheticOrgGenerator(long seed, int maxDepth, int fanOut, SalaryDistribution distribution) {
+        this(seed, maxDepth, fanOut, distribution, 50_000_00L, 0.15, 0.35);
+    }
+
+    /**
+     * @param seed                 random seed
+     * @param maxDepth             maximum number of levels below the CEO
+     * @param fanOut               direct reports per manager before the depth limit is reached
+     * @param distribution         spread of salaries within a level
+     * @param baseSalaryMinorUnits mean salary of the lowest level, in hundredths
+     * @param spread               relative spread of salaries within a level
+     * @param levelPremium         relative salary increase per level
+     */
+    public SyntheticOrgGenerator(long seed, int maxDepth, int fanOut, SalaryDistribution distribution,
+                                 long baseSalaryMinorUnits, double spread, double levelPremium) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Maximum depth must be at least 1");
+        }
+        if (fanOut < 1) {
+            throw new IllegalArgumentException("Fan-out must be at least 1");
+        }
+        if (baseSalaryMinorUnits <= 0 || spread < 0 || levelPremium < 0) {
+            throw new IllegalArgumentException("Salary settings must be positive");
+        }
+        this.seed = seed;
+        this.maxDepth = maxDepth;
+        this.fanOut = fanOut;
+        this.distribution = distribution;
+        this.baseSalaryMinorUnits = baseSalaryMinorUnits;
+        this.spread = spread;
+        this.levelPremium = levelPremium;
+    }
+
+    /**
+     * Generates an organization in memory.
+     *
+     * @param size number of employees
+     * @return the employees, CEO first
+     */
+    public List<Employee> generate(int size) {
+        List<Employee> employees = new ArrayList<>(size);
+        generate(size, employees::add);
+        return employees;
+    }
+
+    /**
+     * Writes an organization as CSV, in the format read by {@code CsvEmployeeDataService}.
+     * Rows are streamed, so very large organizations never have to fit in memory as objects.
+     *
+     * @param size   number of employees
+     * @param target file to (over)write
+     */
+    public void writeCsv(int size, Path target) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            try {
+                generate(size, employee -> writeRow(writer, employee));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private void generate(int size, Consumer<Employee> sink) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Organization size must be at least 1");
+        }
+        int[] managers = new int[size];
+        int[] depths = new int[size];
+        int deepest = assignManagers(managers, depths);
+
+        Random random = new Random(seed);
+        for (int i = 0; i < size; i++) {
+            double mean = Math.min(MAX_MEAN_SALARY_MINOR_UNITS,
+                    baseSalaryMinorUnits * Math.pow(1 + levelPremium, deepest - depths[i]));
+            long salary = Math.max(1, Math.round(distribution.sample(random, mean, spread)));
+            sink.accept(new Employee(
+                    i + 1,
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    BigDecimal.valueOf(salary, 2),
+                    i == 0 ? null : managers[i] + 1));
+        }
+    }
+
+    /**
+     * Fills manager positions and depths in level order.
+     *
+     * @return the depth of the deepest employee
+     */
+    private int assignManagers(int[] managers, int[] depths) {
+        int size = managers.length;
+        managers[0] = -1;
+        int deepest = 0;
+        // Managers at the deepest level that may still have reports: [wrapStart, wrapEnd)
+        int wrapStart = maxDepth == 1 ? 0 : -1;
+        int wrapEnd = -1;
+        int parent = 0;
+        int assigned = 0;
+        for (int i = 1; i < size; i++) {
+            if (assigned == fanOut) {
+                parent++;
+                assigned = 0;
+            }
+            if (parent == wrapEnd || (wrapEnd < 0 && depths[parent] == maxDepth)) {
+                if (wrapEnd < 0) {
+                    wrapEnd = parent;
+                }
+                parent = wrapStart;
+            }
+            managers[i] = parent;
+            depths[i] = depths[parent] + 1;
+            deepest = Math.max(deepest, depths[i]);
+            assigned++;
+            if (wrapStart < 0 && depths[i] == maxDepth - 1) {
+                wrapStart = i;
+            }
+        }
+        return deepest;
+    }
+
+    private static void writeRow(BufferedWriter writer, Employee employee) {
+        try {
+            writer.write(Integer.toString(employee.getId()));
+            writer.write(',');
+            writer.write(employee.getFirstName());
+            writer.write(',');
+            writer.write(employee.getLastName());
+            writer.write(',');
+            writer.write(employee.getSalary().toPlainString());
+            writer.write(',');
+            if (!employee.isCEO()) {
+                writer.write(Integer.toString(employee.getManagerId()));
+            }
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
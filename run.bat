@@ -1,12 +1,7 @@
 @echo off
 REM Employee Analysis Application Runner for Windows
-REM Usage: run.bat <csv-file-path>
+REM Usage: run.bat [options] <csv-file-path>
+REM Arguments are passed to the application, which prints the full usage when they are invalid.
 
-if "%1"=="" (
-    echo Usage: run.bat ^<csv-file-path^>
-    echo Example: run.bat employees.csv
-    exit /b 1
-)
-
-echo Running Employee Analysis Application...
-java -cp "target/classes;target/dependency/*" com.swissre.employee.EmployeeAnalysisApplication "%1"
\ No newline at end of file
+echo Running Employee Analysis Application... 1>&2
+java -cp "target/classes;target/dependency/*" com.swissre.employee.EmployeeAnalysisApplication %*
\ No newline at end of file
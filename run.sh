@@ -1,12 +1,7 @@
 #!/bin/bash
 # Employee Analysis Application Runner for Linux/macOS
-# Usage: ./run.sh <csv-file-path>
+# Usage: ./run.sh [options] <csv-file-path>
+# Arguments are passed to the application, which prints the full usage when they are invalid.
 
-if [ $# -ne 1 ]; then
-    echo "Usage: ./run.sh <csv-file-path>"
-    echo "Example: ./run.sh employees.csv"
-    exit 1
-fi
-
-echo "Running Employee Analysis Application..."
-java -cp "target/classes:target/dependency/*" com.swissre.employee.EmployeeAnalysisApplication "$1"
\ No newline at end of file
+echo "Running Employee Analysis Application..." >&2
+java -cp "target/classes:target/dependency/*" com.swissre.employee.EmployeeAnalysisApplication "$@"
\ No newline at end of file
@@ -1,20 +1,55 @@
 package com.swissre.employee;
 
+import com.swissre.employee.concurrent.ConcurrentAnalysisExecutor;
+import com.swissre.employee.concurrent.VirtualThreadExecutors;
+import com.swissre.employee.config.CommandLineOptions;
+import com.swissre.employee.config.CompensationPolicy;
+import com.swissre.employee.config.CompensationPolicyLoader;
+import com.swissre.employee.metrics.AnalysisMetrics;
+import com.swissre.employee.metrics.PhaseRecorder;
+import com.swissre.employee.model.AnalysisTimings;
 import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.OrgAnalysisResult;
+import com.swissre.employee.model.OrgIndex;
 import com.swissre.employee.model.ReportingLineAnalysisResult;
 import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.report.JsonFormat;
+import com.swissre.employee.report.ReportFormat;
+import com.swissre.employee.report.ReportWriter;
+import com.swissre.employee.server.QueryServerRunner;
 import com.swissre.employee.service.EmployeeDataException;
 import com.swissre.employee.service.EmployeeDataService;
 import com.swissre.employee.service.ReportingLineAnalysisService;
 import com.swissre.employee.service.SalaryAnalysisService;
+import com.swissre.employee.service.impl.AnalysisResultCache;
+import com.swissre.employee.service.impl.CachingOrgAnalysisEngine;
+import com.swissre.employee.service.impl.CompensationPolicyEngine;
 import com.swissre.employee.service.impl.CsvEmployeeDataService;
-import com.swissre.employee.service.impl.DefaultReportingLineAnalysisService;
-import com.swissre.employee.service.impl.DefaultSalaryAnalysisService;
+import com.swissre.employee.service.impl.OrgAnalysisEngine;
+import com.swissre.employee.service.impl.ShardedEmployeeDataService;
+import com.swissre.employee.service.impl.SnapshotEmployeeDataService;
+import com.swissre.employee.watch.WatchModeRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import javax.management.JMException;
 
 /**
  * Main application class for Employee Analysis System.
@@ -22,115 +57,365 @@ import java.util.stream.Collectors;
  */
 public class EmployeeAnalysisApplication {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeAnalysisApplication.class);
+    private static final int REPORT_BUFFER_SIZE = 1 << 16;
     
     private final EmployeeDataService employeeDataService;
     private final SalaryAnalysisService salaryAnalysisService;
     private final ReportingLineAnalysisService reportingLineAnalysisService;
+    private final OrgAnalysisEngine analysisEngine;
+    private final ReportFormat reportFormat;
+    // null to run the analyses one after the other on the calling thread
+    private final ConcurrentAnalysisExecutor analysisExecutor;
+    private final AnalysisMetrics metrics = new AnalysisMetrics();
     
+    /**
+     * Creates an application that runs both analyses from one shared organization index.
+     */
+    public EmployeeAnalysisApplication(EmployeeDataService employeeDataService, OrgAnalysisEngine analysisEngine) {
+        this(employeeDataService, analysisEngine, ReportFormat.TEXT);
+    }
+    
+    /**
+     * Creates an application that runs both analyses from one shared organization index
+     * and reports in the given format.
+     */
+    public EmployeeAnalysisApplication(EmployeeDataService employeeDataService, OrgAnalysisEngine analysisEngine,
+                                     ReportFormat reportFormat) {
+        this(employeeDataService, analysisEngine, reportFormat, null);
+    }
+    
+    /**
+     * Creates an application that builds one shared organization index and runs both analyses
+     * over it concurrently on the given executor.
+     *
+     * @param analysisExecutor runs the analyses, or {@code null} to run them one after the other
+     */
+    public EmployeeAnalysisApplication(EmployeeDataService employeeDataService, OrgAnalysisEngine analysisEngine,
+                                     ReportFormat reportFormat, ConcurrentAnalysisExecutor analysisExecutor) {
+        this.employeeDataService = employeeDataService;
+        this.salaryAnalysisService = analysisEngine;
+        this.reportingLineAnalysisService = analysisEngine;
+        this.analysisEngine = analysisEngine;
+        this.reportFormat = reportFormat;
+        this.analysisExecutor = analysisExecutor;
+    }
+    
+    /**
+     * Creates an application that runs the given analysis services independently.
+     */
     public EmployeeAnalysisApplication(EmployeeDataService employeeDataService,
                                      SalaryAnalysisService salaryAnalysisService,
                                      ReportingLineAnalysisService reportingLineAnalysisService) {
+        this(employeeDataService, salaryAnalysisService, reportingLineAnalysisService, ReportFormat.TEXT);
+    }
+    
+    /**
+     * Creates an application that runs the given analysis services independently
+     * and reports in the given format.
+     */
+    public EmployeeAnalysisApplication(EmployeeDataService employeeDataService,
+                                     SalaryAnalysisService salaryAnalysisService,
+                                     ReportingLineAnalysisService reportingLineAnalysisService,
+                                     ReportFormat reportFormat) {
+        this(employeeDataService, salaryAnalysisService, reportingLineAnalysisService, reportFormat, null);
+    }
+    
+    /**
+     * Creates an application that runs the given analysis services concurrently on the given executor.
+     *
+     * @param analysisExecutor runs the analyses, or {@code null} to run them one after the other
+     */
+    public EmployeeAnalysisApplication(EmployeeDataService employeeDataService,
+                                     SalaryAnalysisService salaryAnalysisService,
+                                     ReportingLineAnalysisService reportingLineAnalysisService,
+                                     ReportFormat reportFormat, ConcurrentAnalysisExecutor analysisExecutor) {
         this.employeeDataService = employeeDataService;
         this.salaryAnalysisService = salaryAnalysisService;
         this.reportingLineAnalysisService = reportingLineAnalysisService;
+        this.analysisEngine = null;
+        this.reportFormat = reportFormat;
+        this.analysisExecutor = analysisExecutor;
     }
     
     public void runAnalysis(String csvFilePath) {
+        runTimedAnalysis(csvFilePath);
+    }
+    
+    /**
+     * Runs the analysis and measures its phases. The timings are also recorded in {@link #getMetrics()}.
+     *
+     * @param csvFilePath the CSV file to analyze
+     * @return the phase timings, or {@code null} if the analysis failed (the error has been reported)
+     */
+    public AnalysisTimings runTimedAnalysis(String csvFilePath) {
+        PhaseRecorder recorder = new PhaseRecorder();
         try {
             logger.info("Starting employee analysis for file: {}", csvFilePath);
             
             // Load employee data
+            recorder.start(AnalysisTimings.Phase.LOAD);
             List<Employee> employees = employeeDataService.loadEmployeesFromCsv(csvFilePath);
             logger.info("Loaded {} employees", employees.size());
             
-            // Analyze salary discrepancies
-            List<SalaryAnalysisResult> salaryIssues = salaryAnalysisService.analyzeSalaryDiscrepancies(employees);
-            
-            // Analyze reporting lines
-            List<ReportingLineAnalysisResult> reportingLineIssues = reportingLineAnalysisService.analyzeReportingLines(employees);
-            
-            // Print results
-            printResults(salaryIssues, reportingLineIssues);
+            if (analysisEngine != null) {
+                // Analyze salaries and reporting lines from one shared index
+                recorder.start(AnalysisTimings.Phase.INDEX);
+                OrgIndex index = OrgIndex.build(employees);
+                analyzeAndReport(recorder,
+                        () -> analysisEngine.analyzeSalaryDiscrepancies(index),
+                        () -> analysisEngine.analyzeReportingLines(index));
+            } else {
+                // Both services only read the employee list, so they can also run side by side
+                analyzeAndReport(recorder,
+                        () -> salaryAnalysisService.analyzeSalaryDiscrepancies(employees),
+                        () -> reportingLineAnalysisService.analyzeReportingLines(employees));
+            }
             
+            AnalysisTimings timings = recorder.finish(employees.size(), inputSize(csvFilePath));
+            metrics.record(timings);
+            logger.info("Analysis finished: {}", timings);
+            return timings;
         } catch (EmployeeDataException e) {
+            metrics.recordFailure();
             logger.error("Error during employee analysis", e);
             System.err.println("Error: " + e.getMessage());
+            return null;
         }
     }
     
-    private void printResults(List<SalaryAnalysisResult> salaryIssues, List<ReportingLineAnalysisResult> reportingLineIssues) {
-        System.out.println("\n=== EMPLOYEE ANALYSIS RESULTS ===\n");
-        
-        // Print salary issues
-        System.out.println("=== SALARY ANALYSIS ===");
-        if (salaryIssues.isEmpty()) {
-            System.out.println("No salary discrepancies found.");
-        } else {
-            // Group by issue type
-            List<SalaryAnalysisResult> underpaidManagers = salaryIssues.stream()
-                    .filter(result -> result.getIssueType() == SalaryAnalysisResult.SalaryIssueType.UNDERPAID)
-                    .collect(Collectors.toList());
+    /**
+     * Runs both analyses and writes each section of the report as soon as its results are in, so the
+     * salary section is out while the reporting lines are still being analyzed.
+     */
+    private void analyzeAndReport(PhaseRecorder recorder, Supplier<List<SalaryAnalysisResult>> salaryAnalysis,
+                                  Supplier<List<ReportingLineAnalysisResult>> reportingLineAnalysis) {
+        // One buffered writer for the whole report; System.out itself stays open
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), REPORT_BUFFER_SIZE);
+        ReportWriter report = reportFormat.newWriter(out);
+        if (analysisExecutor != null) {
+            recorder.start(AnalysisTimings.Phase.CONCURRENT_ANALYSIS);
+            CompletableFuture<List<SalaryAnalysisResult>> salaryIssues = analysisExecutor.submit(salaryAnalysis);
+            CompletableFuture<List<ReportingLineAnalysisResult>> reportingLineIssues = analysisExecutor.submit(reportingLineAnalysis);
+            List<SalaryAnalysisResult> salaryResults = analysisExecutor.await(salaryIssues, reportingLineIssues);
             
-            List<SalaryAnalysisResult> overpaidManagers = salaryIssues.stream()
-                    .filter(result -> result.getIssueType() == SalaryAnalysisResult.SalaryIssueType.OVERPAID)
-                    .collect(Collectors.toList());
+            recorder.start(AnalysisTimings.Phase.REPORT);
+            try {
+                writeSalaryIssues(report, salaryResults);
+            } catch (RuntimeException e) {
+                reportingLineIssues.cancel(false);
+                throw e;
+            }
+            
+            recorder.start(AnalysisTimings.Phase.CONCURRENT_ANALYSIS);
+            List<ReportingLineAnalysisResult> reportingLineResults = analysisExecutor.await(reportingLineIssues);
+            recorder.start(AnalysisTimings.Phase.REPORT);
+            writeReportingLineIssues(report, reportingLineResults);
+        } else {
+            recorder.start(AnalysisTimings.Phase.SALARY_ANALYSIS);
+            List<SalaryAnalysisResult> salaryResults = salaryAnalysis.get();
+            recorder.start(AnalysisTimings.Phase.REPORT);
+            writeSalaryIssues(report, salaryResults);
             
-            if (!underpaidManagers.isEmpty()) {
-                System.out.println("\nManagers earning less than they should:");
-                underpaidManagers.forEach(result -> 
-                    System.out.printf("- %s (ID: %d) earns %s less than expected%n", 
-                        result.getManager().getFullName(), 
-                        result.getManager().getId(), 
-                        result.getSalaryGap()));
+            recorder.start(AnalysisTimings.Phase.REPORTING_LINE_ANALYSIS);
+            List<ReportingLineAnalysisResult> reportingLineResults = reportingLineAnalysis.get();
+            recorder.start(AnalysisTimings.Phase.REPORT);
+            writeReportingLineIssues(report, reportingLineResults);
+        }
+    }
+    
+    /**
+     * @return statistics of the runs of this application, for monitoring over JMX
+     */
+    public AnalysisMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Prints run statistics to standard error, so they never mix with a machine-readable report.
+     *
+     * @param timings the timings of the run
+     * @param json {@code true} for a single JSON object, {@code false} for a human-readable summary
+     */
+    public void printStatistics(AnalysisTimings timings, boolean json) {
+        StringBuilder out = new StringBuilder();
+        try {
+            if (json) {
+                JsonFormat.writeTimings(out, timings);
+                out.append(System.lineSeparator());
+            } else {
+                writeStatisticsSummary(out, timings);
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write statistics", e);
+        }
+        System.err.print(out);
+        System.err.flush();
+    }
+    
+    private static void writeStatisticsSummary(StringBuilder out, AnalysisTimings timings) {
+        String newline = System.lineSeparator();
+        out.append(newline).append("=== RUN STATISTICS ===").append(newline);
+        out.append(String.format("Employees: %d, input: %s, parse rate: %.0f rows/s%n", timings.getEmployeeCount(),
+                timings.getBytesRead() == AnalysisTimings.UNKNOWN ? "n/a" : timings.getBytesRead() + " bytes",
+                timings.getRowsPerSecond()));
+        for (AnalysisTimings.Phase phase : AnalysisTimings.Phase.values()) {
+            out.append(String.format("%-22s %10.3f ms  %s%n", phase.getLabel(), timings.getNanos(phase) / 1e6,
+                    formatAllocation(timings.getAllocatedBytes(phase))));
+        }
+        out.append(String.format("%-22s %10.3f ms  %s%n", "total", timings.getTotalNanos() / 1e6,
+                formatAllocation(timings.getTotalAllocatedBytes())));
+    }
+    
+    private static String formatAllocation(long bytes) {
+        return bytes == AnalysisTimings.UNKNOWN ? "" : bytes + " bytes allocated";
+    }
+    
+    private static long inputSize(String csvFilePath) {
+        try {
+            Path path = Paths.get(csvFilePath);
+            return Files.isRegularFile(path) ? Files.size(path) : AnalysisTimings.UNKNOWN;
+        } catch (IOException | InvalidPathException e) {
+            // A glob over several shards, or a file that has gone away
+            return AnalysisTimings.UNKNOWN;
+        }
+    }
+    
+    /**
+     * Evaluates several compensation policies in one pass and prints a summary line per policy.
+     *
+     * @param csvFilePath the CSV file to analyze
+     * @param policyEngine the engine evaluating the policies
+     * @param policies the policies to compare
+     */
+    public void runPolicyComparison(String csvFilePath, CompensationPolicyEngine policyEngine, List<CompensationPolicy> policies) {
+        try {
+            logger.info("Starting policy comparison for file: {}", csvFilePath);
+            List<Employee> employees = employeeDataService.loadEmployeesFromCsv(csvFilePath);
+            Map<String, OrgAnalysisResult> results = policyEngine.evaluate(employees, policies);
             
-            if (!overpaidManagers.isEmpty()) {
-                System.out.println("\nManagers earning more than they should:");
-                overpaidManagers.forEach(result -> 
-                    System.out.printf("- %s (ID: %d) earns %s more than expected%n", 
-                        result.getManager().getFullName(), 
-                        result.getManager().getId(), 
-                        result.getSalaryGap()));
+            StringBuilder out = new StringBuilder();
+            out.append(System.lineSeparator()).append("=== COMPENSATION POLICY COMPARISON ===").append(System.lineSeparator());
+            for (Map.Entry<String, OrgAnalysisResult> entry : results.entrySet()) {
+                List<SalaryAnalysisResult> salaryIssues = entry.getValue().getSalaryIssues();
+                long underpaid = salaryIssues.stream()
+                        .filter(result -> result.getIssueType() == SalaryAnalysisResult.SalaryIssueType.UNDERPAID)
+                        .count();
+                out.append(String.format("%s: %d underpaid, %d overpaid, %d reporting lines too long%n",
+                        entry.getKey(), underpaid, salaryIssues.size() - underpaid,
+                        entry.getValue().getReportingLineIssues().size()));
             }
+            System.out.print(out);
+            System.out.flush();
+        } catch (EmployeeDataException e) {
+            logger.error("Error during policy comparison", e);
+            System.err.println("Error: " + e.getMessage());
         }
-        
-        // Print reporting line issues
-        System.out.println("\n=== REPORTING LINE ANALYSIS ===");
-        if (reportingLineIssues.isEmpty()) {
-            System.out.println("No reporting line issues found.");
-        } else {
-            System.out.println("\nEmployees with reporting lines too long (more than 4 managers):");
-            reportingLineIssues.forEach(result -> 
-                System.out.printf("- %s (ID: %d) has %d managers in reporting line%n", 
-                    result.getEmployee().getFullName(), 
-                    result.getEmployee().getId(), 
-                    result.getReportingLineLength()));
+    }
+    
+    private static void writeSalaryIssues(ReportWriter report, List<SalaryAnalysisResult> salaryIssues) {
+        try {
+            report.startSalaryIssues();
+            report.writeSalaryIssues(salaryIssues);
+            report.endSalaryIssues();
+            // Hand the section over now rather than when the reporting lines are done
+            report.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write report", e);
+        }
+    }
+    
+    private static void writeReportingLineIssues(ReportWriter report, List<ReportingLineAnalysisResult> reportingLineIssues) {
+        try {
+            report.startReportingLineIssues();
+            for (ReportingLineAnalysisResult result : reportingLineIssues) {
+                report.writeReportingLineIssue(result);
+            }
+            report.endReportingLineIssues();
+            report.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write report", e);
         }
-        
-        System.out.println("\n=== ANALYSIS COMPLETE ===");
     }
     
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.err.println("Usage: java EmployeeAnalysisApplication <csv-file-path>");
+        CommandLineOptions options;
+        try {
+            options = CommandLineOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(CommandLineOptions.USAGE);
             System.err.println("Example: java EmployeeAnalysisApplication employees.csv");
             System.exit(1);
+            return;
         }
         
-        String csvFilePath = args[0];
-        
         // Create service instances (Dependency Injection)
-        EmployeeDataService employeeDataService = new CsvEmployeeDataService();
-        SalaryAnalysisService salaryAnalysisService = new DefaultSalaryAnalysisService();
-        ReportingLineAnalysisService reportingLineAnalysisService = new DefaultReportingLineAnalysisService();
+        EmployeeDataService csvDataService = new CsvEmployeeDataService();
+        OrgAnalysisEngine analysisEngine = new OrgAnalysisEngine();
+        if (options.getCacheDirectory() != null) {
+            // Snapshots are only written when a cache directory is given, never next to the input
+            csvDataService = new SnapshotEmployeeDataService(csvDataService, options.getCacheDirectory());
+            AnalysisResultCache cache = new AnalysisResultCache(AnalysisResultCache.DEFAULT_MEMORY_LIMIT_BYTES,
+                    options.getCacheDirectory(), AnalysisResultCache.DEFAULT_DISK_LIMIT_BYTES);
+            analysisEngine = new CachingOrgAnalysisEngine(analysisEngine, cache);
+        }
+        EmployeeDataService employeeDataService = new ShardedEmployeeDataService(csvDataService);
+        ExecutorService analysisThreads = newAnalysisExecutor(options.getAnalysisThreads());
+        ConcurrentAnalysisExecutor analysisExecutor = analysisThreads == null ? null : new ConcurrentAnalysisExecutor(analysisThreads);
         
         // Create and run application
-        EmployeeAnalysisApplication app = new EmployeeAnalysisApplication(
-                employeeDataService, 
-                salaryAnalysisService, 
-                reportingLineAnalysisService
-        );
+        EmployeeAnalysisApplication app = new EmployeeAnalysisApplication(employeeDataService, analysisEngine,
+                options.getReportFormat(), analysisExecutor);
+        
+        try {
+            app.getMetrics().register(ManagementFactory.getPlatformMBeanServer());
+        } catch (JMException e) {
+            logger.warn("Analysis metrics are not available over JMX", e);
+        }
         
-        app.runAnalysis(csvFilePath);
+        try {
+            if (options.getPoliciesFile() != null) {
+                List<CompensationPolicy> policies = CompensationPolicyLoader.load(options.getPoliciesFile());
+                app.runPolicyComparison(options.getCsvFilePath(), new CompensationPolicyEngine(), policies);
+            } else if (options.getServerPort() != null) {
+                new QueryServerRunner(employeeDataService, analysisEngine).run(options.getCsvFilePath(),
+                        options.getServerHost(), options.getServerPort(), options.isWatch() ? options.getDebounce() : null);
+            } else if (options.isWatch()) {
+                new WatchModeRunner(app, options.getDebounce(), options.getStats()).run(options.getCsvFilePath());
+            } else {
+                AnalysisTimings timings = app.runTimedAnalysis(options.getCsvFilePath());
+                if (timings != null && options.getStats() != CommandLineOptions.Stats.NONE) {
+                    app.printStatistics(timings, options.getStats() == CommandLineOptions.Stats.JSON);
+                }
+            }
+        } catch (EmployeeDataException e) {
+            logger.error("Error during employee analysis", e);
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        } catch (IOException e) {
+            logger.error("Stopped", e);
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (analysisThreads != null) {
+                analysisThreads.shutdown();
+            }
+        }
+    }
+    
+    /**
+     * @param threads {@code null} for sequential analysis, 0 for a thread per analysis, or a pool size
+     * @return the executor to run analyses on, or {@code null}
+     */
+    private static ExecutorService newAnalysisExecutor(Integer threads) {
+        if (threads == null) {
+            return null;
+        }
+        return threads == 0 ? VirtualThreadExecutors.newThreadPerTaskExecutor("analysis") : Executors.newFixedThreadPool(threads);
     }
 }
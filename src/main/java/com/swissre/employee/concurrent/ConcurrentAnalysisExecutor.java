@@ -0,0 +1,118 @@
+package com.swissre.employee.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent analyses over the same immutable input concurrently on an executor.
+ * <p>
+ * Waiting is fail-fast: as soon as one analysis fails, the others are cancelled (those not yet
+ * started never run) and the failure is rethrown on the waiting thread as the exception the
+ * analysis threw, so callers handle it exactly as if the analysis had run on their own thread.
+ * The executor is not owned; shutting it down is up to the caller.
+ */
+public class ConcurrentAnalysisExecutor {
+    private final Executor executor;
+
+    /**
+     * @param executor the executor analyses run on, e.g. one from {@link VirtualThreadExecutors}
+     */
+    public ConcurrentAnalysisExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts an analysis.
+     *
+     * @param analysis the analysis
+     * @return the pending result
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> analysis) {
+        return CompletableFuture.supplyAsync(analysis, executor);
+    }
+
+    /**
+     * Waits until all analyses have completed or one of them has failed.
+     *
+     * @param analyses pending results from {@link #submit(Supplier)}
+     * @throws RuntimeException the exception of the first analysis to fail; the others are cancelled
+     */
+    public void awaitAll(CompletableFuture<?>... analyses) {
+        awaitUntil(CompletableFuture.allOf(analyses), analyses);
+    }
+
+    /**
+     * Waits for one analysis while others keep running, so its result can be used before theirs.
+     *
+     * @param analysis the analysis to wait for
+     * @param others analyses running alongside it; a failure of any of them also ends the wait
+     * @return the result of {@code analysis}
+     * @throws RuntimeException the exception of the first analysis to fail; the others are cancelled
+     */
+    public <T> T await(CompletableFuture<T> analysis, CompletableFuture<?>... others) {
+        CompletableFuture<?>[] analyses = Arrays.copyOf(others, others.length + 1);
+        analyses[others.length] = analysis;
+        awaitUntil(analysis, analyses);
+        return analysis.join();
+    }
+
+    /**
+     * Runs analyses of the same result type concurrently.
+     *
+     * @param analyses the analyses
+     * @return their results, in the given order
+     * @throws RuntimeException the exception of the first analysis to fail; the others are cancelled
+     */
+    public <T> List<T> invokeAll(List<? extends Supplier<? extends T>> analyses) {
+        List<CompletableFuture<? extends T>> pending = new ArrayList<>(analyses.size());
+        for (Supplier<? extends T> analysis : analyses) {
+            pending.add(submit(analysis));
+        }
+        awaitAll(pending.toArray(new CompletableFuture<?>[0]));
+
+        List<T> results = new ArrayList<>(pending.size());
+        for (CompletableFuture<? extends T> analysis : pending) {
+            results.add(analysis.join());
+        }
+        return results;
+    }
+
+    private static void awaitUntil(CompletableFuture<?> done, CompletableFuture<?>... analyses) {
+        CompletableFuture<Object> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<?> analysis : analyses) {
+            analysis.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    firstFailure.completeExceptionally(failure);
+                }
+            });
+        }
+        try {
+            CompletableFuture.anyOf(done, firstFailure).join();
+        } catch (CompletionException | CancellationException e) {
+            for (CompletableFuture<?> analysis : analyses) {
+                analysis.cancel(false);
+            }
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(RuntimeException e) {
+        Throwable cause = e;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        return new CompletionException(cause);
+    }
+}
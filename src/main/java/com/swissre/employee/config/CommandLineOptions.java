@@ -0,0 +1,270 @@
+package com.swissre.employee.config;
+
+import com.swissre.employee.report.ReportFormat;
+import com.swissre.employee.service.impl.ShardedEmployeeDataService;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Parsed command line of {@code EmployeeAnalysisApplication}.
+ * Immutable value object.
+ */
+public class CommandLineOptions {
+    public static final String USAGE = "Usage: java EmployeeAnalysisApplication [--watch] [--debounce-ms=<millis>] [--serve=<port> [--host=<address>]] [--cache=<dir>] [--format=text|jsonl|csv] [--policies=<file>] [--stats[=text|json]] [--concurrent[=<threads>]] <csv-file-path>";
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(500);
+
+    private static final String WATCH = "--watch";
+    private static final String DEBOUNCE_MS = "--debounce-ms=";
+    private static final String SERVE = "--serve=";
+    private static final String HOST = "--host=";
+    private static final String CACHE = "--cache=";
+    private static final String FORMAT = "--format=";
+    private static final String POLICIES = "--policies=";
+    private static final String STATS = "--stats";
+    private static final String CONCURRENT = "--concurrent";
+
+    private final String csvFilePath;
+    private final boolean watch;
+    private final Duration debounce;
+    private final Integer serverPort;
+    private final String serverHost;
+    private final Path cacheDirectory;
+    private final ReportFormat reportFormat;
+    private final Path policiesFile;
+    private final Stats stats;
+    private final Integer analysisThreads;
+
+    public CommandLineOptions(String csvFilePath, boolean watch, Duration debounce, Integer serverPort, String serverHost,
+                              Path cacheDirectory, ReportFormat reportFormat, Path policiesFile, Stats stats,
+                              Integer analysisThreads) {
+        this.csvFilePath = csvFilePath;
+        this.watch = watch;
+        this.debounce = debounce;
+        this.serverPort = serverPort;
+        this.serverHost = serverHost;
+        this.cacheDirectory = cacheDirectory;
+        this.reportFormat = reportFormat;
+        this.policiesFile = policiesFile;
+        this.stats = stats;
+        this.analysisThreads = analysisThreads;
+    }
+
+    /**
+     * Parses command line arguments.
+     *
+     * @param args the arguments passed to {@code main}
+     * @return the parsed options
+     * @throws IllegalArgumentException if the arguments are invalid
+     */
+    public static CommandLineOptions parse(String[] args) {
+        String csvFilePath = null;
+        boolean watch = false;
+        Duration debounce = null;
+        Integer serverPort = null;
+        String serverHost = null;
+        Path cacheDirectory = null;
+        ReportFormat reportFormat = ReportFormat.TEXT;
+        Path policiesFile = null;
+        Stats stats = Stats.NONE;
+        Integer analysisThreads = null;
+
+        for (String arg : args) {
+            if (arg.equals(WATCH)) {
+                watch = true;
+            } else if (arg.startsWith(DEBOUNCE_MS)) {
+                debounce = Duration.ofMillis(parseMillis(arg.substring(DEBOUNCE_MS.length())));
+            } else if (arg.startsWith(SERVE)) {
+                serverPort = parsePort(arg.substring(SERVE.length()));
+            } else if (arg.startsWith(HOST)) {
+                serverHost = parseHost(arg.substring(HOST.length()));
+            } else if (arg.startsWith(CACHE)) {
+                cacheDirectory = parseDirectory(arg.substring(CACHE.length()));
+            } else if (arg.startsWith(FORMAT)) {
+                reportFormat = ReportFormat.parse(arg.substring(FORMAT.length()));
+            } else if (arg.startsWith(POLICIES)) {
+                policiesFile = parseFile(arg.substring(POLICIES.length()));
+            } else if (arg.equals(STATS)) {
+                stats = Stats.TEXT;
+            } else if (arg.startsWith(STATS + "=")) {
+                stats = Stats.parse(arg.substring(STATS.length() + 1));
+            } else if (arg.equals(CONCURRENT)) {
+                analysisThreads = 0;
+            } else if (arg.startsWith(CONCURRENT + "=")) {
+                analysisThreads = parseThreads(arg.substring(CONCURRENT.length() + 1));
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            } else if (csvFilePath == null) {
+                csvFilePath = arg;
+            } else {
+                throw new IllegalArgumentException("Only one CSV file path can be given");
+            }
+        }
+
+        if (csvFilePath == null) {
+            throw new IllegalArgumentException("Missing CSV file path");
+        }
+        if (watch && ShardedEmployeeDataService.isGlob(csvFilePath)) {
+            throw new IllegalArgumentException(WATCH + " needs a single file, not a glob: " + csvFilePath);
+        }
+        if (debounce != null && !watch) {
+            throw new IllegalArgumentException(DEBOUNCE_MS + "<millis> needs " + WATCH);
+        }
+        if (stats != Stats.NONE && (serverPort != null || policiesFile != null)) {
+            throw new IllegalArgumentException(STATS + " only applies to analysis reports, not to " + SERVE + " or " + POLICIES);
+        }
+        if (policiesFile != null && reportFormat != ReportFormat.TEXT) {
+            throw new IllegalArgumentException(POLICIES + " prints a text summary and cannot be combined with " + FORMAT
+                    + reportFormat.name().toLowerCase(Locale.ROOT));
+        }
+        if (serverHost != null && serverPort == null) {
+            throw new IllegalArgumentException(HOST + " needs " + SERVE + "<port>");
+        }
+        return new CommandLineOptions(csvFilePath, watch, debounce == null ? DEFAULT_DEBOUNCE : debounce, serverPort,
+                serverHost, cacheDirectory, reportFormat, policiesFile, stats, analysisThreads);
+    }
+
+    private static int parsePort(String value) {
+        try {
+            int port = Integer.parseInt(value);
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("Port out of range: " + value);
+            }
+            return port;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid port: " + value, e);
+        }
+    }
+
+    private static String parseHost(String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Missing host");
+        }
+        return value;
+    }
+
+    private static Path parseDirectory(String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Missing cache directory");
+        }
+        return Paths.get(value);
+    }
+
+    private static Path parseFile(String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Missing policies file");
+        }
+        return Paths.get(value);
+    }
+
+    private static int parseThreads(String value) {
+        try {
+            int threads = Integer.parseInt(value);
+            if (threads <= 0) {
+                throw new IllegalArgumentException("Thread count must be positive: " + value);
+            }
+            return threads;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid thread count: " + value, e);
+        }
+    }
+
+    private static long parseMillis(String value) {
+        try {
+            long millis = Long.parseLong(value);
+            if (millis < 0) {
+                throw new IllegalArgumentException("Debounce interval cannot be negative: " + value);
+            }
+            return millis;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid debounce interval: " + value, e);
+        }
+    }
+
+    public String getCsvFilePath() {
+        return csvFilePath;
+    }
+
+    /**
+     * @return {@code true} to keep running and re-analyze whenever the CSV file changes
+     */
+    public boolean isWatch() {
+        return watch;
+    }
+
+    /**
+     * @return how long the CSV file must stay unchanged before a re-analysis starts
+     */
+    public Duration getDebounce() {
+        return debounce;
+    }
+
+    /**
+     * @return the port to serve query results on, or {@code null} to print a report instead
+     */
+    public Integer getServerPort() {
+        return serverPort;
+    }
+
+    /**
+     * @return the host name or address to serve on, or {@code null} for the loopback interface only
+     */
+    public String getServerHost() {
+        return serverHost;
+    }
+
+    /**
+     * @return the directory to keep cached analysis results in, or {@code null} to analyze without a cache
+     */
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * @return the format of the printed report
+     */
+    public ReportFormat getReportFormat() {
+        return reportFormat;
+    }
+
+    /**
+     * @return the file of compensation policies to compare, or {@code null} to print the standard report
+     */
+    public Path getPoliciesFile() {
+        return policiesFile;
+    }
+
+    /**
+     * @return how to print run statistics after the report, or after each report in watch mode
+     */
+    public Stats getStats() {
+        return stats;
+    }
+
+    /**
+     * @return {@code null} to run the analyses one after the other, 0 to run them concurrently on a
+     *         (virtual, if available) thread each, or the size of the pool to run them on
+     */
+    public Integer getAnalysisThreads() {
+        return analysisThreads;
+    }
+
+    /**
+     * Run statistics output of {@code --stats}.
+     */
+    public enum Stats {
+        NONE, TEXT, JSON;
+
+        static Stats parse(String value) {
+            if (value.equalsIgnoreCase("text")) {
+                return TEXT;
+            }
+            if (value.equalsIgnoreCase("json")) {
+                return JSON;
+            }
+            throw new IllegalArgumentException("Unknown statistics format: " + value);
+        }
+    }
+}
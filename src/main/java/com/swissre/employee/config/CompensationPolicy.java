@@ -0,0 +1,99 @@
+package com.swissre.employee.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A named set of analysis rules: the salary band managers must fall within, optionally varied by
+ * the manager's own reporting line length (0 for the CEO), and the longest allowed reporting line.
+ * {@link #standard()} is the policy defined by {@link AnalysisConfig}.
+ * Immutable value object.
+ */
+public final class CompensationPolicy {
+    /** Name of {@link #standard()}. */
+    public static final String STANDARD_NAME = "standard";
+
+    private final String name;
+    private final SalaryBand defaultBand;
+    private final Map<Integer, SalaryBand> levelBands;
+    private final int maximumReportingLineLength;
+
+    /**
+     * Creates a policy with the same salary band at every level.
+     */
+    public CompensationPolicy(String name, SalaryBand band, int maximumReportingLineLength) {
+        this(name, band, Collections.emptyMap(), maximumReportingLineLength);
+    }
+
+    /**
+     * @param name unique name of the policy
+     * @param defaultBand band for managers at levels without their own band
+     * @param levelBands bands keyed by the manager's reporting line length
+     * @param maximumReportingLineLength the longest allowed number of managers between an employee and the CEO
+     * @throws IllegalArgumentException if the name is blank, a level or the maximum length is negative, or a band is missing
+     */
+    public CompensationPolicy(String name, SalaryBand defaultBand, Map<Integer, SalaryBand> levelBands,
+                              int maximumReportingLineLength) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Policy name cannot be blank");
+        }
+        if (defaultBand == null) {
+            throw new IllegalArgumentException("Policy " + name + " has no salary band");
+        }
+        if (maximumReportingLineLength < 0) {
+            throw new IllegalArgumentException("Policy " + name + " has a negative maximum reporting line length: "
+                    + maximumReportingLineLength);
+        }
+        for (Map.Entry<Integer, SalaryBand> entry : levelBands.entrySet()) {
+            if (entry.getKey() == null || entry.getKey() < 0 || entry.getValue() == null) {
+                throw new IllegalArgumentException("Policy " + name + " has an invalid band for level " + entry.getKey());
+            }
+        }
+        this.name = name;
+        this.defaultBand = defaultBand;
+        this.levelBands = Collections.unmodifiableMap(new TreeMap<>(levelBands));
+        this.maximumReportingLineLength = maximumReportingLineLength;
+    }
+
+    /**
+     * @return the policy defined by {@link AnalysisConfig}
+     */
+    public static CompensationPolicy standard() {
+        return new CompensationPolicy(STANDARD_NAME, SalaryBand.STANDARD, AnalysisConfig.MAXIMUM_REPORTING_LINE_LENGTH);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SalaryBand getDefaultBand() {
+        return defaultBand;
+    }
+
+    /**
+     * @return the bands that differ by level, keyed by the manager's reporting line length, in level order
+     */
+    public Map<Integer, SalaryBand> getLevelBands() {
+        return levelBands;
+    }
+
+    /**
+     * @param reportingLineLength the manager's reporting line length
+     * @return the band for managers at that level
+     */
+    public SalaryBand getBand(int reportingLineLength) {
+        SalaryBand band = levelBands.get(reportingLineLength);
+        return band != null ? band : defaultBand;
+    }
+
+    public int getMaximumReportingLineLength() {
+        return maximumReportingLineLength;
+    }
+
+    @Override
+    public String toString() {
+        return "CompensationPolicy{" + name + ", " + defaultBand + ", levels=" + levelBands
+                + ", maximumReportingLineLength=" + maximumReportingLineLength + "}";
+    }
+}
@@ -0,0 +1,132 @@
+package com.swissre.employee.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Reads compensation policies from a properties file.
+ * <pre>
+ * policies=standard,tight
+ * tight.minimumIncrease=0.25
+ * tight.maximumIncrease=0.40
+ * tight.maximumReportingLineLength=3
+ * tight.level.0.maximumIncrease=0.80
+ * </pre>
+ * Keys that are left out default to the values of {@link CompensationPolicy#standard()}; a level
+ * band defaults to the policy's own band.
+ */
+public final class CompensationPolicyLoader {
+    private static final String POLICIES = "policies";
+    private static final String MINIMUM_INCREASE = "minimumIncrease";
+    private static final String MAXIMUM_INCREASE = "maximumIncrease";
+    private static final String MAXIMUM_REPORTING_LINE_LENGTH = "maximumReportingLineLength";
+    private static final String LEVEL = "level.";
+
+    private CompensationPolicyLoader() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Loads policies from a properties file.
+     *
+     * @param file the properties file
+     * @return the policies in the order listed
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file does not describe valid policies
+     */
+    public static List<CompensationPolicy> load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return parse(properties);
+        }
+    }
+
+    /**
+     * Builds policies from properties.
+     *
+     * @param properties the policy definitions
+     * @return the policies in the order listed
+     * @throws IllegalArgumentException if the properties do not describe valid policies
+     */
+    public static List<CompensationPolicy> parse(Properties properties) {
+        String names = properties.getProperty(POLICIES, "").trim();
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("No policies listed in '" + POLICIES + "'");
+        }
+
+        List<CompensationPolicy> policies = new ArrayList<>();
+        for (String name : names.split(",")) {
+            policies.add(parsePolicy(name.trim(), properties));
+        }
+        return policies;
+    }
+
+    private static CompensationPolicy parsePolicy(String name, Properties properties) {
+        SalaryBand defaultBand = parseBand(name + ".", SalaryBand.STANDARD, properties);
+        int maximumReportingLineLength = parseInt(name + "." + MAXIMUM_REPORTING_LINE_LENGTH,
+                AnalysisConfig.MAXIMUM_REPORTING_LINE_LENGTH, properties);
+
+        Map<Integer, SalaryBand> levelBands = new HashMap<>();
+        String levelPrefix = name + "." + LEVEL;
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith(levelPrefix)) {
+                continue;
+            }
+            int end = key.indexOf('.', levelPrefix.length());
+            if (end < 0) {
+                throw new IllegalArgumentException("Invalid level key: " + key);
+            }
+            int level = parseLevel(key.substring(levelPrefix.length(), end), key);
+            levelBands.computeIfAbsent(level, l -> parseBand(levelPrefix + l + ".", defaultBand, properties));
+        }
+        return new CompensationPolicy(name, defaultBand, levelBands, maximumReportingLineLength);
+    }
+
+    private static SalaryBand parseBand(String prefix, SalaryBand defaults, Properties properties) {
+        return new SalaryBand(
+                parseDecimal(prefix + MINIMUM_INCREASE, defaults.getMinimumIncrease(), properties),
+                parseDecimal(prefix + MAXIMUM_INCREASE, defaults.getMaximumIncrease(), properties));
+    }
+
+    private static BigDecimal parseDecimal(String key, BigDecimal defaultValue, Properties properties) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    private static int parseInt(String key, int defaultValue, Properties properties) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    private static int parseLevel(String value, String key) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid level in key: " + key, e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.swissre.employee.config;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Allowed range of a manager's salary relative to the average salary of their direct subordinates,
+ * expressed as minimum and maximum increases (0.20 for 20%).
+ * Immutable value object.
+ */
+public final class SalaryBand {
+    /** The band defined by {@link AnalysisConfig}. */
+    public static final SalaryBand STANDARD = new SalaryBand(
+            AnalysisConfig.MINIMUM_SALARY_INCREASE_PERCENTAGE, AnalysisConfig.MAXIMUM_SALARY_INCREASE_PERCENTAGE);
+
+    private final BigDecimal minimumIncrease;
+    private final BigDecimal maximumIncrease;
+
+    /**
+     * @param minimumIncrease minimum increase over the average subordinate salary
+     * @param maximumIncrease maximum increase over the average subordinate salary
+     * @throws IllegalArgumentException if an increase is below -100% or the minimum exceeds the maximum
+     */
+    public SalaryBand(BigDecimal minimumIncrease, BigDecimal maximumIncrease) {
+        if (minimumIncrease == null || maximumIncrease == null) {
+            throw new IllegalArgumentException("Salary band increases cannot be null");
+        }
+        if (minimumIncrease.compareTo(BigDecimal.ONE.negate()) < 0) {
+            throw new IllegalArgumentException("Minimum increase cannot be below -100%: " + minimumIncrease);
+        }
+        if (minimumIncrease.compareTo(maximumIncrease) > 0) {
+            throw new IllegalArgumentException("Minimum increase " + minimumIncrease + " exceeds maximum increase " + maximumIncrease);
+        }
+        this.minimumIncrease = minimumIncrease;
+        this.maximumIncrease = maximumIncrease;
+    }
+
+    public BigDecimal getMinimumIncrease() {
+        return minimumIncrease;
+    }
+
+    public BigDecimal getMaximumIncrease() {
+        return maximumIncrease;
+    }
+
+    /**
+     * Same rounding as {@link AnalysisConfig#getMinimumExpectedSalary(BigDecimal)}.
+     */
+    public BigDecimal getMinimumExpectedSalary(BigDecimal averageSubordinateSalary) {
+        return averageSubordinateSalary.multiply(BigDecimal.ONE.add(minimumIncrease)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Same rounding as {@link AnalysisConfig#getMaximumExpectedSalary(BigDecimal)}.
+     */
+    public BigDecimal getMaximumExpectedSalary(BigDecimal averageSubordinateSalary) {
+        return averageSubordinateSalary.multiply(BigDecimal.ONE.add(maximumIncrease)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SalaryBand that = (SalaryBand) o;
+        return minimumIncrease.compareTo(that.minimumIncrease) == 0 && maximumIncrease.compareTo(that.maximumIncrease) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * minimumIncrease.stripTrailingZeros().hashCode() + maximumIncrease.stripTrailingZeros().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryBand{" + minimumIncrease.toPlainString() + ".." + maximumIncrease.toPlainString() + "}";
+    }
+}
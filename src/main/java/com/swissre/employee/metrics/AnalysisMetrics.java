@@ -0,0 +1,192 @@
+package com.swissre.employee.metrics;
+
+import com.swissre.employee.model.AnalysisTimings;
+import com.swissre.employee.model.AnalysisTimings.Phase;
+import com.swissre.employee.report.JsonFormat;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accumulates the statistics of analysis runs for monitoring. Recording is a few atomic updates,
+ * so it stays enabled in production; the values are published over JMX by {@link #register(MBeanServer)}.
+ * <p>
+ * Thread-safe.
+ */
+public class AnalysisMetrics implements AnalysisMetricsMBean {
+    /** Name the metrics are registered under. */
+    public static final String OBJECT_NAME = "com.swissre.employee:type=AnalysisMetrics";
+
+    private final AtomicLong runCount = new AtomicLong();
+    private final AtomicLong failedRunCount = new AtomicLong();
+    private final AtomicLong totalEmployeesAnalyzed = new AtomicLong();
+    private volatile AnalysisTimings last;
+
+    /**
+     * Records a successful run.
+     */
+    public void record(AnalysisTimings timings) {
+        runCount.incrementAndGet();
+        totalEmployeesAnalyzed.addAndGet(timings.getEmployeeCount());
+        last = timings;
+    }
+
+    /**
+     * Records a run that failed before producing a report.
+     */
+    public void recordFailure() {
+        runCount.incrementAndGet();
+        failedRunCount.incrementAndGet();
+    }
+
+    /**
+     * @return the timings of the last successful run, or {@code null} before the first one
+     */
+    public AnalysisTimings getLastTimings() {
+        return last;
+    }
+
+    /**
+     * Registers these metrics under {@link #OBJECT_NAME}, replacing metrics registered earlier.
+     *
+     * @param server the MBean server, usually {@code ManagementFactory.getPlatformMBeanServer()}
+     * @return the name the metrics were registered under
+     * @throws JMException if the metrics cannot be registered
+     */
+    public ObjectName register(MBeanServer server) throws JMException {
+        ObjectName name = objectName();
+        try {
+            server.registerMBean(this, name);
+        } catch (InstanceAlreadyExistsException e) {
+            server.unregisterMBean(name);
+            server.registerMBean(this, name);
+        }
+        return name;
+    }
+
+    /**
+     * Removes these metrics from the MBean server, if they are registered.
+     */
+    public void unregister(MBeanServer server) throws JMException {
+        try {
+            server.unregisterMBean(objectName());
+        } catch (InstanceNotFoundException e) {
+            // Not registered
+        }
+    }
+
+    @Override
+    public long getRunCount() {
+        return runCount.get();
+    }
+
+    @Override
+    public long getFailedRunCount() {
+        return failedRunCount.get();
+    }
+
+    @Override
+    public long getTotalEmployeesAnalyzed() {
+        return totalEmployeesAnalyzed.get();
+    }
+
+    @Override
+    public int getLastEmployeeCount() {
+        AnalysisTimings timings = last;
+        return timings == null ? 0 : timings.getEmployeeCount();
+    }
+
+    @Override
+    public long getLastBytesRead() {
+        AnalysisTimings timings = last;
+        return timings == null ? AnalysisTimings.UNKNOWN : timings.getBytesRead();
+    }
+
+    @Override
+    public double getLastRowsPerSecond() {
+        AnalysisTimings timings = last;
+        return timings == null ? 0 : timings.getRowsPerSecond();
+    }
+
+    @Override
+    public double getLastLoadMillis() {
+        return lastMillis(Phase.LOAD);
+    }
+
+    @Override
+    public double getLastIndexMillis() {
+        return lastMillis(Phase.INDEX);
+    }
+
+    @Override
+    public double getLastSalaryAnalysisMillis() {
+        return lastMillis(Phase.SALARY_ANALYSIS);
+    }
+
+    @Override
+    public double getLastReportingLineAnalysisMillis() {
+        return lastMillis(Phase.REPORTING_LINE_ANALYSIS);
+    }
+
+    @Override
+    public double getLastConcurrentAnalysisMillis() {
+        return lastMillis(Phase.CONCURRENT_ANALYSIS);
+    }
+
+    @Override
+    public double getLastReportMillis() {
+        return lastMillis(Phase.REPORT);
+    }
+
+    @Override
+    public double getLastTotalMillis() {
+        AnalysisTimings timings = last;
+        return timings == null ? 0 : toMillis(timings.getTotalNanos());
+    }
+
+    @Override
+    public long getLastAllocatedBytes() {
+        AnalysisTimings timings = last;
+        return timings == null ? AnalysisTimings.UNKNOWN : timings.getTotalAllocatedBytes();
+    }
+
+    @Override
+    public String getLastRunJson() {
+        AnalysisTimings timings = last;
+        if (timings == null) {
+            return "null";
+        }
+        StringBuilder json = new StringBuilder();
+        try {
+            JsonFormat.writeTimings(json, timings);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString();
+    }
+
+    private double lastMillis(Phase phase) {
+        AnalysisTimings timings = last;
+        return timings == null ? 0 : toMillis(timings.getNanos(phase));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static ObjectName objectName() {
+        try {
+            return new ObjectName(OBJECT_NAME);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.swissre.employee.metrics;
+
+/**
+ * JMX view of {@link AnalysisMetrics}. Durations are in milliseconds; "Last" attributes describe the
+ * most recent successful run and are 0 (or -1 where noted) before the first one.
+ */
+public interface AnalysisMetricsMBean {
+
+    long getRunCount();
+
+    long getFailedRunCount();
+
+    long getTotalEmployeesAnalyzed();
+
+    int getLastEmployeeCount();
+
+    /**
+     * @return the size of the last input in bytes, or -1 if unknown
+     */
+    long getLastBytesRead();
+
+    double getLastRowsPerSecond();
+
+    double getLastLoadMillis();
+
+    double getLastIndexMillis();
+
+    double getLastSalaryAnalysisMillis();
+
+    double getLastReportingLineAnalysisMillis();
+
+    double getLastConcurrentAnalysisMillis();
+
+    double getLastReportMillis();
+
+    double getLastTotalMillis();
+
+    /**
+     * @return bytes allocated by the last run's analysis thread, or -1 if not measured
+     */
+    long getLastAllocatedBytes();
+
+    /**
+     * @return the statistics of the last run as a JSON object
+     */
+    String getLastRunJson();
+}
@@ -0,0 +1,103 @@
+package com.swissre.employee.metrics;
+
+import com.swissre.employee.model.AnalysisTimings;
+import com.swissre.employee.model.AnalysisTimings.Phase;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Measures the phases of one analysis run: each {@link #start(Phase)} ends the previous phase.
+ * Costs two clock reads per phase and, where the JVM supports it, a read of the allocation counters
+ * of all live threads, so work a phase hands to pools and helper threads is counted too. Virtual
+ * threads have no such counter, and a thread that ends during a phase takes its allocations in that
+ * phase with it, so both are missed.
+ * <p>
+ * Not thread-safe; use one recorder per run, driven from one thread.
+ */
+public final class PhaseRecorder {
+    private static final com.sun.management.ThreadMXBean ALLOCATION_COUNTER = findAllocationCounter();
+
+    private final long[] nanos = new long[Phase.values().length];
+    private final long[] allocatedBytes = new long[Phase.values().length];
+    private final boolean measureAllocations = ALLOCATION_COUNTER != null;
+    private Phase current;
+    private long phaseStart;
+    // Allocation counters of all live threads when the running phase started, by thread id
+    private Map<Long, Long> phaseAllocationStart = new HashMap<>();
+
+    /**
+     * @return {@code true} if allocated bytes are measured on this JVM
+     */
+    public static boolean isAllocationMeasurementSupported() {
+        return ALLOCATION_COUNTER != null;
+    }
+
+    /**
+     * Ends the running phase, if any, and starts the given one.
+     */
+    public void start(Phase phase) {
+        long now = System.nanoTime();
+        Map<Long, Long> allocated = allocatedBytes();
+        end(now, allocated);
+        current = phase;
+        phaseStart = now;
+        phaseAllocationStart = allocated;
+    }
+
+    /**
+     * Ends the running phase.
+     *
+     * @param employeeCount the number of employees analyzed
+     * @param bytesRead the size of the input, or {@link AnalysisTimings#UNKNOWN}
+     * @return the timings of all phases; phases that did not run take no time
+     */
+    public AnalysisTimings finish(int employeeCount, long bytesRead) {
+        end(System.nanoTime(), allocatedBytes());
+        current = null;
+        return new AnalysisTimings(employeeCount, bytesRead, nanos, measureAllocations ? allocatedBytes : null);
+    }
+
+    private void end(long now, Map<Long, Long> allocated) {
+        if (current != null) {
+            nanos[current.ordinal()] += now - phaseStart;
+            for (Map.Entry<Long, Long> thread : allocated.entrySet()) {
+                // Threads started during the phase count from zero
+                long startBytes = phaseAllocationStart.getOrDefault(thread.getKey(), 0L);
+                allocatedBytes[current.ordinal()] += thread.getValue() - startBytes;
+            }
+        }
+    }
+
+    private Map<Long, Long> allocatedBytes() {
+        Map<Long, Long> allocated = new HashMap<>();
+        if (measureAllocations) {
+            long[] threadIds = ALLOCATION_COUNTER.getAllThreadIds();
+            long[] bytes = ALLOCATION_COUNTER.getThreadAllocatedBytes(threadIds);
+            for (int i = 0; i < threadIds.length; i++) {
+                // -1 for threads that ended in the meantime
+                if (bytes[i] >= 0) {
+                    allocated.put(threadIds[i], bytes[i]);
+                }
+            }
+        }
+        return allocated;
+    }
+
+    private static com.sun.management.ThreadMXBean findAllocationCounter() {
+        try {
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+                if (counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled()) {
+                    return counter;
+                }
+            }
+        } catch (UnsupportedOperationException | LinkageError e) {
+            // No allocation counter on this JVM
+        }
+        return null;
+    }
+}
@@ -0,0 +1,148 @@
+package com.swissre.employee.model;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock durations and allocations of the phases of one analysis run.
+ * Allocations are those of the thread that ran the phase, so work handed to other threads
+ * (parallel loading or analysis) is not included.
+ * Immutable value object.
+ */
+public class AnalysisTimings {
+    /** Value of {@link #getBytesRead()} and {@link #getAllocatedBytes(Phase)} when it was not measured. */
+    public static final long UNKNOWN = -1;
+
+    private final int employeeCount;
+    private final long bytesRead;
+    private final long[] nanos;
+    private final long[] allocatedBytes;
+
+    /**
+     * @param employeeCount the number of employees analyzed
+     * @param bytesRead the size of the input, or {@link #UNKNOWN}
+     * @param nanos duration of each phase, indexed by {@link Phase#ordinal()}
+     * @param allocatedBytes bytes allocated by each phase indexed by {@link Phase#ordinal()}, or {@code null} if not measured
+     */
+    public AnalysisTimings(int employeeCount, long bytesRead, long[] nanos, long[] allocatedBytes) {
+        if (nanos.length != Phase.values().length || (allocatedBytes != null && allocatedBytes.length != nanos.length)) {
+            throw new IllegalArgumentException("Expected one value per phase");
+        }
+        this.employeeCount = employeeCount;
+        this.bytesRead = bytesRead;
+        this.nanos = nanos.clone();
+        if (allocatedBytes != null) {
+            this.allocatedBytes = allocatedBytes.clone();
+        } else {
+            this.allocatedBytes = new long[nanos.length];
+            Arrays.fill(this.allocatedBytes, UNKNOWN);
+        }
+    }
+
+    public int getEmployeeCount() {
+        return employeeCount;
+    }
+
+    /**
+     * @return the size of the input in bytes, or {@link #UNKNOWN}
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * @return bytes allocated by the thread running the phase, or {@link #UNKNOWN}
+     */
+    public long getAllocatedBytes(Phase phase) {
+        return allocatedBytes[phase.ordinal()];
+    }
+
+    /**
+     * @return bytes allocated over all phases, or {@link #UNKNOWN}
+     */
+    public long getTotalAllocatedBytes() {
+        long total = 0;
+        for (long bytes : allocatedBytes) {
+            if (bytes == UNKNOWN) {
+                return UNKNOWN;
+            }
+            total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * @return employees loaded per second, or 0 if loading took no measurable time
+     */
+    public double getRowsPerSecond() {
+        long loadNanos = getLoadNanos();
+        return loadNanos == 0 ? 0 : employeeCount * (double) TimeUnit.SECONDS.toNanos(1) / loadNanos;
+    }
+
+    public long getLoadNanos() {
+        return getNanos(Phase.LOAD);
+    }
+
+    /**
+     * @return the duration of index building and both analyses
+     */
+    public long getAnalysisNanos() {
+        return getNanos(Phase.INDEX) + getNanos(Phase.SALARY_ANALYSIS) + getNanos(Phase.REPORTING_LINE_ANALYSIS)
+                + getNanos(Phase.CONCURRENT_ANALYSIS);
+    }
+
+    public long getReportNanos() {
+        return getNanos(Phase.REPORT);
+    }
+
+    public long getTotalNanos() {
+        long total = 0;
+        for (long phaseNanos : nanos) {
+            total += phaseNanos;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d employees: load %d ms, analysis %d ms, report %d ms, total %d ms",
+                employeeCount,
+                TimeUnit.NANOSECONDS.toMillis(getLoadNanos()),
+                TimeUnit.NANOSECONDS.toMillis(getAnalysisNanos()),
+                TimeUnit.NANOSECONDS.toMillis(getReportNanos()),
+                TimeUnit.NANOSECONDS.toMillis(getTotalNanos()));
+    }
+
+    /**
+     * Phases of an analysis run, in execution order.
+     */
+    public enum Phase {
+        /** Reading and parsing the CSV input. */
+        LOAD("load"),
+        /** Building the shared organization index. */
+        INDEX("index"),
+        SALARY_ANALYSIS("salaryAnalysis"),
+        REPORTING_LINE_ANALYSIS("reportingLineAnalysis"),
+        /** Salary and reporting line analysis running concurrently. */
+        CONCURRENT_ANALYSIS("concurrentAnalysis"),
+        /** Writing the report. */
+        REPORT("report");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return the name used in statistics output
+         */
+        public String getLabel() {
+            return label;
+        }
+    }
+}
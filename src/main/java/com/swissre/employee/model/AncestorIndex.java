@@ -0,0 +1,210 @@
+package com.swissre.employee.model;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Jump-pointer table over the manager links for ancestor queries in O(log depth).
+ * <p>
+ * Row {@code k} holds every employee's {@code 2^k}-th manager, so the k-th manager is reached in one
+ * jump per set bit of {@code k}, and the lowest common manager of two employees by lifting both to
+ * the same depth and then jumping while their ancestors differ. The table has one row per bit of the
+ * deepest reporting line, i.e. {@code n * log(depth)} ints.
+ * <p>
+ * Employees are addressed by their {@link OrgIndex} position. Employees in or below a circular
+ * reference have no well-defined depth and are rejected by the queries (see {@link #contains(int)}).
+ * Immutable and safe to share between threads.
+ */
+public final class AncestorIndex {
+    /** Returned by the queries when there is no such manager. */
+    public static final int NO_MANAGER = OrgIndex.NO_MANAGER;
+
+    private static final int NOT_IN_TREE = -1;
+    private static final int PARALLEL_BATCH_THRESHOLD = 10_000;
+
+    private final int[] depths;
+    private final int[][] jumps;
+
+    private AncestorIndex(OrgIndex index) {
+        int size = index.size();
+        this.depths = new int[size];
+        Arrays.fill(depths, NOT_IN_TREE);
+
+        // Pre-order lists every manager before its reports, so one pass assigns all depths
+        OrgTreeIndex tree = OrgTreeIndex.build(index);
+        int maxDepth = 0;
+        int[] parents = new int[size];
+        Arrays.fill(parents, NO_MANAGER);
+        for (int position = 0; position < tree.size(); position++) {
+            int employee = tree.getEmployeeAt(position);
+            int manager = index.getManagerIndex(employee);
+            depths[employee] = manager == NO_MANAGER ? 0 : depths[manager] + 1;
+            parents[employee] = manager;
+            maxDepth = Math.max(maxDepth, depths[employee]);
+        }
+
+        int levels = Math.max(1, Integer.SIZE - Integer.numberOfLeadingZeros(maxDepth));
+        this.jumps = new int[levels][];
+        jumps[0] = parents;
+        for (int level = 1; level < levels; level++) {
+            int[] previous = jumps[level - 1];
+            int[] current = new int[size];
+            for (int employee = 0; employee < size; employee++) {
+                int middle = previous[employee];
+                current[employee] = middle == NO_MANAGER ? NO_MANAGER : previous[middle];
+            }
+            jumps[level] = current;
+        }
+    }
+
+    /**
+     * Builds the ancestor table.
+     *
+     * @param index the organization index
+     * @return the ancestor table
+     */
+    public static AncestorIndex build(OrgIndex index) {
+        return new AncestorIndex(index);
+    }
+
+    public int size() {
+        return depths.length;
+    }
+
+    /**
+     * @return {@code true} if the employee is reachable from a tree top, i.e. not in or below a cycle
+     */
+    public boolean contains(int employeeIndex) {
+        return depths[employeeIndex] != NOT_IN_TREE;
+    }
+
+    /**
+     * @return the number of managers above the employee
+     * @throws IllegalArgumentException if the employee is in or below a circular reference
+     */
+    public int getDepth(int employeeIndex) {
+        return checkedDepth(employeeIndex);
+    }
+
+    /**
+     * @param k how many levels to go up; 0 is the employee itself, 1 the direct manager
+     * @return the k-th manager, or {@link #NO_MANAGER} if the reporting line is shorter than {@code k}
+     * @throws IllegalArgumentException if {@code k} is negative or the employee is in or below a circular reference
+     */
+    public int getKthManager(int employeeIndex, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Level must not be negative: " + k);
+        }
+        if (k > checkedDepth(employeeIndex)) {
+            return NO_MANAGER;
+        }
+        return lift(employeeIndex, k);
+    }
+
+    /**
+     * @return {@code true} if {@code managerIndex} is in the reporting chain above {@code employeeIndex}
+     * @throws IllegalArgumentException if either employee is in or below a circular reference
+     */
+    public boolean isInReportingChain(int managerIndex, int employeeIndex) {
+        int managerDepth = checkedDepth(managerIndex);
+        int employeeDepth = checkedDepth(employeeIndex);
+        return managerDepth < employeeDepth && lift(employeeIndex, employeeDepth - managerDepth) == managerIndex;
+    }
+
+    /**
+     * Finds the lowest employee that has both employees in its subtree. If one employee manages
+     * the other, directly or indirectly, that is the manager itself.
+     *
+     * @return the lowest common manager, or {@link #NO_MANAGER} if the employees are in different trees
+     * @throws IllegalArgumentException if either employee is in or below a circular reference
+     */
+    public int getLowestCommonManager(int first, int second) {
+        int firstDepth = checkedDepth(first);
+        int secondDepth = checkedDepth(second);
+        if (firstDepth > secondDepth) {
+            first = lift(first, firstDepth - secondDepth);
+        } else if (secondDepth > firstDepth) {
+            second = lift(second, secondDepth - firstDepth);
+        }
+        if (first == second) {
+            return first;
+        }
+        for (int level = jumps.length - 1; level >= 0; level--) {
+            int firstAncestor = jumps[level][first];
+            int secondAncestor = jumps[level][second];
+            if (firstAncestor != secondAncestor) {
+                first = firstAncestor;
+                second = secondAncestor;
+            }
+        }
+        // Both now sit right below their common manager, or top different trees
+        return jumps[0][first];
+    }
+
+    /**
+     * Batch form of {@link #getKthManager(int, int)}; large batches are answered in parallel.
+     *
+     * @param employeeIndices the employees
+     * @param levels how many levels to go up for the employee at the same position
+     * @return the k-th managers, position by position
+     */
+    public int[] getKthManagers(int[] employeeIndices, int[] levels) {
+        checkSameLength(employeeIndices, levels);
+        int[] managers = new int[employeeIndices.length];
+        batch(managers.length).forEach(i -> managers[i] = getKthManager(employeeIndices[i], levels[i]));
+        return managers;
+    }
+
+    /**
+     * Batch form of {@link #isInReportingChain(int, int)}; large batches are answered in parallel.
+     *
+     * @return whether each manager is in the chain of the employee at the same position
+     */
+    public boolean[] areInReportingChain(int[] managerIndices, int[] employeeIndices) {
+        checkSameLength(managerIndices, employeeIndices);
+        boolean[] results = new boolean[managerIndices.length];
+        batch(results.length).forEach(i -> results[i] = isInReportingChain(managerIndices[i], employeeIndices[i]));
+        return results;
+    }
+
+    /**
+     * Batch form of {@link #getLowestCommonManager(int, int)}; large batches are answered in parallel.
+     *
+     * @return the lowest common manager of each pair
+     */
+    public int[] getLowestCommonManagers(int[] first, int[] second) {
+        checkSameLength(first, second);
+        int[] managers = new int[first.length];
+        batch(managers.length).forEach(i -> managers[i] = getLowestCommonManager(first[i], second[i]));
+        return managers;
+    }
+
+    private int lift(int employeeIndex, int k) {
+        int current = employeeIndex;
+        for (int level = 0; k != 0; level++, k >>>= 1) {
+            if ((k & 1) != 0) {
+                current = jumps[level][current];
+            }
+        }
+        return current;
+    }
+
+    private int checkedDepth(int employeeIndex) {
+        int depth = depths[employeeIndex];
+        if (depth == NOT_IN_TREE) {
+            throw new IllegalArgumentException("Employee at index " + employeeIndex + " is in or below a circular reference");
+        }
+        return depth;
+    }
+
+    private static IntStream batch(int length) {
+        IntStream indices = IntStream.range(0, length);
+        return length >= PARALLEL_BATCH_THRESHOLD ? indices.parallel() : indices;
+    }
+
+    private static void checkSameLength(int[] left, int[] right) {
+        if (left.length != right.length) {
+            throw new IllegalArgumentException("Batch arrays differ in length: " + left.length + " and " + right.length);
+        }
+    }
+}
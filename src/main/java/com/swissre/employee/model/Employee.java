@@ -13,6 +13,8 @@ public class Employee {
     private final String lastName;
     private final BigDecimal salary;
     private final Integer managerId;
+    // Lazily cached; racy but benign like String.hashCode, as every thread computes the same value
+    private String fullName;
 
     public Employee(int id, String firstName, String lastName, BigDecimal salary, Integer managerId) {
         validateInput(id, firstName, lastName, salary);
@@ -51,7 +53,12 @@ public class Employee {
     }
 
     public String getFullName() {
-        return firstName + " " + lastName;
+        String name = fullName;
+        if (name == null) {
+            name = firstName + " " + lastName;
+            fullName = name;
+        }
+        return name;
     }
 
     public BigDecimal getSalary() {
@@ -0,0 +1,98 @@
+package com.swissre.employee.model;
+
+import java.math.BigDecimal;
+
+/**
+ * A single HR change to apply to an organization that is already loaded: a hire,
+ * a termination, a salary change or a manager change.
+ * Immutable value object.
+ */
+public final class EmployeeChange {
+    private final Type type;
+    private final int employeeId;
+    private final Employee employee;
+    private final BigDecimal salary;
+    private final Integer managerId;
+
+    private EmployeeChange(Type type, int employeeId, Employee employee, BigDecimal salary, Integer managerId) {
+        this.type = type;
+        this.employeeId = employeeId;
+        this.employee = employee;
+        this.salary = salary;
+        this.managerId = managerId;
+    }
+
+    /**
+     * @param employee the new employee, including salary and manager
+     */
+    public static EmployeeChange hire(Employee employee) {
+        return new EmployeeChange(Type.HIRE, employee.getId(), employee, employee.getSalary(), employee.getManagerId());
+    }
+
+    public static EmployeeChange terminate(int employeeId) {
+        return new EmployeeChange(Type.TERMINATE, employeeId, null, null, null);
+    }
+
+    /**
+     * @param salary the new salary, must be positive
+     */
+    public static EmployeeChange salaryChange(int employeeId, BigDecimal salary) {
+        if (salary == null || salary.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Salary must be positive");
+        }
+        return new EmployeeChange(Type.SALARY_CHANGE, employeeId, null, salary, null);
+    }
+
+    /**
+     * @param managerId the new manager, or {@code null} to make the employee the CEO
+     */
+    public static EmployeeChange managerChange(int employeeId, Integer managerId) {
+        return new EmployeeChange(Type.MANAGER_CHANGE, employeeId, null, null, managerId);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    /**
+     * @return the hired employee, or {@code null} for other change types
+     */
+    public Employee getEmployee() {
+        return employee;
+    }
+
+    /**
+     * @return the new salary for hires and salary changes, otherwise {@code null}
+     */
+    public BigDecimal getSalary() {
+        return salary;
+    }
+
+    /**
+     * @return the new manager id for hires and manager changes; {@code null} for the CEO and other change types
+     */
+    public Integer getManagerId() {
+        return managerId;
+    }
+
+    public enum Type {
+        HIRE,
+        TERMINATE,
+        SALARY_CHANGE,
+        MANAGER_CHANGE
+    }
+
+    @Override
+    public String toString() {
+        return "EmployeeChange{" +
+                "type=" + type +
+                ", employeeId=" + employeeId +
+                ", salary=" + salary +
+                ", managerId=" + managerId +
+                '}';
+    }
+}
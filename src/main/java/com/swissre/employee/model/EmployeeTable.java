@@ -0,0 +1,217 @@
+package com.swissre.employee.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Columnar, primitive-backed representation of an organization.
+ * Each employee is a row index; ids, manager links and salaries live in parallel arrays
+ * and names are dictionary-encoded. Salaries are stored in minor units (hundredths); the rare
+ * salary that does not fit (more decimal places, or too large) is kept exactly in a sparse side
+ * column, so any list of employees can be encoded. Immutable once built.
+ */
+public final class EmployeeTable {
+    /** Manager index of employees without a (resolvable) manager. */
+    public static final int NO_MANAGER = -1;
+    /** Number of decimal places kept for salaries. */
+    public static final int SALARY_SCALE = 2;
+    /** Minor-unit value of salaries that are only held in the exact side column. */
+    public static final long SALARY_NOT_REPRESENTABLE = Long.MIN_VALUE;
+
+    private static final int NO_ID = Integer.MIN_VALUE;
+
+    private final int[] ids;
+    private final int[] managerIds;
+    private final int[] managerIndices;
+    private final long[] salaries;
+    private final BigDecimal[] exactSalaries;
+    private final int[] firstNameCodes;
+    private final int[] lastNameCodes;
+    private final String[] names;
+    private final IdSlots idSlots;
+
+    private EmployeeTable(int[] ids, int[] managerIds, long[] salaries, BigDecimal[] exactSalaries,
+                          int[] firstNameCodes, int[] lastNameCodes, String[] names) {
+        this.ids = ids;
+        this.managerIds = managerIds;
+        this.salaries = salaries;
+        this.exactSalaries = exactSalaries;
+        this.firstNameCodes = firstNameCodes;
+        this.lastNameCodes = lastNameCodes;
+        this.names = names;
+        this.idSlots = new IdSlots(ids);
+        this.managerIndices = resolveManagers(managerIds);
+    }
+
+    /**
+     * Builds a table from employee objects, preserving their order.
+     *
+     * @param employees the employees to encode
+     * @return the columnar table
+     * @throws IllegalStateException if two employees share an id
+     */
+    public static EmployeeTable fromEmployees(List<Employee> employees) {
+        int size = employees.size();
+        int[] ids = new int[size];
+        int[] managerIds = new int[size];
+        long[] salaries = new long[size];
+        BigDecimal[] exactSalaries = null;
+        int[] firstNameCodes = new int[size];
+        int[] lastNameCodes = new int[size];
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> names = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+            Employee employee = employees.get(i);
+            ids[i] = employee.getId();
+            managerIds[i] = employee.isCEO() ? NO_ID : employee.getManagerId();
+            salaries[i] = minorUnitsOrMarker(employee.getSalary());
+            if (salaries[i] == SALARY_NOT_REPRESENTABLE) {
+                if (exactSalaries == null) {
+                    exactSalaries = new BigDecimal[size];
+                }
+                exactSalaries[i] = employee.getSalary();
+            }
+            firstNameCodes[i] = encode(employee.getFirstName(), dictionary, names);
+            lastNameCodes[i] = encode(employee.getLastName(), dictionary, names);
+        }
+
+        return new EmployeeTable(ids, managerIds, salaries, exactSalaries, firstNameCodes, lastNameCodes,
+                names.toArray(new String[0]));
+    }
+
+    /**
+     * Converts a salary to minor units.
+     *
+     * @param salary the salary
+     * @return the salary in hundredths
+     * @throws IllegalArgumentException if the salary is not representable in minor units
+     */
+    public static long toMinorUnits(BigDecimal salary) {
+        try {
+            return salary.setScale(SALARY_SCALE).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Salary " + salary + " cannot be represented in minor units", e);
+        }
+    }
+
+    private static long minorUnitsOrMarker(BigDecimal salary) {
+        try {
+            return toMinorUnits(salary);
+        } catch (IllegalArgumentException e) {
+            return SALARY_NOT_REPRESENTABLE;
+        }
+    }
+
+    private static int encode(String name, Map<String, Integer> dictionary, List<String> names) {
+        Integer code = dictionary.get(name);
+        if (code == null) {
+            code = names.size();
+            dictionary.put(name, code);
+            names.add(name);
+        }
+        return code;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int getId(int index) {
+        return ids[index];
+    }
+
+    /**
+     * @return the manager id of the row, or {@code null} for the CEO
+     */
+    public Integer getManagerId(int index) {
+        return managerIds[index] == NO_ID ? null : managerIds[index];
+    }
+
+    /**
+     * @return the row index of the manager, or {@link #NO_MANAGER} for the CEO and for
+     *         employees whose manager is not part of the table
+     */
+    public int getManagerIndex(int index) {
+        return managerIndices[index];
+    }
+
+    public boolean isCEO(int index) {
+        return managerIds[index] == NO_ID;
+    }
+
+    /**
+     * @return the salary in minor units (hundredths), or {@link #SALARY_NOT_REPRESENTABLE} if only
+     *         {@link #getSalary(int)} holds it exactly
+     */
+    public long getSalaryMinorUnits(int index) {
+        return salaries[index];
+    }
+
+    public BigDecimal getSalary(int index) {
+        if (salaries[index] == SALARY_NOT_REPRESENTABLE) {
+            return exactSalaries[index];
+        }
+        return BigDecimal.valueOf(salaries[index], SALARY_SCALE);
+    }
+
+    public String getFirstName(int index) {
+        return names[firstNameCodes[index]];
+    }
+
+    public String getLastName(int index) {
+        return names[lastNameCodes[index]];
+    }
+
+    /**
+     * @return the number of distinct first and last names in the dictionary
+     */
+    public int getDistinctNameCount() {
+        return names.length;
+    }
+
+    /**
+     * Looks up the row of an employee id.
+     *
+     * @param id the employee id
+     * @return the row index, or -1 if no employee has this id
+     */
+    public int indexOf(int id) {
+        return idSlots.indexOf(id);
+    }
+
+    /**
+     * Materializes a row as an {@link Employee}. Salaries held in minor units come back with scale
+     * {@link #SALARY_SCALE}, others exactly as they were encoded.
+     *
+     * @param index the row index
+     * @return a new employee object
+     */
+    public Employee toEmployee(int index) {
+        return new Employee(ids[index], getFirstName(index), getLastName(index), getSalary(index), getManagerId(index));
+    }
+
+    /**
+     * Materializes every row, in table order.
+     *
+     * @return a new list of employee objects
+     */
+    public List<Employee> toEmployees() {
+        List<Employee> employees = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            employees.add(toEmployee(i));
+        }
+        return employees;
+    }
+
+    private int[] resolveManagers(int[] managerIds) {
+        int[] indices = new int[managerIds.length];
+        for (int i = 0; i < managerIds.length; i++) {
+            indices[i] = managerIds[i] == NO_ID ? NO_MANAGER : Math.max(NO_MANAGER, indexOf(managerIds[i]));
+        }
+        return indices;
+    }
+}
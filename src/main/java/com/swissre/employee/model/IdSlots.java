@@ -0,0 +1,55 @@
+package com.swissre.employee.model;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from employee id to row index, backed by a single int array.
+ * Shared by the primitive-backed organization structures of this package.
+ */
+final class IdSlots {
+    private final int[] ids;
+    private final int[] slots;
+
+    /**
+     * @param ids employee ids by row; the array is referenced, not copied
+     * @throws IllegalStateException if two rows share an id
+     */
+    IdSlots(int[] ids) {
+        this.ids = ids;
+        int capacity = Integer.highestOneBit(Math.max(2, ids.length * 2 - 1)) << 1;
+        this.slots = new int[capacity];
+        Arrays.fill(slots, -1);
+        int mask = capacity - 1;
+        for (int i = 0; i < ids.length; i++) {
+            int slot = mix(ids[i]) & mask;
+            while (slots[slot] >= 0) {
+                if (ids[slots[slot]] == ids[i]) {
+                    throw new IllegalStateException("Duplicate employee ID: " + ids[i]);
+                }
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i;
+        }
+    }
+
+    /**
+     * @return the row index of the id, or -1 if absent
+     */
+    int indexOf(int id) {
+        int mask = slots.length - 1;
+        for (int slot = mix(id) & mask; ; slot = (slot + 1) & mask) {
+            int candidate = slots[slot];
+            if (candidate < 0) {
+                return -1;
+            }
+            if (ids[candidate] == id) {
+                return candidate;
+            }
+        }
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
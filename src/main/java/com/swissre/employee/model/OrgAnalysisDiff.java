@@ -0,0 +1,68 @@
+package com.swissre.employee.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Difference between the analysis results before and after a set of changes.
+ * An issue is <em>added</em> when an employee newly has it, <em>resolved</em> when it
+ * no longer applies (resolved entries hold the previous result), and <em>updated</em>
+ * when it still applies but its gap, type or reporting line changed.
+ * Every list is ordered by employee id. Immutable value object.
+ */
+public class OrgAnalysisDiff {
+    private final List<SalaryAnalysisResult> addedSalaryIssues;
+    private final List<SalaryAnalysisResult> resolvedSalaryIssues;
+    private final List<SalaryAnalysisResult> updatedSalaryIssues;
+    private final List<ReportingLineAnalysisResult> addedReportingLineIssues;
+    private final List<ReportingLineAnalysisResult> resolvedReportingLineIssues;
+    private final List<ReportingLineAnalysisResult> updatedReportingLineIssues;
+
+    public OrgAnalysisDiff(List<SalaryAnalysisResult> addedSalaryIssues,
+                           List<SalaryAnalysisResult> resolvedSalaryIssues,
+                           List<SalaryAnalysisResult> updatedSalaryIssues,
+                           List<ReportingLineAnalysisResult> addedReportingLineIssues,
+                           List<ReportingLineAnalysisResult> resolvedReportingLineIssues,
+                           List<ReportingLineAnalysisResult> updatedReportingLineIssues) {
+        this.addedSalaryIssues = Collections.unmodifiableList(new ArrayList<>(addedSalaryIssues));
+        this.resolvedSalaryIssues = Collections.unmodifiableList(new ArrayList<>(resolvedSalaryIssues));
+        this.updatedSalaryIssues = Collections.unmodifiableList(new ArrayList<>(updatedSalaryIssues));
+        this.addedReportingLineIssues = Collections.unmodifiableList(new ArrayList<>(addedReportingLineIssues));
+        this.resolvedReportingLineIssues = Collections.unmodifiableList(new ArrayList<>(resolvedReportingLineIssues));
+        this.updatedReportingLineIssues = Collections.unmodifiableList(new ArrayList<>(updatedReportingLineIssues));
+    }
+
+    public List<SalaryAnalysisResult> getAddedSalaryIssues() {
+        return addedSalaryIssues;
+    }
+
+    public List<SalaryAnalysisResult> getResolvedSalaryIssues() {
+        return resolvedSalaryIssues;
+    }
+
+    public List<SalaryAnalysisResult> getUpdatedSalaryIssues() {
+        return updatedSalaryIssues;
+    }
+
+    public List<ReportingLineAnalysisResult> getAddedReportingLineIssues() {
+        return addedReportingLineIssues;
+    }
+
+    public List<ReportingLineAnalysisResult> getResolvedReportingLineIssues() {
+        return resolvedReportingLineIssues;
+    }
+
+    public List<ReportingLineAnalysisResult> getUpdatedReportingLineIssues() {
+        return updatedReportingLineIssues;
+    }
+
+    /**
+     * @return {@code true} if the changes did not affect any analysis result
+     */
+    public boolean isEmpty() {
+        return addedSalaryIssues.isEmpty() && resolvedSalaryIssues.isEmpty() && updatedSalaryIssues.isEmpty()
+                && addedReportingLineIssues.isEmpty() && resolvedReportingLineIssues.isEmpty()
+                && updatedReportingLineIssues.isEmpty();
+    }
+}
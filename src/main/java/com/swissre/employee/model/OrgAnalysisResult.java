@@ -0,0 +1,27 @@
+package com.swissre.employee.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Combined output of a single analysis run over an organization.
+ * Immutable value object.
+ */
+public class OrgAnalysisResult {
+    private final List<SalaryAnalysisResult> salaryIssues;
+    private final List<ReportingLineAnalysisResult> reportingLineIssues;
+
+    public OrgAnalysisResult(List<SalaryAnalysisResult> salaryIssues, List<ReportingLineAnalysisResult> reportingLineIssues) {
+        this.salaryIssues = Collections.unmodifiableList(new ArrayList<>(salaryIssues));
+        this.reportingLineIssues = Collections.unmodifiableList(new ArrayList<>(reportingLineIssues));
+    }
+
+    public List<SalaryAnalysisResult> getSalaryIssues() {
+        return salaryIssues;
+    }
+
+    public List<ReportingLineAnalysisResult> getReportingLineIssues() {
+        return reportingLineIssues;
+    }
+}
@@ -0,0 +1,122 @@
+package com.swissre.employee.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable index over an organization, built once and shared by the analyses.
+ * Each employee is addressed by its position in the source list. The index resolves
+ * manager links to positions and stores direct reports as a compact adjacency array
+ * (children of employee {@code i} occupy {@code [childOffset(i), childOffset(i + 1))}).
+ */
+public final class OrgIndex {
+    /** Manager index of employees without a (resolvable) manager. */
+    public static final int NO_MANAGER = -1;
+
+    private final List<Employee> employees;
+    private final IdSlots idSlots;
+    private final int[] managerIndices;
+    private final int[] childOffsets;
+    private final int[] children;
+
+    private OrgIndex(List<Employee> employees) {
+        int size = employees.size();
+        this.employees = Collections.unmodifiableList(new ArrayList<>(employees));
+
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = employees.get(i).getId();
+        }
+        this.idSlots = new IdSlots(ids);
+
+        this.managerIndices = new int[size];
+        this.childOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            Integer managerId = employees.get(i).getManagerId();
+            int managerIndex = managerId == null ? NO_MANAGER : Math.max(NO_MANAGER, idSlots.indexOf(managerId));
+            managerIndices[i] = managerIndex;
+            if (managerIndex != NO_MANAGER) {
+                childOffsets[managerIndex + 1]++;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            childOffsets[i + 1] += childOffsets[i];
+        }
+
+        // Fill children in source order, so adjacency order is deterministic
+        this.children = new int[childOffsets[size]];
+        int[] next = new int[size];
+        System.arraycopy(childOffsets, 0, next, 0, size);
+        for (int i = 0; i < size; i++) {
+            int managerIndex = managerIndices[i];
+            if (managerIndex != NO_MANAGER) {
+                children[next[managerIndex]++] = i;
+            }
+        }
+    }
+
+    /**
+     * Builds the index.
+     *
+     * @param employees all employees of the organization
+     * @return the index
+     * @throws IllegalStateException if two employees share an id
+     */
+    public static OrgIndex build(List<Employee> employees) {
+        return new OrgIndex(employees);
+    }
+
+    public int size() {
+        return managerIndices.length;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public Employee getEmployee(int index) {
+        return employees.get(index);
+    }
+
+    /**
+     * @return the position of the employee with this id, or -1 if there is none
+     */
+    public int indexOf(int id) {
+        return idSlots.indexOf(id);
+    }
+
+    /**
+     * @return the position of the manager, or {@link #NO_MANAGER} for the CEO and for
+     *         employees whose manager is not part of the organization
+     */
+    public int getManagerIndex(int index) {
+        return managerIndices[index];
+    }
+
+    /**
+     * @return {@code true} if the employee names a manager that is not part of the organization
+     */
+    public boolean hasMissingManager(int index) {
+        return managerIndices[index] == NO_MANAGER && !employees.get(index).isCEO();
+    }
+
+    public int getChildCount(int index) {
+        return childOffsets[index + 1] - childOffsets[index];
+    }
+
+    /**
+     * @return start of the employee's direct reports in {@link #getChild(int)} positions
+     */
+    public int getChildOffset(int index) {
+        return childOffsets[index];
+    }
+
+    /**
+     * @param position a position in {@code [getChildOffset(i), getChildOffset(i) + getChildCount(i))}
+     * @return the index of the direct report stored at that position
+     */
+    public int getChild(int position) {
+        return children[position];
+    }
+}
@@ -0,0 +1,197 @@
+package com.swissre.employee.model;
+
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Pre-order numbering of the organization forest for subtree queries.
+ * <p>
+ * A depth-first walk from every tree top assigns each employee an entry number; the employee's
+ * transitive subordinates then occupy the contiguous range of numbers right after it. Subtree
+ * membership and headcount are answered in O(1) by comparing ranges, and subtree payroll in O(1)
+ * from prefix sums over the walk order. Employees whose manager is missing top their own tree.
+ * Employees in or below a circular reference are not reachable from any tree top and are left
+ * out of the numbering (see {@link #contains(int)}).
+ * <p>
+ * Employees are addressed by their {@link OrgIndex} position. Immutable.
+ */
+public final class OrgTreeIndex {
+    private static final int NOT_IN_TREE = -1;
+
+    private final OrgIndex index;
+    private final int[] entry;
+    private final int[] subtreeSizes;
+    private final int[] order;
+    // Payroll prefix sums over the walk order: in minor units when every salary fits, exact otherwise
+    private final long[] payrollPrefix;
+    private final BigDecimal[] exactPayrollPrefix;
+
+    private OrgTreeIndex(OrgIndex index) {
+        this.index = index;
+        int size = index.size();
+        this.entry = new int[size];
+        this.subtreeSizes = new int[size];
+        Arrays.fill(entry, NOT_IN_TREE);
+
+        int[] walk = new int[size];
+        int numbered = 0;
+        int[] stack = new int[Math.min(size, 64)];
+        int[] nextChild = new int[Math.min(size, 64)];
+        for (int root = 0; root < size; root++) {
+            if (index.getManagerIndex(root) != OrgIndex.NO_MANAGER) {
+                continue;
+            }
+
+            // Iterative depth-first walk: stack[d] is the employee at depth d of the current path
+            int depth = 0;
+            stack[0] = root;
+            nextChild[0] = 0;
+            entry[root] = numbered;
+            walk[numbered++] = root;
+            while (depth >= 0) {
+                int current = stack[depth];
+                if (nextChild[depth] < index.getChildCount(current)) {
+                    int child = index.getChild(index.getChildOffset(current) + nextChild[depth]++);
+                    if (++depth == stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                        nextChild = Arrays.copyOf(nextChild, nextChild.length * 2);
+                    }
+                    stack[depth] = child;
+                    nextChild[depth] = 0;
+                    entry[child] = numbered;
+                    walk[numbered++] = child;
+                } else {
+                    subtreeSizes[current] = numbered - entry[current];
+                    depth--;
+                }
+            }
+        }
+        this.order = numbered == size ? walk : Arrays.copyOf(walk, numbered);
+
+        long[] prefix = new long[numbered + 1];
+        BigDecimal[] exactPrefix = null;
+        for (int i = 0; i < numbered && prefix != null; i++) {
+            long salary = toMinorUnits(index.getEmployee(order[i]).getSalary());
+            long sum = prefix[i] + salary;
+            if (salary == Long.MIN_VALUE || ((prefix[i] ^ sum) & (salary ^ sum)) < 0) {
+                prefix = null;
+            } else {
+                prefix[i + 1] = sum;
+            }
+        }
+        if (prefix == null) {
+            exactPrefix = new BigDecimal[numbered + 1];
+            exactPrefix[0] = BigDecimal.ZERO;
+            for (int i = 0; i < numbered; i++) {
+                exactPrefix[i + 1] = exactPrefix[i].add(index.getEmployee(order[i]).getSalary());
+            }
+        }
+        this.payrollPrefix = prefix;
+        this.exactPayrollPrefix = exactPrefix;
+    }
+
+    /**
+     * Builds the tree index.
+     *
+     * @param index the organization index
+     * @return the tree index
+     */
+    public static OrgTreeIndex build(OrgIndex index) {
+        return new OrgTreeIndex(index);
+    }
+
+    public OrgIndex getOrgIndex() {
+        return index;
+    }
+
+    /**
+     * @return the number of employees in the numbering, i.e. those not in or below a cycle
+     */
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * @param position a pre-order position in {@code [0, size())}; managers come before their reports
+     * @return the index of the employee numbered at that position
+     */
+    public int getEmployeeAt(int position) {
+        return order[position];
+    }
+
+    /**
+     * @return {@code true} if the employee is reachable from a tree top, i.e. not in or below a cycle
+     */
+    public boolean contains(int employeeIndex) {
+        return entry[employeeIndex] != NOT_IN_TREE;
+    }
+
+    /**
+     * @return {@code true} if {@code employeeIndex} is {@code managerIndex} or one of its transitive subordinates
+     */
+    public boolean isInSubtree(int managerIndex, int employeeIndex) {
+        int managerEntry = entry[managerIndex];
+        int employeeEntry = entry[employeeIndex];
+        return managerEntry != NOT_IN_TREE && employeeEntry >= managerEntry
+                && employeeEntry < managerEntry + subtreeSizes[managerIndex];
+    }
+
+    /**
+     * @return the number of direct and indirect subordinates, or 0 for employees not in the tree
+     */
+    public int getTransitiveHeadcount(int managerIndex) {
+        return contains(managerIndex) ? subtreeSizes[managerIndex] - 1 : 0;
+    }
+
+    /**
+     * @return the combined salary of the employee and all transitive subordinates,
+     *         or zero for employees not in the tree
+     */
+    public BigDecimal getSubtreePayroll(int managerIndex) {
+        if (!contains(managerIndex)) {
+            return BigDecimal.ZERO;
+        }
+        int from = entry[managerIndex];
+        int to = from + subtreeSizes[managerIndex];
+        if (payrollPrefix != null) {
+            return BigDecimal.valueOf(payrollPrefix[to] - payrollPrefix[from], EmployeeTable.SALARY_SCALE);
+        }
+        return exactPayrollPrefix[to].subtract(exactPayrollPrefix[from]);
+    }
+
+    /**
+     * @return the transitive subordinates in depth-first order, as a view (empty for employees not in the tree)
+     */
+    public List<Employee> getTransitiveSubordinates(int managerIndex) {
+        if (!contains(managerIndex)) {
+            return Collections.emptyList();
+        }
+        int from = entry[managerIndex] + 1;
+        int count = subtreeSizes[managerIndex] - 1;
+        return new AbstractList<Employee>() {
+            @Override
+            public Employee get(int i) {
+                if (i < 0 || i >= count) {
+                    throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + count);
+                }
+                return index.getEmployee(order[from + i]);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    private static long toMinorUnits(BigDecimal salary) {
+        try {
+            return EmployeeTable.toMinorUnits(salary);
+        } catch (IllegalArgumentException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.swissre.employee.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Structural problems found in an organization's manager links, each reported once.
+ * Immutable value object.
+ */
+public class OrgValidationReport {
+    private final List<List<Employee>> cycles;
+    private final List<Employee> orphans;
+    private final int componentCount;
+
+    /**
+     * @param cycles every circular reference, each listed once in manager-link order
+     * @param orphans employees whose manager is not part of the organization
+     * @param componentCount number of separate trees and cycles the organization falls into
+     */
+    public OrgValidationReport(List<List<Employee>> cycles, List<Employee> orphans, int componentCount) {
+        List<List<Employee>> cycleCopies = new ArrayList<>(cycles.size());
+        for (List<Employee> cycle : cycles) {
+            cycleCopies.add(Collections.unmodifiableList(new ArrayList<>(cycle)));
+        }
+        this.cycles = Collections.unmodifiableList(cycleCopies);
+        this.orphans = Collections.unmodifiableList(new ArrayList<>(orphans));
+        this.componentCount = componentCount;
+    }
+
+    /**
+     * @return the circular references; each starts at the member reached first and follows manager links
+     */
+    public List<List<Employee>> getCycles() {
+        return cycles;
+    }
+
+    /**
+     * @return employees whose manager is not part of the organization, in source order
+     */
+    public List<Employee> getOrphans() {
+        return orphans;
+    }
+
+    /**
+     * @return the number of disconnected parts: one per tree top (CEO or orphan) plus one per cycle
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * @return {@code true} if the organization is a single tree without cycles or orphans
+     */
+    public boolean isValid() {
+        return cycles.isEmpty() && orphans.isEmpty() && componentCount <= 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OrgValidationReport{cycles=%d, orphans=%d, components=%d}",
+                cycles.size(), orphans.size(), componentCount);
+    }
+}
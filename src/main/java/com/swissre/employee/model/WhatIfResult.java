@@ -0,0 +1,42 @@
+package com.swissre.employee.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Salary issues of an organization as they would be after a {@link WhatIfScenario}.
+ * Immutable value object.
+ */
+public final class WhatIfResult {
+    private final WhatIfScenario scenario;
+    private final List<SalaryAnalysisResult> salaryIssues;
+
+    public WhatIfResult(WhatIfScenario scenario, List<SalaryAnalysisResult> salaryIssues) {
+        this.scenario = scenario;
+        this.salaryIssues = Collections.unmodifiableList(new ArrayList<>(salaryIssues));
+    }
+
+    public WhatIfScenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * @return all salary issues after the scenario, ordered by manager id
+     */
+    public List<SalaryAnalysisResult> getSalaryIssues() {
+        return salaryIssues;
+    }
+
+    /**
+     * @return {@code true} if no manager would be underpaid or overpaid after the scenario
+     */
+    public boolean clearsSalaryIssues() {
+        return salaryIssues.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "WhatIfResult{" + scenario.getName() + ", " + salaryIssues.size() + " salary issues}";
+    }
+}
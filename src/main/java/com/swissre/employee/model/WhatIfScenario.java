@@ -0,0 +1,40 @@
+package com.swissre.employee.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A named package of hypothetical changes, such as a set of raises or a reorganization,
+ * to be simulated against an organization without modifying it.
+ * Immutable value object.
+ */
+public final class WhatIfScenario {
+    private final String name;
+    private final List<EmployeeChange> changes;
+
+    /**
+     * @param name name of the scenario
+     * @param changes the changes, applied in order
+     */
+    public WhatIfScenario(String name, List<EmployeeChange> changes) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Scenario name cannot be null or empty");
+        }
+        this.name = name;
+        this.changes = Collections.unmodifiableList(new ArrayList<>(changes));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<EmployeeChange> getChanges() {
+        return changes;
+    }
+
+    @Override
+    public String toString() {
+        return "WhatIfScenario{" + name + ", " + changes.size() + " changes}";
+    }
+}
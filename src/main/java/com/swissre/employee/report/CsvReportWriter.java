@@ -0,0 +1,85 @@
+package com.swissre.employee.report;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSV report with one row per issue. {@code value} is the salary gap for
+ * {@code UNDERPAID}/{@code OVERPAID} rows and the number of managers for
+ * {@code REPORTING_LINE_TOO_LONG} rows. Fields are quoted per RFC 4180 when needed.
+ */
+final class CsvReportWriter implements ReportWriter {
+    static final String HEADER = "issueType,id,firstName,lastName,value";
+    static final String REPORTING_LINE_TOO_LONG = "REPORTING_LINE_TOO_LONG";
+
+    private final Writer out;
+
+    CsvReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void startSalaryIssues() throws IOException {
+        out.write(HEADER);
+        out.write("\r\n");
+    }
+
+    @Override
+    public void writeSalaryIssue(SalaryAnalysisResult result) throws IOException {
+        writeRow(result.getIssueType().name(), result.getManager(), result.getSalaryGap().toPlainString());
+    }
+
+    @Override
+    public void endSalaryIssues() {
+    }
+
+    @Override
+    public void startReportingLineIssues() {
+    }
+
+    @Override
+    public void writeReportingLineIssue(ReportingLineAnalysisResult result) throws IOException {
+        writeRow(REPORTING_LINE_TOO_LONG, result.getEmployee(), Integer.toString(result.getReportingLineLength()));
+    }
+
+    @Override
+    public void endReportingLineIssues() {
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeRow(String issueType, Employee employee, String value) throws IOException {
+        out.write(issueType);
+        out.write(',');
+        out.write(Integer.toString(employee.getId()));
+        out.write(',');
+        writeField(employee.getFirstName());
+        out.write(',');
+        writeField(employee.getLastName());
+        out.write(',');
+        out.write(value);
+        out.write("\r\n");
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
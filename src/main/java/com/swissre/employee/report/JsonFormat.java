@@ -0,0 +1,139 @@
+package com.swissre.employee.report;
+
+import com.swissre.employee.model.AnalysisTimings;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes employees and analysis results as JSON objects.
+ * Amounts are written as exact JSON numbers; the CEO's manager id is {@code null}.
+ */
+public final class JsonFormat {
+
+    private JsonFormat() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Writes {@code {"id":..,"firstName":..,"lastName":..,"salary":..,"managerId":..}}.
+     */
+    public static void writeEmployee(Appendable out, Employee employee) throws IOException {
+        out.append("{\"id\":").append(Integer.toString(employee.getId()));
+        out.append(",\"firstName\":");
+        writeString(out, employee.getFirstName());
+        out.append(",\"lastName\":");
+        writeString(out, employee.getLastName());
+        out.append(",\"salary\":").append(employee.getSalary().toPlainString());
+        out.append(",\"managerId\":").append(employee.isCEO() ? "null" : Integer.toString(employee.getManagerId()));
+        out.append('}');
+    }
+
+    /**
+     * Writes a manager's salary issue, including the expected band and the gap.
+     */
+    public static void writeSalaryIssue(Appendable out, SalaryAnalysisResult result) throws IOException {
+        out.append("{\"manager\":");
+        writeEmployee(out, result.getManager());
+        out.append(",\"issueType\":\"").append(result.getIssueType().name()).append('"');
+        out.append(",\"salaryGap\":").append(result.getSalaryGap().toPlainString());
+        out.append(",\"averageSubordinateSalary\":").append(result.getAverageSubordinateSalary().toPlainString());
+        out.append(",\"minimumExpectedSalary\":").append(result.getMinimumExpectedSalary().toPlainString());
+        out.append(",\"maximumExpectedSalary\":").append(result.getMaximumExpectedSalary().toPlainString());
+        out.append('}');
+    }
+
+    /**
+     * Writes an employee whose reporting line is too long, with its chain from the direct manager upwards.
+     */
+    public static void writeReportingLineIssue(Appendable out, ReportingLineAnalysisResult result) throws IOException {
+        out.append("{\"employee\":");
+        writeEmployee(out, result.getEmployee());
+        out.append(",\"reportingLineLength\":").append(Integer.toString(result.getReportingLineLength()));
+        out.append(",\"reportingChain\":");
+        writeEmployees(out, result.getReportingChain());
+        out.append('}');
+    }
+
+    /**
+     * Writes the statistics of an analysis run: employee count, input size, parse rate and, per phase,
+     * the duration and allocated bytes. Values that were not measured are written as {@code null}.
+     */
+    public static void writeTimings(Appendable out, AnalysisTimings timings) throws IOException {
+        out.append("{\"employees\":").append(Integer.toString(timings.getEmployeeCount()));
+        out.append(",\"bytesRead\":");
+        writeMeasurement(out, timings.getBytesRead());
+        out.append(",\"rowsPerSecond\":").append(Long.toString(Math.round(timings.getRowsPerSecond())));
+        out.append(",\"totalNanos\":").append(Long.toString(timings.getTotalNanos()));
+        out.append(",\"totalAllocatedBytes\":");
+        writeMeasurement(out, timings.getTotalAllocatedBytes());
+        out.append(",\"phases\":{");
+        AnalysisTimings.Phase[] phases = AnalysisTimings.Phase.values();
+        for (int i = 0; i < phases.length; i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append('"').append(phases[i].getLabel()).append("\":{\"nanos\":")
+                    .append(Long.toString(timings.getNanos(phases[i])));
+            out.append(",\"allocatedBytes\":");
+            writeMeasurement(out, timings.getAllocatedBytes(phases[i]));
+            out.append('}');
+        }
+        out.append("}}");
+    }
+
+    private static void writeMeasurement(Appendable out, long value) throws IOException {
+        out.append(value == AnalysisTimings.UNKNOWN ? "null" : Long.toString(value));
+    }
+
+    /**
+     * Writes a JSON array of employees.
+     */
+    public static void writeEmployees(Appendable out, List<Employee> employees) throws IOException {
+        out.append('[');
+        for (int i = 0; i < employees.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            writeEmployee(out, employees.get(i));
+        }
+        out.append(']');
+    }
+
+    /**
+     * Writes a quoted JSON string, escaping quotes, backslashes and control characters.
+     */
+    public static void writeString(Appendable out, String value) throws IOException {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,54 @@
+package com.swissre.employee.report;
+
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JSON Lines report: one {@code {"salaryIssue":{...}}} or {@code {"reportingLineIssue":{...}}}
+ * object per line, in the shapes written by {@link JsonFormat}.
+ */
+final class JsonLinesReportWriter implements ReportWriter {
+    private final Writer out;
+
+    JsonLinesReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void startSalaryIssues() {
+    }
+
+    @Override
+    public void writeSalaryIssue(SalaryAnalysisResult result) throws IOException {
+        out.write("{\"salaryIssue\":");
+        JsonFormat.writeSalaryIssue(out, result);
+        out.write("}\n");
+    }
+
+    @Override
+    public void endSalaryIssues() {
+    }
+
+    @Override
+    public void startReportingLineIssues() {
+    }
+
+    @Override
+    public void writeReportingLineIssue(ReportingLineAnalysisResult result) throws IOException {
+        out.write("{\"reportingLineIssue\":");
+        JsonFormat.writeReportingLineIssue(out, result);
+        out.write("}\n");
+    }
+
+    @Override
+    public void endReportingLineIssues() {
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+}
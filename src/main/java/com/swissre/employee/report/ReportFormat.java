@@ -0,0 +1,50 @@
+package com.swissre.employee.report;
+
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Output formats of the analysis report.
+ */
+public enum ReportFormat {
+    /** Human-readable report grouped by issue type. */
+    TEXT {
+        @Override
+        public ReportWriter newWriter(Writer out) {
+            return new TextReportWriter(out);
+        }
+    },
+    /** One JSON object per line, tagged with the kind of issue. */
+    JSONL {
+        @Override
+        public ReportWriter newWriter(Writer out) {
+            return new JsonLinesReportWriter(out);
+        }
+    },
+    /** One CSV row per issue under a single header. */
+    CSV {
+        @Override
+        public ReportWriter newWriter(Writer out) {
+            return new CsvReportWriter(out);
+        }
+    };
+
+    /**
+     * @param out the writer to stream to; it should be buffered, as results are written in small pieces
+     * @return a report writer in this format
+     */
+    public abstract ReportWriter newWriter(Writer out);
+
+    /**
+     * @param name the format name, case-insensitive
+     * @return the format
+     * @throws IllegalArgumentException if there is no such format
+     */
+    public static ReportFormat parse(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown report format: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.swissre.employee.report;
+
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streams analysis results to an output format one result at a time.
+ * <p>
+ * Callers write the salary section first and the reporting line section second, each
+ * framed by its {@code start}/{@code end} call, and {@link #flush()} when done.
+ * Implementations write straight through to the underlying writer and keep no per-result state;
+ * a format that orders the salary section differently from its input does so in
+ * {@link #writeSalaryIssues(List)} by passing over the list more than once.
+ */
+public interface ReportWriter extends Flushable {
+
+    void startSalaryIssues() throws IOException;
+
+    void writeSalaryIssue(SalaryAnalysisResult result) throws IOException;
+
+    /**
+     * Writes all salary issues of an already materialized result list, in input order by default.
+     */
+    default void writeSalaryIssues(List<SalaryAnalysisResult> results) throws IOException {
+        for (SalaryAnalysisResult result : results) {
+            writeSalaryIssue(result);
+        }
+    }
+
+    void endSalaryIssues() throws IOException;
+
+    void startReportingLineIssues() throws IOException;
+
+    void writeReportingLineIssue(ReportingLineAnalysisResult result) throws IOException;
+
+    void endReportingLineIssues() throws IOException;
+}
@@ -0,0 +1,107 @@
+package com.swissre.employee.report;
+
+import com.swissre.employee.config.AnalysisConfig;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Human-readable report. A salary issue list is written in two passes, underpaid managers first
+ * and overpaid managers second, so the section is grouped by issue type without buffering any
+ * output. A heading is written whenever the issue type changes.
+ */
+final class TextReportWriter implements ReportWriter {
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final Writer out;
+    private SalaryAnalysisResult.SalaryIssueType lastIssueType;
+    private boolean anySalaryIssue;
+    private boolean anyReportingLineIssue;
+
+    TextReportWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void startSalaryIssues() throws IOException {
+        out.write(NEWLINE + "=== EMPLOYEE ANALYSIS RESULTS ===" + NEWLINE + NEWLINE);
+        out.write("=== SALARY ANALYSIS ===" + NEWLINE);
+        lastIssueType = null;
+        anySalaryIssue = false;
+    }
+
+    @Override
+    public void writeSalaryIssues(List<SalaryAnalysisResult> results) throws IOException {
+        for (SalaryAnalysisResult.SalaryIssueType issueType : SalaryAnalysisResult.SalaryIssueType.values()) {
+            for (SalaryAnalysisResult result : results) {
+                if (result.getIssueType() == issueType) {
+                    writeSalaryIssue(result);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void writeSalaryIssue(SalaryAnalysisResult result) throws IOException {
+        anySalaryIssue = true;
+        boolean underpaid = result.getIssueType() == SalaryAnalysisResult.SalaryIssueType.UNDERPAID;
+        if (result.getIssueType() != lastIssueType) {
+            lastIssueType = result.getIssueType();
+            String heading = underpaid ? "Managers earning less than they should:" : "Managers earning more than they should:";
+            out.write(NEWLINE + heading + NEWLINE);
+        }
+        writeSalaryLine(result.getManager(), underpaid ? "less" : "more", result);
+    }
+
+    @Override
+    public void endSalaryIssues() throws IOException {
+        if (!anySalaryIssue) {
+            out.write("No salary discrepancies found." + NEWLINE);
+        }
+    }
+
+    @Override
+    public void startReportingLineIssues() throws IOException {
+        out.write(NEWLINE + "=== REPORTING LINE ANALYSIS ===" + NEWLINE);
+        anyReportingLineIssue = false;
+    }
+
+    @Override
+    public void writeReportingLineIssue(ReportingLineAnalysisResult result) throws IOException {
+        if (!anyReportingLineIssue) {
+            anyReportingLineIssue = true;
+            out.write(NEWLINE + "Employees with reporting lines too long (more than "
+                    + AnalysisConfig.MAXIMUM_REPORTING_LINE_LENGTH + " managers):" + NEWLINE);
+        }
+        Employee employee = result.getEmployee();
+        // First and last name are appended separately so no full-name String is built per line
+        out.append("- ").append(employee.getFirstName()).append(' ').append(employee.getLastName())
+                .append(" (ID: ").append(Integer.toString(employee.getId()))
+                .append(") has ").append(Integer.toString(result.getReportingLineLength()))
+                .append(" managers in reporting line").append(NEWLINE);
+    }
+
+    @Override
+    public void endReportingLineIssues() throws IOException {
+        if (!anyReportingLineIssue) {
+            out.write("No reporting line issues found." + NEWLINE);
+        }
+        out.write(NEWLINE + "=== ANALYSIS COMPLETE ===" + NEWLINE);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private void writeSalaryLine(Employee manager, String direction, SalaryAnalysisResult result) throws IOException {
+        out.append("- ").append(manager.getFirstName()).append(' ').append(manager.getLastName())
+                .append(" (ID: ").append(Integer.toString(manager.getId()))
+                .append(") earns ").append(result.getSalaryGap().toString())
+                .append(' ').append(direction).append(" than expected").append(NEWLINE);
+    }
+}
@@ -0,0 +1,171 @@
+package com.swissre.employee.server;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.OrgAnalysisResult;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.OrgTreeIndex;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.report.JsonFormat;
+import com.swissre.employee.service.impl.OrgAnalysisEngine;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read-only view of an analyzed organization prepared for serving queries.
+ * Issue lists are rendered to JSON once when the index is built; reporting chains are
+ * looked up through the {@link OrgIndex} with precomputed reporting line lengths, and team
+ * totals through an {@link OrgTreeIndex}.
+ * Immutable and safe to share between request threads.
+ */
+public final class EmployeeQueryIndex {
+    private final OrgIndex index;
+    private final OrgTreeIndex tree;
+    private final int[] reportingLineLengths;
+    private final byte[] salaryIssuesJson;
+    private final byte[] reportingLineIssuesJson;
+
+    private EmployeeQueryIndex(OrgIndex index, int[] reportingLineLengths,
+                               byte[] salaryIssuesJson, byte[] reportingLineIssuesJson) {
+        this.index = index;
+        this.tree = OrgTreeIndex.build(index);
+        this.reportingLineLengths = reportingLineLengths;
+        this.salaryIssuesJson = salaryIssuesJson;
+        this.reportingLineIssuesJson = reportingLineIssuesJson;
+    }
+
+    /**
+     * Analyzes the organization and prepares the responses.
+     *
+     * @param employees all employees of the organization
+     * @param engine the engine to analyze with
+     * @return the index
+     * @throws IllegalStateException if two employees share an id
+     */
+    public static EmployeeQueryIndex build(List<Employee> employees, OrgAnalysisEngine engine) {
+        OrgIndex index = OrgIndex.build(employees);
+        OrgAnalysisResult result = engine.analyze(index);
+
+        StringBuilder salaryIssues = new StringBuilder();
+        StringBuilder reportingLineIssues = new StringBuilder();
+        try {
+            salaryIssues.append('[');
+            for (SalaryAnalysisResult issue : result.getSalaryIssues()) {
+                if (salaryIssues.length() > 1) {
+                    salaryIssues.append(',');
+                }
+                JsonFormat.writeSalaryIssue(salaryIssues, issue);
+            }
+            salaryIssues.append(']');
+
+            reportingLineIssues.append('[');
+            for (ReportingLineAnalysisResult issue : result.getReportingLineIssues()) {
+                if (reportingLineIssues.length() > 1) {
+                    reportingLineIssues.append(',');
+                }
+                JsonFormat.writeReportingLineIssue(reportingLineIssues, issue);
+            }
+            reportingLineIssues.append(']');
+        } catch (IOException e) {
+            // StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+
+        return new EmployeeQueryIndex(index, engine.computeReportingLineLengths(index),
+                salaryIssues.toString().getBytes(StandardCharsets.UTF_8),
+                reportingLineIssues.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @return the salary issues as a UTF-8 JSON array, ordered by manager id (do not modify)
+     */
+    byte[] getSalaryIssuesJson() {
+        return salaryIssuesJson;
+    }
+
+    /**
+     * @return the reporting line issues as a UTF-8 JSON array, in employee order (do not modify)
+     */
+    byte[] getReportingLineIssuesJson() {
+        return reportingLineIssuesJson;
+    }
+
+    /**
+     * Renders an employee's reporting chain, from the direct manager up to the top of the tree.
+     * For employees in or below a circular reference the chain stops before the first repeated
+     * manager and {@code "circular"} is {@code true}.
+     *
+     * @param id the employee id
+     * @return the chain as UTF-8 JSON, or {@code null} if there is no employee with this id
+     */
+    byte[] getReportingChainJson(int id) {
+        int employeeIndex = index.indexOf(id);
+        if (employeeIndex < 0) {
+            return null;
+        }
+
+        int length = reportingLineLengths[employeeIndex];
+        boolean circular = length == OrgAnalysisEngine.CIRCULAR;
+        List<Employee> chain = new ArrayList<>(circular ? 16 : length);
+        Set<Integer> visited = circular ? new HashSet<>() : null;
+        int current = index.getManagerIndex(employeeIndex);
+        while (current != OrgIndex.NO_MANAGER && (!circular || visited.add(current))) {
+            chain.add(index.getEmployee(current));
+            current = index.getManagerIndex(current);
+        }
+
+        StringBuilder json = new StringBuilder(256);
+        try {
+            json.append("{\"employee\":");
+            JsonFormat.writeEmployee(json, index.getEmployee(employeeIndex));
+            json.append(",\"reportingLineLength\":").append(circular ? "null" : Integer.toString(length));
+            json.append(",\"circular\":").append(circular);
+            json.append(",\"reportingChain\":");
+            JsonFormat.writeEmployees(json, chain);
+            json.append('}');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Renders the totals of everyone under an employee: the number of direct and indirect
+     * subordinates and the payroll of the employee together with them. Both are {@code null}
+     * for employees in or below a circular reference.
+     *
+     * @param id the employee id
+     * @return the totals as UTF-8 JSON, or {@code null} if there is no employee with this id
+     */
+    byte[] getTeamJson(int id) {
+        int employeeIndex = index.indexOf(id);
+        if (employeeIndex < 0) {
+            return null;
+        }
+
+        boolean inTree = tree.contains(employeeIndex);
+        StringBuilder json = new StringBuilder(160);
+        try {
+            json.append("{\"employee\":");
+            JsonFormat.writeEmployee(json, index.getEmployee(employeeIndex));
+            json.append(",\"headcount\":")
+                    .append(inTree ? Integer.toString(tree.getTransitiveHeadcount(employeeIndex)) : "null");
+            json.append(",\"payroll\":")
+                    .append(inTree ? tree.getSubtreePayroll(employeeIndex).toPlainString() : "null");
+            json.append('}');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,143 @@
+package com.swissre.employee.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.swissre.employee.concurrent.VirtualThreadExecutors;
+import com.swissre.employee.report.JsonFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.function.IntFunction;
+
+/**
+ * Embedded HTTP server answering analysis queries from an in-memory {@link EmployeeQueryIndex}.
+ * Each request runs on its own (virtual, where available) thread and never touches the CSV file.
+ * <p>
+ * Endpoints (GET only, JSON responses):
+ * <ul>
+ *   <li>{@code /salary-issues} - managers earning outside the expected band</li>
+ *   <li>{@code /reporting-line-issues} - employees with reporting lines that are too long</li>
+ *   <li>{@code /employees/{id}/chain} - an employee's reporting chain up to the CEO</li>
+ *   <li>{@code /employees/{id}/team} - headcount and payroll of everyone under an employee</li>
+ * </ul>
+ */
+public class EmployeeQueryServer implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeQueryServer.class);
+
+    private static final int BACKLOG = 1024;
+    private static final String SALARY_ISSUES = "/salary-issues";
+    private static final String REPORTING_LINE_ISSUES = "/reporting-line-issues";
+    private static final String EMPLOYEES_PREFIX = "/employees/";
+    private static final String CHAIN_SUFFIX = "/chain";
+    private static final String TEAM_SUFFIX = "/team";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private volatile EmployeeQueryIndex index;
+
+    /**
+     * Binds the server; call {@link #start()} to accept requests.
+     *
+     * @param address the address to listen on (port 0 picks a free port)
+     * @param index the data to serve
+     */
+    public EmployeeQueryServer(InetSocketAddress address, EmployeeQueryIndex index) throws IOException {
+        this.index = index;
+        this.server = HttpServer.create(address, BACKLOG);
+        this.executor = VirtualThreadExecutors.newThreadPerTaskExecutor("employee-query");
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        logger.info("Query server listening on port {} ({} threads)", getPort(),
+                VirtualThreadExecutors.isVirtualThreadsAvailable() ? "virtual" : "platform");
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Replaces the served data. Requests already in progress finish with the previous index.
+     */
+    public void updateIndex(EmployeeQueryIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+
+            EmployeeQueryIndex current = index;
+            String path = exchange.getRequestURI().getPath();
+            if (SALARY_ISSUES.equals(path)) {
+                send(exchange, 200, current.getSalaryIssuesJson());
+            } else if (REPORTING_LINE_ISSUES.equals(path)) {
+                send(exchange, 200, current.getReportingLineIssuesJson());
+            } else if (path.startsWith(EMPLOYEES_PREFIX) && path.endsWith(CHAIN_SUFFIX)) {
+                handleEmployee(exchange, path.substring(EMPLOYEES_PREFIX.length(), path.length() - CHAIN_SUFFIX.length()),
+                        current::getReportingChainJson);
+            } else if (path.startsWith(EMPLOYEES_PREFIX) && path.endsWith(TEAM_SUFFIX)) {
+                handleEmployee(exchange, path.substring(EMPLOYEES_PREFIX.length(), path.length() - TEAM_SUFFIX.length()),
+                        current::getTeamJson);
+            } else {
+                sendError(exchange, 404, "Not found");
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to handle request {}", exchange.getRequestURI(), e);
+            sendError(exchange, 500, "Internal server error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleEmployee(HttpExchange exchange, String id, IntFunction<byte[]> query) throws IOException {
+        int employeeId;
+        try {
+            employeeId = Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "Invalid employee ID: " + id);
+            return;
+        }
+
+        byte[] body = query.apply(employeeId);
+        if (body == null) {
+            sendError(exchange, 404, "Employee not found: " + employeeId);
+        } else {
+            send(exchange, 200, body);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        JsonFormat.writeString(json, message);
+        json.append('}');
+        send(exchange, status, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
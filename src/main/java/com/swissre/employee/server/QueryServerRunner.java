@@ -0,0 +1,74 @@
+package com.swissre.employee.server;
+
+import com.swissre.employee.service.EmployeeDataException;
+import com.swissre.employee.service.EmployeeDataService;
+import com.swissre.employee.service.impl.OrgAnalysisEngine;
+import com.swissre.employee.watch.FileChangeWatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Loads and analyzes a CSV file once and serves the results over HTTP, on the loopback interface
+ * unless a host to listen on is given.
+ * With a debounce interval, the file is watched and the served index is rebuilt after each change;
+ * if a reload fails, the previous results keep being served.
+ */
+public class QueryServerRunner {
+    private static final Logger logger = LoggerFactory.getLogger(QueryServerRunner.class);
+
+    private final EmployeeDataService employeeDataService;
+    private final OrgAnalysisEngine analysisEngine;
+
+    public QueryServerRunner(EmployeeDataService employeeDataService, OrgAnalysisEngine analysisEngine) {
+        this.employeeDataService = employeeDataService;
+        this.analysisEngine = analysisEngine;
+    }
+
+    /**
+     * Starts the server. Without a debounce interval this returns once the server is running
+     * (its dispatcher thread keeps the JVM alive); otherwise it watches the file until interrupted.
+     *
+     * @param csvFilePath the CSV file to serve
+     * @param host the host name or address to listen on, or {@code null} for the loopback interface only
+     * @param port the port to listen on
+     * @param watchDebounce debounce interval for reloading on change, or {@code null} to never reload
+     * @throws EmployeeDataException if the initial load fails
+     * @throws IOException if the host is unknown, the server cannot be started or the file cannot be watched
+     * @throws InterruptedException when the thread is interrupted while watching
+     */
+    public void run(String csvFilePath, String host, int port, Duration watchDebounce)
+            throws EmployeeDataException, IOException, InterruptedException {
+        InetAddress address = host == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(host);
+        EmployeeQueryServer server = new EmployeeQueryServer(new InetSocketAddress(address, port), load(csvFilePath));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "employee-query-shutdown"));
+        server.start();
+        System.out.printf("Serving analysis of %s on %s port %d%n", csvFilePath, address.getHostAddress(), server.getPort());
+        if (watchDebounce == null) {
+            return;
+        }
+
+        try (FileChangeWatcher watcher = new FileChangeWatcher(Paths.get(csvFilePath), watchDebounce)) {
+            while (true) {
+                watcher.awaitChange();
+                try {
+                    server.updateIndex(load(csvFilePath));
+                    logger.info("Reloaded {}", csvFilePath);
+                } catch (EmployeeDataException | RuntimeException e) {
+                    logger.error("Reload failed, still serving previous results", e);
+                }
+            }
+        } finally {
+            server.close();
+        }
+    }
+
+    private EmployeeQueryIndex load(String csvFilePath) throws EmployeeDataException {
+        return EmployeeQueryIndex.build(employeeDataService.loadEmployeesFromCsv(csvFilePath), analysisEngine);
+    }
+}
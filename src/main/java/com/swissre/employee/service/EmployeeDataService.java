@@ -1,7 +1,9 @@
 package com.swissre.employee.service;
 
 import com.swissre.employee.model.Employee;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for reading employee data.
@@ -16,4 +18,30 @@ public interface EmployeeDataService {
      * @throws EmployeeDataException if there's an error reading the file
      */
     List<Employee> loadEmployeesFromCsv(String filePath) throws EmployeeDataException;
+
+    /**
+     * Loads one organization split over several CSV files. Managers may be in a different
+     * file from their reports. The default implementation loads the files one after another.
+     *
+     * @param filePaths the paths to the CSV files
+     * @return the employees of all files, in file order
+     * @throws EmployeeDataException if there's an error reading a file
+     */
+    default List<Employee> loadEmployeesFromCsv(List<String> filePaths) throws EmployeeDataException {
+        List<Employee> employees = new ArrayList<>();
+        for (String filePath : filePaths) {
+            employees.addAll(loadEmployeesFromCsv(filePath));
+        }
+        return employees;
+    }
+
+    /**
+     * Streams employee data from a CSV file, handing each record to the given action
+     * as soon as it is parsed. Only one record is held in memory at a time.
+     *
+     * @param filePath the path to the CSV file
+     * @param action callback invoked once per employee, in file order
+     * @throws EmployeeDataException if there's an error reading the file
+     */
+    void forEachEmployee(String filePath, Consumer<? super Employee> action) throws EmployeeDataException;
 }
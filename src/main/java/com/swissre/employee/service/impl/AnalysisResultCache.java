@@ -0,0 +1,348 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.config.AnalysisConfig;
+import com.swissre.employee.model.Employee;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Content-addressed store of encoded analysis results with a memory tier and an optional disk tier.
+ * <p>
+ * Keys are SHA-256 hashes of the analyzed employees, the analysis and the class running it, plus the
+ * {@link AnalysisConfig} thresholds, so byte-identical inputs share entries across runs while a change
+ * to the data, the implementation or the thresholds misses. Both tiers evict least recently used entries once their byte limit is exceeded;
+ * disk recency is tracked through file modification times. Disk problems are logged and treated
+ * as misses. Thread-safe.
+ */
+public class AnalysisResultCache {
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisResultCache.class);
+
+    public static final long DEFAULT_MEMORY_LIMIT_BYTES = 64L << 20;
+    public static final long DEFAULT_DISK_LIMIT_BYTES = 1L << 30;
+
+    static final String ENTRY_SUFFIX = ".result";
+
+    private static final int MAGIC = 0x454D5052; // "EMPR"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    private final long memoryLimitBytes;
+    private final Path directory;
+    private final long diskLimitBytes;
+
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes = -1;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a memory-only cache.
+     *
+     * @param memoryLimitBytes maximum total size of the entries kept in memory
+     */
+    public AnalysisResultCache(long memoryLimitBytes) {
+        this(memoryLimitBytes, null, 0);
+    }
+
+    /**
+     * @param memoryLimitBytes maximum total size of the entries kept in memory
+     * @param directory directory for the disk tier (created if missing), or {@code null} for none
+     * @param diskLimitBytes maximum total size of the entry files in {@code directory}
+     */
+    public AnalysisResultCache(long memoryLimitBytes, Path directory, long diskLimitBytes) {
+        this.memoryLimitBytes = memoryLimitBytes;
+        this.directory = directory;
+        this.diskLimitBytes = diskLimitBytes;
+    }
+
+    /**
+     * Hashes the analyzed employees. Computed once per input and shared by the keys of all analyses of it.
+     *
+     * @param employees the analyzed employees, in order
+     * @return the fingerprint as lowercase hex
+     */
+    static String fingerprintOf(List<Employee> employees) {
+        Hasher hasher = new Hasher();
+        hasher.putInt(employees.size());
+        for (Employee employee : employees) {
+            hasher.putInt(employee.getId());
+            hasher.putString(employee.getFirstName());
+            hasher.putString(employee.getLastName());
+            hasher.putDecimal(employee.getSalary());
+            hasher.putInt(employee.isCEO() ? 0 : 1);
+            hasher.putInt(employee.isCEO() ? 0 : employee.getManagerId());
+        }
+        return hasher.toHex();
+    }
+
+    /**
+     * Computes the cache key of an analysis.
+     *
+     * @param analysis name of the analysis, so different analyses of the same data get different keys
+     * @param implementation the class running the analysis, so implementations never share entries
+     * @param fingerprint the {@link #fingerprintOf(List) fingerprint} of the analyzed employees
+     * @return the key as lowercase hex
+     */
+    static String keyOf(String analysis, Class<?> implementation, String fingerprint) {
+        Hasher hasher = new Hasher();
+        hasher.putInt(VERSION);
+        hasher.putString(analysis);
+        hasher.putString(implementation.getName());
+        hasher.putDecimal(AnalysisConfig.MINIMUM_SALARY_INCREASE_PERCENTAGE);
+        hasher.putDecimal(AnalysisConfig.MAXIMUM_SALARY_INCREASE_PERCENTAGE);
+        hasher.putInt(AnalysisConfig.MAXIMUM_REPORTING_LINE_LENGTH);
+        hasher.putString(fingerprint);
+        return hasher.toHex();
+    }
+
+    /**
+     * Looks an entry up in memory, then on disk. Disk hits are promoted to memory.
+     *
+     * @return the encoded results, or {@code null} on a miss
+     */
+    synchronized byte[] get(String key) {
+        byte[] value = memory.get(key);
+        if (value != null) {
+            memoryHits.incrementAndGet();
+            return value;
+        }
+
+        value = readFromDisk(key);
+        if (value != null) {
+            diskHits.incrementAndGet();
+            putInMemory(key, value);
+            return value;
+        }
+
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores an entry in both tiers.
+     */
+    synchronized void put(String key, byte[] value) {
+        putInMemory(key, value);
+        writeToDisk(key, value);
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return total size of the entries currently held in memory
+     */
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AnalysisResultCache{memoryHits=%d, diskHits=%d, misses=%d}",
+                getMemoryHits(), getDiskHits(), getMisses());
+    }
+
+    private void putInMemory(String key, byte[] value) {
+        if (value.length > memoryLimitBytes) {
+            return;
+        }
+        byte[] previous = memory.put(key, value);
+        memoryBytes += value.length - (previous == null ? 0 : previous.length);
+
+        Iterator<byte[]> eldest = memory.values().iterator();
+        while (memoryBytes > memoryLimitBytes) {
+            memoryBytes -= eldest.next().length;
+            eldest.remove();
+        }
+    }
+
+    private byte[] readFromDisk(String key) {
+        if (directory == null) {
+            return null;
+        }
+        Path entry = entryPath(key);
+        try {
+            if (!Files.isRegularFile(entry)) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(entry));
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.warn("Ignoring invalid cache entry: {}", entry);
+                return null;
+            }
+            int checksum = buffer.getInt();
+            byte[] value = new byte[buffer.remaining()];
+            buffer.get(value);
+            if (checksum != checksum(value)) {
+                logger.warn("Ignoring corrupt cache entry: {}", entry);
+                return null;
+            }
+            // Mark as recently used for disk eviction
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return value;
+        } catch (IOException e) {
+            logger.warn("Failed to read cache entry: {}", entry, e);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, byte[] value) {
+        if (directory == null || HEADER_SIZE + value.length > diskLimitBytes) {
+            return;
+        }
+        Path entry = entryPath(key);
+        try {
+            Files.createDirectories(directory);
+            if (diskBytes < 0) {
+                diskBytes = 0;
+                for (Path existing : listEntries()) {
+                    diskBytes += Files.size(existing);
+                }
+            }
+            long previousSize = Files.isRegularFile(entry) ? Files.size(entry) : 0;
+
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + value.length);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(checksum(value)).put(value);
+            Path temporary = Files.createTempFile(directory, key, ".tmp");
+            try {
+                Files.write(temporary, buffer.array());
+                Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            diskBytes += buffer.capacity() - previousSize;
+            evictFromDisk();
+        } catch (IOException e) {
+            logger.warn("Failed to write cache entry: {}", entry, e);
+        }
+    }
+
+    private void evictFromDisk() throws IOException {
+        if (diskBytes <= diskLimitBytes) {
+            return;
+        }
+        List<Path> entries = listEntries();
+        Map<Path, FileTime> lastUsed = new LinkedHashMap<>();
+        for (Path entry : entries) {
+            lastUsed.put(entry, Files.getLastModifiedTime(entry));
+        }
+        entries.sort((left, right) -> lastUsed.get(left).compareTo(lastUsed.get(right)));
+        for (Path entry : entries) {
+            if (diskBytes <= diskLimitBytes) {
+                break;
+            }
+            long size = Files.size(entry);
+            Files.deleteIfExists(entry);
+            diskBytes -= size;
+            logger.info("Evicted cache entry: {}", entry);
+        }
+    }
+
+    private List<Path> listEntries() throws IOException {
+        List<Path> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + ENTRY_SUFFIX)) {
+            stream.forEach(entries::add);
+        }
+        return entries;
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key + ENTRY_SUFFIX);
+    }
+
+    private static int checksum(byte[] value) {
+        CRC32C crc = new CRC32C();
+        crc.update(value);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Feeds length-prefixed fields to SHA-256 through a reusable buffer.
+     */
+    private static final class Hasher {
+        private final MessageDigest digest;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+
+        Hasher() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        void putInt(int value) {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void putBytes(byte[] bytes) {
+            putInt(bytes.length);
+            if (buffer.remaining() < bytes.length) {
+                flush();
+            }
+            if (bytes.length > buffer.capacity()) {
+                digest.update(bytes);
+            } else {
+                buffer.put(bytes);
+            }
+        }
+
+        void putString(String value) {
+            putBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void putDecimal(BigDecimal value) {
+            putInt(value.scale());
+            putBytes(value.unscaledValue().toByteArray());
+        }
+
+        String toHex() {
+            flush();
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        }
+
+        private void flush() {
+            buffer.flip();
+            digest.update(buffer);
+            buffer.clear();
+        }
+    }
+}
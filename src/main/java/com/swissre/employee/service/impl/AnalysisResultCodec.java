@@ -0,0 +1,186 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encoding of analysis results for {@link AnalysisResultCache}.
+ * Every employee referenced by the results is written once to a table at the start
+ * of the payload and then referred to by position, so shared reporting chains stay small.
+ */
+final class AnalysisResultCodec {
+    private static final int NO_MANAGER_ID = Integer.MIN_VALUE;
+
+    private AnalysisResultCodec() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * @return the encoded results, or {@code null} if they cannot be encoded (e.g. a name is too long)
+     */
+    static byte[] encodeSalaryIssues(List<SalaryAnalysisResult> results) {
+        EmployeeRefs refs = new EmployeeRefs();
+        for (SalaryAnalysisResult result : results) {
+            refs.add(result.getManager());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            refs.write(out);
+            out.writeInt(results.size());
+            for (SalaryAnalysisResult result : results) {
+                out.writeInt(refs.refOf(result.getManager()));
+                out.writeByte(result.getIssueType().ordinal());
+                writeDecimal(out, result.getAverageSubordinateSalary());
+                writeDecimal(out, result.getMinimumExpectedSalary());
+                writeDecimal(out, result.getMaximumExpectedSalary());
+                writeDecimal(out, result.getSalaryGap());
+            }
+        } catch (UTFDataFormatException e) {
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory stream failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<SalaryAnalysisResult> decodeSalaryIssues(byte[] encoded) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            Employee[] employees = readEmployees(in);
+            SalaryAnalysisResult.SalaryIssueType[] types = SalaryAnalysisResult.SalaryIssueType.values();
+            int count = in.readInt();
+            List<SalaryAnalysisResult> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Employee manager = employees[in.readInt()];
+                SalaryAnalysisResult.SalaryIssueType type = types[in.readByte()];
+                BigDecimal average = readDecimal(in);
+                BigDecimal minimum = readDecimal(in);
+                BigDecimal maximum = readDecimal(in);
+                results.add(new SalaryAnalysisResult(manager, average, minimum, maximum, type, readDecimal(in)));
+            }
+            return results;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt salary analysis cache entry", e);
+        }
+    }
+
+    /**
+     * @return the encoded results, or {@code null} if they cannot be encoded (e.g. a name is too long)
+     */
+    static byte[] encodeReportingLineIssues(List<ReportingLineAnalysisResult> results) {
+        EmployeeRefs refs = new EmployeeRefs();
+        for (ReportingLineAnalysisResult result : results) {
+            refs.add(result.getEmployee());
+            result.getReportingChain().forEach(refs::add);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            refs.write(out);
+            out.writeInt(results.size());
+            for (ReportingLineAnalysisResult result : results) {
+                out.writeInt(refs.refOf(result.getEmployee()));
+                out.writeInt(result.getReportingLineLength());
+                out.writeInt(result.getReportingChain().size());
+                for (Employee manager : result.getReportingChain()) {
+                    out.writeInt(refs.refOf(manager));
+                }
+            }
+        } catch (UTFDataFormatException e) {
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory stream failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<ReportingLineAnalysisResult> decodeReportingLineIssues(byte[] encoded) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded))) {
+            Employee[] employees = readEmployees(in);
+            int count = in.readInt();
+            List<ReportingLineAnalysisResult> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Employee employee = employees[in.readInt()];
+                int length = in.readInt();
+                int chainSize = in.readInt();
+                List<Employee> chain = new ArrayList<>(chainSize);
+                for (int j = 0; j < chainSize; j++) {
+                    chain.add(employees[in.readInt()]);
+                }
+                results.add(new ReportingLineAnalysisResult(employee, chain, length));
+            }
+            return results;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt reporting line cache entry", e);
+        }
+    }
+
+    private static Employee[] readEmployees(DataInputStream in) throws IOException {
+        Employee[] employees = new Employee[in.readInt()];
+        for (int i = 0; i < employees.length; i++) {
+            int id = in.readInt();
+            String firstName = in.readUTF();
+            String lastName = in.readUTF();
+            BigDecimal salary = readDecimal(in);
+            int managerId = in.readInt();
+            employees[i] = new Employee(id, firstName, lastName, salary, managerId == NO_MANAGER_ID ? null : managerId);
+        }
+        return employees;
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeInt(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readInt()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    /**
+     * Distinct employees referenced by a result list, in first-use order.
+     */
+    private static final class EmployeeRefs {
+        private final Map<Integer, Integer> refs = new LinkedHashMap<>();
+        private final List<Employee> employees = new ArrayList<>();
+
+        void add(Employee employee) {
+            if (!refs.containsKey(employee.getId())) {
+                refs.put(employee.getId(), employees.size());
+                employees.add(employee);
+            }
+        }
+
+        int refOf(Employee employee) {
+            return refs.get(employee.getId());
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(employees.size());
+            for (Employee employee : employees) {
+                out.writeInt(employee.getId());
+                out.writeUTF(employee.getFirstName());
+                out.writeUTF(employee.getLastName());
+                writeDecimal(out, employee.getSalary());
+                out.writeInt(employee.isCEO() ? NO_MANAGER_ID : employee.getManagerId());
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+/**
+ * Engine that serves both analyses from an {@link AnalysisResultCache} and only runs the delegate
+ * engine for inputs it has not seen before. Both analyses of a run share one {@link OrgIndex}, and its
+ * employees are hashed once for both cache keys. Thread-safe if the delegate is.
+ */
+public class CachingOrgAnalysisEngine extends OrgAnalysisEngine {
+    private static final Logger logger = LoggerFactory.getLogger(CachingOrgAnalysisEngine.class);
+
+    private final OrgAnalysisEngine delegate;
+    private final AnalysisResultCache cache;
+
+    // The index hashed last and its fingerprint; an index never changes, so the fingerprint stays valid
+    private WeakReference<OrgIndex> fingerprintedIndex = new WeakReference<>(null);
+    private String fingerprint;
+
+    public CachingOrgAnalysisEngine(OrgAnalysisEngine delegate, AnalysisResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<SalaryAnalysisResult> analyzeSalaryDiscrepancies(OrgIndex index) {
+        String key = keyOf(CachingSalaryAnalysisService.ANALYSIS, index);
+        byte[] cached = cache.get(key);
+        if (cached != null) {
+            try {
+                return AnalysisResultCodec.decodeSalaryIssues(cached);
+            } catch (IOException e) {
+                logger.warn("Discarding unreadable cached salary analysis", e);
+            }
+        }
+
+        List<SalaryAnalysisResult> results = delegate.analyzeSalaryDiscrepancies(index);
+        byte[] encoded = AnalysisResultCodec.encodeSalaryIssues(results);
+        if (encoded != null) {
+            cache.put(key, encoded);
+        }
+        return results;
+    }
+
+    @Override
+    public List<ReportingLineAnalysisResult> analyzeReportingLines(OrgIndex index) {
+        String key = keyOf(CachingReportingLineAnalysisService.ANALYSIS, index);
+        byte[] cached = cache.get(key);
+        if (cached != null) {
+            try {
+                return AnalysisResultCodec.decodeReportingLineIssues(cached);
+            } catch (IOException e) {
+                logger.warn("Discarding unreadable cached reporting line analysis", e);
+            }
+        }
+
+        List<ReportingLineAnalysisResult> results = delegate.analyzeReportingLines(index);
+        byte[] encoded = AnalysisResultCodec.encodeReportingLineIssues(results);
+        if (encoded != null) {
+            cache.put(key, encoded);
+        }
+        return results;
+    }
+
+    private String keyOf(String analysis, OrgIndex index) {
+        return AnalysisResultCache.keyOf(analysis, delegate.getClass(), fingerprintOf(index));
+    }
+
+    private synchronized String fingerprintOf(OrgIndex index) {
+        if (fingerprintedIndex.get() != index) {
+            fingerprint = AnalysisResultCache.fingerprintOf(index.getEmployees());
+            fingerprintedIndex = new WeakReference<>(index);
+        }
+        return fingerprint;
+    }
+}
@@ -0,0 +1,49 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.service.ReportingLineAnalysisService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Decorator that serves reporting line analyses from an {@link AnalysisResultCache}
+ * and only runs the delegate for inputs it has not seen before.
+ * Prefer {@link CachingOrgAnalysisEngine} to run both analyses, which hashes the input only once.
+ */
+public class CachingReportingLineAnalysisService implements ReportingLineAnalysisService {
+    private static final Logger logger = LoggerFactory.getLogger(CachingReportingLineAnalysisService.class);
+
+    static final String ANALYSIS = "reporting-line";
+
+    private final ReportingLineAnalysisService delegate;
+    private final AnalysisResultCache cache;
+
+    public CachingReportingLineAnalysisService(ReportingLineAnalysisService delegate, AnalysisResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<ReportingLineAnalysisResult> analyzeReportingLines(List<Employee> employees) {
+        String key = AnalysisResultCache.keyOf(ANALYSIS, delegate.getClass(), AnalysisResultCache.fingerprintOf(employees));
+        byte[] cached = cache.get(key);
+        if (cached != null) {
+            try {
+                return AnalysisResultCodec.decodeReportingLineIssues(cached);
+            } catch (IOException e) {
+                logger.warn("Discarding unreadable cached reporting line analysis", e);
+            }
+        }
+
+        List<ReportingLineAnalysisResult> results = delegate.analyzeReportingLines(employees);
+        byte[] encoded = AnalysisResultCodec.encodeReportingLineIssues(results);
+        if (encoded != null) {
+            cache.put(key, encoded);
+        }
+        return results;
+    }
+}
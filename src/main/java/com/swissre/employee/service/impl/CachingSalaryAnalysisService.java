@@ -0,0 +1,49 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.service.SalaryAnalysisService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Decorator that serves salary analyses from an {@link AnalysisResultCache}
+ * and only runs the delegate for inputs it has not seen before.
+ * Prefer {@link CachingOrgAnalysisEngine} to run both analyses, which hashes the input only once.
+ */
+public class CachingSalaryAnalysisService implements SalaryAnalysisService {
+    private static final Logger logger = LoggerFactory.getLogger(CachingSalaryAnalysisService.class);
+
+    static final String ANALYSIS = "salary";
+
+    private final SalaryAnalysisService delegate;
+    private final AnalysisResultCache cache;
+
+    public CachingSalaryAnalysisService(SalaryAnalysisService delegate, AnalysisResultCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public List<SalaryAnalysisResult> analyzeSalaryDiscrepancies(List<Employee> employees) {
+        String key = AnalysisResultCache.keyOf(ANALYSIS, delegate.getClass(), AnalysisResultCache.fingerprintOf(employees));
+        byte[] cached = cache.get(key);
+        if (cached != null) {
+            try {
+                return AnalysisResultCodec.decodeSalaryIssues(cached);
+            } catch (IOException e) {
+                logger.warn("Discarding unreadable cached salary analysis", e);
+            }
+        }
+
+        List<SalaryAnalysisResult> results = delegate.analyzeSalaryDiscrepancies(employees);
+        byte[] encoded = AnalysisResultCodec.encodeSalaryIssues(results);
+        if (encoded != null) {
+            cache.put(key, encoded);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,212 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.config.CompensationPolicy;
+import com.swissre.employee.config.SalaryBand;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.OrgAnalysisResult;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Evaluates several {@link CompensationPolicy compensation policies} in one scan of the organization.
+ * <p>
+ * The per-manager aggregates (subordinate count, salary total and average) and the reporting line
+ * lengths are computed once and checked against every policy, and a reporting chain is built at most
+ * once however many policies flag it, so N policies cost little more than a single analysis.
+ * For {@link CompensationPolicy#standard()} the results are identical to {@link OrgAnalysisEngine}.
+ */
+public class CompensationPolicyEngine {
+    private static final Logger logger = LoggerFactory.getLogger(CompensationPolicyEngine.class);
+
+    /**
+     * Evaluates the policies against a list of employees.
+     *
+     * @param employees list of all employees
+     * @param policies the policies to evaluate, with unique names
+     * @return the result of each policy, keyed by policy name in the given order
+     * @throws IllegalArgumentException if no policy is given or two policies share a name
+     */
+    public Map<String, OrgAnalysisResult> evaluate(List<Employee> employees, List<CompensationPolicy> policies) {
+        return evaluate(OrgIndex.build(employees), policies);
+    }
+
+    /**
+     * Evaluates the policies against an existing organization index.
+     *
+     * @param index the organization index
+     * @param policies the policies to evaluate, with unique names
+     * @return the result of each policy, keyed by policy name in the given order; salary issues are
+     *         ordered by manager id and reporting line issues by employee order
+     * @throws IllegalArgumentException if no policy is given or two policies share a name
+     */
+    public Map<String, OrgAnalysisResult> evaluate(OrgIndex index, List<CompensationPolicy> policies) {
+        checkNames(policies);
+        logger.info("Evaluating {} compensation policies for {} employees", policies.size(), index.size());
+
+        int size = index.size();
+        OrgStructureValidator.logProblems(index);
+        int[] depths = ReportingDepths.compute(size, index::getManagerIndex);
+        int deepestLevel = 0;
+        for (int depth : depths) {
+            deepestLevel = Math.max(deepestLevel, depth);
+        }
+
+        CompiledPolicy[] compiled = new CompiledPolicy[policies.size()];
+        int shortestLimit = Integer.MAX_VALUE;
+        for (int p = 0; p < compiled.length; p++) {
+            compiled[p] = new CompiledPolicy(policies.get(p), deepestLevel);
+            shortestLimit = Math.min(shortestLimit, policies.get(p).getMaximumReportingLineLength());
+        }
+
+        List<List<SalaryAnalysisResult>> salaryIssues = newLists(compiled.length);
+        List<List<ReportingLineAnalysisResult>> reportingLineIssues = newLists(compiled.length);
+        for (int i = 0; i < size; i++) {
+            if (index.getChildCount(i) > 0) {
+                evaluateManager(index, i, depths[i], compiled, salaryIssues);
+            }
+            evaluateReportingLine(index, i, depths[i], shortestLimit, policies, reportingLineIssues);
+        }
+
+        Map<String, OrgAnalysisResult> results = new LinkedHashMap<>();
+        for (int p = 0; p < compiled.length; p++) {
+            List<SalaryAnalysisResult> policySalaryIssues = salaryIssues.get(p);
+            policySalaryIssues.sort(DefaultSalaryAnalysisService.BY_MANAGER_ID);
+            results.put(policies.get(p).getName(), new OrgAnalysisResult(policySalaryIssues, reportingLineIssues.get(p)));
+            logger.info("Policy {}: {} salary discrepancies, {} reporting lines too long", policies.get(p).getName(),
+                    policySalaryIssues.size(), reportingLineIssues.get(p).size());
+        }
+        return Collections.unmodifiableMap(results);
+    }
+
+    private static void evaluateManager(OrgIndex index, int managerIndex, int depth, CompiledPolicy[] policies,
+                                        List<List<SalaryAnalysisResult>> results) {
+        int subordinateCount = index.getChildCount(managerIndex);
+        int offset = index.getChildOffset(managerIndex);
+        long subordinateSalaryTotal = 0;
+        for (int position = offset; position < offset + subordinateCount; position++) {
+            subordinateSalaryTotal = FixedPointSalaryMath.add(subordinateSalaryTotal,
+                    FixedPointSalaryMath.toMinorUnits(index.getEmployee(index.getChild(position)).getSalary()));
+        }
+
+        Employee manager = index.getEmployee(managerIndex);
+        if (subordinateSalaryTotal == FixedPointSalaryMath.NOT_REPRESENTABLE) {
+            List<Employee> subordinates = new ArrayList<>(subordinateCount);
+            for (int position = offset; position < offset + subordinateCount; position++) {
+                subordinates.add(index.getEmployee(index.getChild(position)));
+            }
+            BigDecimal averageSubordinateSalary = SalaryBandEvaluator.averageSalary(subordinates);
+            for (int p = 0; p < policies.length; p++) {
+                addIfPresent(results.get(p), SalaryBandEvaluator.evaluate(
+                        policies[p].band(depth).getSalaryBand(), manager, averageSubordinateSalary));
+            }
+            return;
+        }
+
+        long managerSalary = FixedPointSalaryMath.toMinorUnits(manager.getSalary());
+        long averageSubordinateSalary = FixedPointSalaryMath.average(subordinateSalaryTotal, subordinateCount);
+        for (int p = 0; p < policies.length; p++) {
+            addIfPresent(results.get(p), SalaryBandEvaluator.evaluate(
+                    policies[p].band(depth), index::getEmployee, managerIndex, managerSalary, averageSubordinateSalary));
+        }
+    }
+
+    private static void evaluateReportingLine(OrgIndex index, int employeeIndex, int depth, int shortestLimit,
+                                              List<CompensationPolicy> policies,
+                                              List<List<ReportingLineAnalysisResult>> results) {
+        int reportingLineLength = depth == ReportingDepths.CIRCULAR
+                ? DefaultReportingLineAnalysisService.CIRCULAR_CHAIN_LENGTH : depth;
+        if (reportingLineLength <= shortestLimit || index.getEmployee(employeeIndex).isCEO()) {
+            return;
+        }
+
+        // Built once and shared by every policy that flags this employee
+        List<Employee> reportingChain = DefaultReportingLineAnalysisService.buildReportingChain(employeeIndex,
+                reportingLineLength, index::getManagerIndex, index::getEmployee);
+        for (int p = 0; p < policies.size(); p++) {
+            if (reportingLineLength > policies.get(p).getMaximumReportingLineLength()) {
+                results.get(p).add(new ReportingLineAnalysisResult(index.getEmployee(employeeIndex),
+                        reportingChain, reportingLineLength));
+            }
+        }
+    }
+
+    private static void checkNames(List<CompensationPolicy> policies) {
+        if (policies.isEmpty()) {
+            throw new IllegalArgumentException("At least one compensation policy is required");
+        }
+        Set<String> names = new HashSet<>();
+        for (CompensationPolicy policy : policies) {
+            if (!names.add(policy.getName())) {
+                throw new IllegalArgumentException("Duplicate compensation policy name: " + policy.getName());
+            }
+        }
+    }
+
+    private static <T> List<List<T>> newLists(int count) {
+        List<List<T>> lists = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+
+    private static <T> void addIfPresent(List<T> results, T result) {
+        if (result != null) {
+            results.add(result);
+        }
+    }
+
+    /**
+     * A policy's bands prepared for minor-unit arithmetic and looked up by level without boxing.
+     */
+    private static final class CompiledPolicy {
+        private final SalaryBandEvaluator.Band defaultBand;
+        private final SalaryBandEvaluator.Band[] levelBands;
+
+        /**
+         * @param deepestLevel the longest reporting line in the organization; bands for deeper levels
+         *        can never apply and are left out, so the lookup table stays bounded by the organization
+         */
+        CompiledPolicy(CompensationPolicy policy, int deepestLevel) {
+            this.defaultBand = compile(policy.getDefaultBand());
+            int levels = 0;
+            for (int level : policy.getLevelBands().keySet()) {
+                if (level <= deepestLevel) {
+                    levels = Math.max(levels, level + 1);
+                }
+            }
+            this.levelBands = new SalaryBandEvaluator.Band[levels];
+            for (Map.Entry<Integer, SalaryBand> entry : policy.getLevelBands().entrySet()) {
+                if (entry.getKey() < levels) {
+                    levelBands[entry.getKey()] = compile(entry.getValue());
+                }
+            }
+        }
+
+        /**
+         * @param depth the manager's reporting line length, or {@link ReportingDepths#CIRCULAR}
+         */
+        SalaryBandEvaluator.Band band(int depth) {
+            if (depth >= 0 && depth < levelBands.length && levelBands[depth] != null) {
+                return levelBands[depth];
+            }
+            return defaultBand;
+        }
+
+        private static SalaryBandEvaluator.Band compile(SalaryBand band) {
+            return band.equals(SalaryBand.STANDARD) ? SalaryBandEvaluator.Band.STANDARD : new SalaryBandEvaluator.Band(band);
+        }
+    }
+}
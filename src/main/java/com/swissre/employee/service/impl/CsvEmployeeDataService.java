@@ -8,42 +8,169 @@ import com.swissre.employee.service.EmployeeDataService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileReader;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 /**
- * Implementation of EmployeeDataService using OpenCSV.
+ * Implementation of EmployeeDataService for CSV files.
+ * By default the file is memory-mapped and parsed by {@link MappedCsvEmployeeParser};
+ * OpenCSV remains available as a fallback for quoted or escaped input. Large files are
+ * loaded in parallel chunks by {@link ParallelCsvEmployeeLoader}. Gzip-compressed files, recognized
+ * by their magic bytes, are decompressed on a separate thread by {@link PipelinedGzipCsvReader}.
  * Follows Single Responsibility Principle.
  */
 public class CsvEmployeeDataService implements EmployeeDataService {
     private static final Logger logger = LoggerFactory.getLogger(CsvEmployeeDataService.class);
     
+    // Largest window mapped at once; mapped regions are limited to Integer.MAX_VALUE bytes
+    private static final long MAX_MAPPED_REGION_SIZE = 1L << 30;
+    
+    // Files smaller than this are parsed on the calling thread; splitting them costs more than it saves
+    private static final long PARALLEL_LOAD_THRESHOLD = 8L << 20;
+    
+    private final boolean memoryMapped;
+    private final ForkJoinPool pool;
+    
+    public CsvEmployeeDataService() {
+        this(true);
+    }
+    
+    /**
+     * @param memoryMapped {@code true} to use the memory-mapped parser, {@code false} to read
+     *                     every record through OpenCSV
+     */
+    public CsvEmployeeDataService(boolean memoryMapped) {
+        this(memoryMapped, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * @param memoryMapped {@code true} to use the memory-mapped parser, {@code false} to read
+     *                     every record through OpenCSV
+     * @param pool the pool used to parse large files in parallel chunks; a pool with
+     *             parallelism 1 disables parallel loading
+     */
+    public CsvEmployeeDataService(boolean memoryMapped, ForkJoinPool pool) {
+        this.memoryMapped = memoryMapped;
+        this.pool = pool;
+    }
+    
     @Override
     public List<Employee> loadEmployeesFromCsv(String filePath) throws EmployeeDataException {
-        logger.info("Loading employees from CSV file: {}", filePath);
+        if (memoryMapped && pool.getParallelism() > 1 && !isGzip(filePath)) {
+            List<Employee> employees = loadInParallel(filePath);
+            if (employees != null) {
+                return employees;
+            }
+        }
         
         List<Employee> employees = new ArrayList<>();
+        forEachEmployee(filePath, employees::add);
+        return employees;
+    }
+    
+    private List<Employee> loadInParallel(String filePath) throws EmployeeDataException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            if (channel.size() < PARALLEL_LOAD_THRESHOLD) {
+                return null;
+            }
+            
+            logger.info("Loading employees from CSV file: {} ({} threads)", filePath, pool.getParallelism());
+            List<Employee> employees = new ParallelCsvEmployeeLoader(pool, MAX_MAPPED_REGION_SIZE).load(channel);
+            if (employees == null) {
+                logger.info("Quoted or escaped input detected, falling back to sequential load");
+                return null;
+            }
+            
+            logger.info("Successfully loaded {} employees", employees.size());
+            return employees;
+            
+        } catch (IOException e) {
+            logger.error("Error reading CSV file: {}", filePath, e);
+            throw new EmployeeDataException("Failed to read CSV file: " + filePath, e);
+        }
+    }
+    
+    @Override
+    public void forEachEmployee(String filePath, Consumer<? super Employee> action) throws EmployeeDataException {
+        logger.info("Loading employees from CSV file: {}", filePath);
         
-        try (CSVReader reader = new CSVReader(new FileReader(filePath))) {
-            List<String[]> records = reader.readAll();
+        long count;
+        if (isGzip(filePath)) {
+            count = memoryMapped ? new PipelinedGzipCsvReader().read(Paths.get(filePath), action)
+                    : readWithOpenCsv(filePath, true, action);
+        } else {
+            count = memoryMapped ? readMapped(filePath, action) : readWithOpenCsv(filePath, false, action);
+        }
+        
+        logger.info("Successfully loaded {} employees", count);
+    }
+    
+    private long readMapped(String filePath, Consumer<? super Employee> action) throws EmployeeDataException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            MappedCsvEmployeeParser parser = new MappedCsvEmployeeParser(true);
+            long size = channel.size();
+            long position = 0;
+            
+            while (position < size) {
+                long length = Math.min(size - position, MAX_MAPPED_REGION_SIZE);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int limit = (int) length;
+                if (position + length < size) {
+                    // Stop the window at the last complete line; the rest goes into the next one
+                    limit = lastLineEnd(region, limit);
+                    if (limit == 0) {
+                        throw new EmployeeDataException("CSV line exceeds " + MAX_MAPPED_REGION_SIZE + " bytes in file: " + filePath);
+                    }
+                }
+                parser.parse(region, 0, limit, action);
+                position += limit;
+            }
+            
+            parser.finish();
+            return parser.getRecordCount();
+            
+        } catch (IOException e) {
+            logger.error("Error reading CSV file: {}", filePath, e);
+            throw new EmployeeDataException("Failed to read CSV file: " + filePath, e);
+        }
+    }
+    
+    private long readWithOpenCsv(String filePath, boolean gzip, Consumer<? super Employee> action) throws EmployeeDataException {
+        try (CSVReader reader = new CSVReader(openReader(filePath, gzip))) {
+            long count = 0;
+            NameDictionary names = new NameDictionary();
             
             // Skip header if present
             boolean isFirstRow = true;
-            for (String[] record : records) {
-                if (isFirstRow && isHeaderRow(record)) {
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                if (isFirstRow) {
                     isFirstRow = false;
-                    continue;
+                    if (isHeaderRow(record)) {
+                        continue;
+                    }
                 }
                 
-                Employee employee = parseEmployeeFromRecord(record);
-                employees.add(employee);
+                action.accept(parseEmployeeFromRecord(record, names));
+                count++;
             }
             
-            logger.info("Successfully loaded {} employees", employees.size());
-            return employees;
+            return count;
             
         } catch (IOException | CsvException e) {
             logger.error("Error reading CSV file: {}", filePath, e);
@@ -51,12 +178,50 @@ public class CsvEmployeeDataService implements EmployeeDataService {
         }
     }
     
-    private boolean isHeaderRow(String[] record) {
+    private static Reader openReader(String filePath, boolean gzip) throws IOException {
+        if (!gzip) {
+            return Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8);
+        }
+        InputStream in = Files.newInputStream(Paths.get(filePath));
+        try {
+            return new BufferedReader(new InputStreamReader(new GZIPInputStream(in), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+    
+    private static boolean isGzip(String filePath) throws EmployeeDataException {
+        try {
+            return PipelinedGzipCsvReader.isGzip(Paths.get(filePath));
+        } catch (IOException e) {
+            logger.error("Error reading CSV file: {}", filePath, e);
+            throw new EmployeeDataException("Failed to read CSV file: " + filePath, e);
+        }
+    }
+    
+    private static int lastLineEnd(MappedByteBuffer region, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            if (region.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+    
+    static boolean isHeaderRow(String[] record) {
+        return record.length > 0 && isHeaderField(record[0]);
+    }
+    
+    static boolean isHeaderField(String firstField) {
         // Check if first column contains "id" or "Id" (case insensitive)
-        return record.length > 0 && record[0].toLowerCase().contains("id");
+        return firstField.toLowerCase().contains("id");
     }
     
-    private Employee parseEmployeeFromRecord(String[] record) throws EmployeeDataException {
+    /**
+     * @param names dictionary the names are interned in, or {@code null} to keep them as read
+     */
+    static Employee parseEmployeeFromRecord(String[] record, NameDictionary names) throws EmployeeDataException {
         if (record.length < 4) {
             throw new EmployeeDataException("Invalid record format. Expected at least 4 columns, got: " + record.length);
         }
@@ -65,6 +230,10 @@ public class CsvEmployeeDataService implements EmployeeDataService {
             int id = Integer.parseInt(record[0].trim());
             String firstName = record[1].trim();
             String lastName = record[2].trim();
+            if (names != null) {
+                firstName = names.intern(firstName);
+                lastName = names.intern(lastName);
+            }
             BigDecimal salary = new BigDecimal(record[3].trim());
             
             Integer managerId = null;
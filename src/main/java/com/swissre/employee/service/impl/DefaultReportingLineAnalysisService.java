@@ -2,6 +2,8 @@ package com.swissre.employee.service.impl;
 
 import com.swissre.employee.config.AnalysisConfig;
 import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeTable;
+import com.swissre.employee.model.OrgIndex;
 import com.swissre.employee.model.ReportingLineAnalysisResult;
 import com.swissre.employee.service.ReportingLineAnalysisService;
 import org.slf4j.Logger;
@@ -9,71 +11,87 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Implementation of ReportingLineAnalysisService.
+ * The organization is validated once with {@link OrgStructureValidator}, reporting line lengths
+ * are computed for all employees in O(n) with {@link ReportingDepths}, and reporting chains are
+ * only materialized for employees whose line is too long.
  * Follows Single Responsibility Principle and Open/Closed Principle.
  */
 public class DefaultReportingLineAnalysisService implements ReportingLineAnalysisService {
     private static final Logger logger = LoggerFactory.getLogger(DefaultReportingLineAnalysisService.class);
     
+    // Chain length reported for employees in or below a circular reference
+    static final int CIRCULAR_CHAIN_LENGTH = 101;
+    
     @Override
     public List<ReportingLineAnalysisResult> analyzeReportingLines(List<Employee> employees) {
-        logger.info("Analyzing reporting lines for {} employees", employees.size());
-        
-        List<ReportingLineAnalysisResult> results = new ArrayList<>();
-        
-        // Create a map for quick employee lookup
-        Map<Integer, Employee> employeeMap = employees.stream()
-                .collect(Collectors.toMap(Employee::getId, emp -> emp));
-        
-        for (Employee employee : employees) {
-            if (!employee.isCEO()) {
-                ReportingLineAnalysisResult result = analyzeEmployeeReportingLine(employee, employeeMap);
-                if (result != null) {
-                    results.add(result);
-                }
-            }
-        }
-        
-        logger.info("Found {} employees with reporting lines too long", results.size());
-        return results;
+        return analyzeReportingLines(OrgIndex.build(employees));
     }
     
-    private ReportingLineAnalysisResult analyzeEmployeeReportingLine(Employee employee, Map<Integer, Employee> employeeMap) {
-        List<Employee> reportingChain = buildReportingChain(employee, employeeMap);
-        int reportingLineLength = reportingChain.size();
-        
-        if (reportingLineLength > AnalysisConfig.MAXIMUM_REPORTING_LINE_LENGTH) {
-            return new ReportingLineAnalysisResult(employee, reportingChain, reportingLineLength);
-        }
-        
-        return null;
+    /**
+     * Analyzes reporting lines over an existing organization index.
+     *
+     * @param index the organization index
+     * @return list of employees with reporting lines that are too long, in employee order
+     */
+    public List<ReportingLineAnalysisResult> analyzeReportingLines(OrgIndex index) {
+        return findLongReportingLines(index.size(), index::getManagerIndex,
+                i -> index.getEmployee(i).isCEO(), index::getEmployee);
+    }
+    
+    /**
+     * Analyzes reporting lines directly on a columnar table.
+     * Employee objects are only materialized for employees whose reporting line is too long.
+     *
+     * @param table the organization in columnar form
+     * @return list of employees with reporting lines that are too long, in table order
+     */
+    public List<ReportingLineAnalysisResult> analyzeReportingLines(EmployeeTable table) {
+        return findLongReportingLines(table.size(), table::getManagerIndex, table::isCEO, table::toEmployee);
     }
     
-    private List<Employee> buildReportingChain(Employee employee, Map<Integer, Employee> employeeMap) {
-        List<Employee> reportingChain = new ArrayList<>();
-        Employee current = employee;
+    private List<ReportingLineAnalysisResult> findLongReportingLines(int size, IntUnaryOperator managerIndexOf,
+                                                                     IntPredicate isCEO, IntFunction<Employee> employeeAt) {
+        logger.info("Analyzing reporting lines for {} employees", size);
         
-        while (current.getManagerId() != null) {
-            Employee manager = employeeMap.get(current.getManagerId());
-            if (manager == null) {
-                logger.warn("Manager with ID {} not found for employee {}", current.getManagerId(), current.getId());
-                break;
+        // Cycles and orphans are reported once here rather than once per affected employee
+        OrgStructureValidator.logProblems(size, managerIndexOf, isCEO, employeeAt);
+        int[] depths = ReportingDepths.compute(size, managerIndexOf);
+        
+        List<ReportingLineAnalysisResult> results = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (isCEO.test(i)) {
+                continue;
             }
             
-            reportingChain.add(manager);
-            current = manager;
+            int reportingLineLength = depths[i];
+            if (reportingLineLength == ReportingDepths.CIRCULAR) {
+                reportingLineLength = CIRCULAR_CHAIN_LENGTH;
+            }
             
-            // Prevent infinite loops in case of circular references
-            if (reportingChain.size() > 100) {
-                logger.error("Potential circular reference detected in reporting chain for employee {}", employee.getId());
-                break;
+            if (reportingLineLength > AnalysisConfig.MAXIMUM_REPORTING_LINE_LENGTH) {
+                List<Employee> reportingChain = buildReportingChain(i, reportingLineLength, managerIndexOf, employeeAt);
+                results.add(new ReportingLineAnalysisResult(employeeAt.apply(i), reportingChain, reportingLineLength));
             }
         }
         
+        logger.info("Found {} employees with reporting lines too long", results.size());
+        return results;
+    }
+    
+    static List<Employee> buildReportingChain(int employeeIndex, int length,
+                                                      IntUnaryOperator managerIndexOf, IntFunction<Employee> employeeAt) {
+        List<Employee> reportingChain = new ArrayList<>(length);
+        int current = managerIndexOf.applyAsInt(employeeIndex);
+        for (int i = 0; i < length; i++) {
+            reportingChain.add(employeeAt.apply(current));
+            current = managerIndexOf.applyAsInt(current);
+        }
         return reportingChain;
     }
 }
@@ -1,7 +1,7 @@
 package com.swissre.employee.service.impl;
 
-import com.swissre.employee.config.AnalysisConfig;
 import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeTable;
 import com.swissre.employee.model.SalaryAnalysisResult;
 import com.swissre.employee.service.SalaryAnalysisService;
 import org.slf4j.Logger;
@@ -10,8 +10,12 @@ import org.slf4j.LoggerFactory;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -21,10 +25,50 @@ import java.util.stream.Collectors;
 public class DefaultSalaryAnalysisService implements SalaryAnalysisService {
     private static final Logger logger = LoggerFactory.getLogger(DefaultSalaryAnalysisService.class);
     
+    // Below this many employees the fork-join overhead outweighs the gain
+    static final int DEFAULT_PARALLEL_THRESHOLD = 50_000;
+    
+    static final Comparator<SalaryAnalysisResult> BY_MANAGER_ID = Comparator.comparingInt(result -> result.getManager().getId());
+    
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    
+    public DefaultSalaryAnalysisService() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+    
+    /**
+     * @param pool the pool that analyzes manager groups of large inputs in parallel
+     * @param parallelThreshold minimum number of employees for which the parallel mode is used
+     */
+    public DefaultSalaryAnalysisService(ForkJoinPool pool, int parallelThreshold) {
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Large inputs are grouped and analyzed in parallel on the configured pool.
+     * Results are always ordered by manager id, so output is identical in both modes.
+     */
     @Override
     public List<SalaryAnalysisResult> analyzeSalaryDiscrepancies(List<Employee> employees) {
         logger.info("Analyzing salary discrepancies for {} employees", employees.size());
         
+        List<SalaryAnalysisResult> results;
+        if (employees.size() >= parallelThreshold && pool.getParallelism() > 1) {
+            results = pool.submit(() -> analyzeInParallel(employees)).join();
+        } else {
+            results = analyzeSequentially(employees);
+        }
+        results.sort(BY_MANAGER_ID);
+        
+        logger.info("Found {} salary discrepancies", results.size());
+        return results;
+    }
+    
+    private List<SalaryAnalysisResult> analyzeSequentially(List<Employee> employees) {
         List<SalaryAnalysisResult> results = new ArrayList<>();
         
         // Group employees by manager
@@ -42,56 +86,96 @@ public class DefaultSalaryAnalysisService implements SalaryAnalysisService {
             
             Employee manager = employeeMap.get(managerId);
             if (manager != null) {
-                SalaryAnalysisResult result = analyzeManagerSalary(manager, subordinates);
+                SalaryAnalysisResult result = SalaryBandEvaluator.evaluate(manager, subordinates);
                 if (result != null) {
                     results.add(result);
                 }
             }
         }
         
-        logger.info("Found {} salary discrepancies", results.size());
         return results;
     }
     
-    private SalaryAnalysisResult analyzeManagerSalary(Employee manager, List<Employee> subordinates) {
-        BigDecimal averageSubordinateSalary = calculateAverageSubordinateSalary(subordinates);
-        BigDecimal minimumExpectedSalary = AnalysisConfig.getMinimumExpectedSalary(averageSubordinateSalary);
-        BigDecimal maximumExpectedSalary = AnalysisConfig.getMaximumExpectedSalary(averageSubordinateSalary);
+    private List<SalaryAnalysisResult> analyzeInParallel(List<Employee> employees) {
+        ConcurrentMap<Integer, List<Employee>> subordinatesByManager = employees.parallelStream()
+                .filter(emp -> emp.getManagerId() != null)
+                .collect(Collectors.groupingByConcurrent(Employee::getManagerId));
+        
+        ConcurrentMap<Integer, Employee> employeeMap = employees.parallelStream()
+                .collect(Collectors.toConcurrentMap(Employee::getId, emp -> emp));
+        
+        return subordinatesByManager.entrySet().parallelStream()
+                .map(entry -> {
+                    Employee manager = employeeMap.get(entry.getKey());
+                    return manager == null ? null : SalaryBandEvaluator.evaluate(manager, entry.getValue());
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+    
+    /**
+     * Analyzes salary discrepancies directly on a columnar table.
+     * Subordinate salaries are summed in minor units in a single scan; employee objects
+     * are only materialized for managers.
+     *
+     * @param table the organization in columnar form
+     * @return list of managers with salary issues, ordered by manager id like the list overload
+     */
+    public List<SalaryAnalysisResult> analyzeSalaryDiscrepancies(EmployeeTable table) {
+        logger.info("Analyzing salary discrepancies for {} employees", table.size());
         
-        BigDecimal managerSalary = manager.getSalary();
+        int size = table.size();
+        long[] subordinateSalaryTotals = new long[size];
+        int[] subordinateCounts = new int[size];
         
-        if (managerSalary.compareTo(minimumExpectedSalary) < 0) {
-            // Manager is underpaid
-            BigDecimal salaryGap = minimumExpectedSalary.subtract(managerSalary);
-            return new SalaryAnalysisResult(
-                    manager, 
-                    averageSubordinateSalary, 
-                    minimumExpectedSalary, 
-                    maximumExpectedSalary,
-                    SalaryAnalysisResult.SalaryIssueType.UNDERPAID, 
-                    salaryGap
-            );
-        } else if (managerSalary.compareTo(maximumExpectedSalary) > 0) {
-            // Manager is overpaid
-            BigDecimal salaryGap = managerSalary.subtract(maximumExpectedSalary);
-            return new SalaryAnalysisResult(
-                    manager, 
-                    averageSubordinateSalary, 
-                    minimumExpectedSalary, 
-                    maximumExpectedSalary,
-                    SalaryAnalysisResult.SalaryIssueType.OVERPAID, 
-                    salaryGap
-            );
+        for (int i = 0; i < size; i++) {
+            int managerIndex = table.getManagerIndex(i);
+            if (managerIndex != EmployeeTable.NO_MANAGER) {
+                subordinateSalaryTotals[managerIndex] = FixedPointSalaryMath.add(subordinateSalaryTotals[managerIndex], table.getSalaryMinorUnits(i));
+                subordinateCounts[managerIndex]++;
+            }
         }
         
-        return null; // No salary issue
+        BigDecimal[] exactSubordinateTotals = exactSubordinateTotals(table, subordinateSalaryTotals);
+        
+        List<SalaryAnalysisResult> results = new ArrayList<>();
+        for (int managerIndex = 0; managerIndex < size; managerIndex++) {
+            if (subordinateCounts[managerIndex] > 0) {
+                SalaryAnalysisResult result = subordinateSalaryTotals[managerIndex] == FixedPointSalaryMath.NOT_REPRESENTABLE
+                        ? SalaryBandEvaluator.evaluate(table.toEmployee(managerIndex), exactSubordinateTotals[managerIndex]
+                                .divide(BigDecimal.valueOf(subordinateCounts[managerIndex]), 2, RoundingMode.HALF_UP))
+                        : SalaryBandEvaluator.evaluate(table::toEmployee, managerIndex, table.getSalaryMinorUnits(managerIndex),
+                                subordinateSalaryTotals[managerIndex], subordinateCounts[managerIndex]);
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+        }
+        results.sort(BY_MANAGER_ID);
+        
+        logger.info("Found {} salary discrepancies", results.size());
+        return results;
     }
     
-    private BigDecimal calculateAverageSubordinateSalary(List<Employee> subordinates) {
-        BigDecimal totalSalary = subordinates.stream()
-                .map(Employee::getSalary)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        return totalSalary.divide(BigDecimal.valueOf(subordinates.size()), 2, RoundingMode.HALF_UP);
+    /**
+     * Sums subordinate salaries exactly, in one more scan, for the managers whose minor-unit
+     * total is not representable.
+     *
+     * @return exact totals indexed by manager row, set only for those managers, or {@code null} if there are none
+     */
+    private static BigDecimal[] exactSubordinateTotals(EmployeeTable table, long[] subordinateSalaryTotals) {
+        BigDecimal[] exactTotals = null;
+        for (int i = 0; i < table.size(); i++) {
+            int managerIndex = table.getManagerIndex(i);
+            if (managerIndex != EmployeeTable.NO_MANAGER
+                    && subordinateSalaryTotals[managerIndex] == FixedPointSalaryMath.NOT_REPRESENTABLE) {
+                if (exactTotals == null) {
+                    exactTotals = new BigDecimal[table.size()];
+                }
+                BigDecimal total = exactTotals[managerIndex];
+                exactTotals[managerIndex] = total == null ? table.getSalary(i) : total.add(table.getSalary(i));
+            }
+        }
+        return exactTotals;
     }
 }
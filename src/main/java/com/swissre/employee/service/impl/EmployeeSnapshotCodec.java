@@ -0,0 +1,288 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads and writes the binary employee snapshot format.
+ * <p>
+ * Layout (big-endian): header (magic, version, source size, source mtime, source hash,
+ * employee count, name count), the name dictionary as length-prefixed UTF-8, then one
+ * column each for ids, manager ids, first name codes, last name codes, unscaled salaries
+ * and salary scales.
+ */
+final class EmployeeSnapshotCodec {
+    static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private static final int MAGIC = 0x454D5053; // "EMPS"
+    private static final int VERSION = 1;
+    private static final int NO_MANAGER_ID = Integer.MIN_VALUE;
+    private static final long MAX_SNAPSHOT_SIZE = Integer.MAX_VALUE;
+    private static final long HASH_REGION_SIZE = 1L << 30;
+
+    private EmployeeSnapshotCodec() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Identifies the CSV content a snapshot was built from.
+     */
+    static final class SourceKey {
+        private final long size;
+        private final long lastModified;
+        private final long contentHash;
+
+        SourceKey(long size, long lastModified, long contentHash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+        }
+
+        /**
+         * Computes the key of a source file, hashing its content through a memory mapping.
+         */
+        static SourceKey of(Path source) throws IOException {
+            long lastModified = Files.getLastModifiedTime(source).toMillis();
+            try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+                long size = channel.size();
+                CRC32C crc = new CRC32C();
+                for (long position = 0; position < size; position += HASH_REGION_SIZE) {
+                    crc.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(HASH_REGION_SIZE, size - position)));
+                }
+                return new SourceKey(size, lastModified, crc.getValue());
+            }
+        }
+
+        boolean matches(long size, long lastModified, long contentHash) {
+            return this.size == size && this.lastModified == lastModified && this.contentHash == contentHash;
+        }
+    }
+
+    /**
+     * Writes a snapshot atomically (via a temporary file in the same directory).
+     *
+     * @return {@code false} if the employees cannot be represented in the snapshot format
+     */
+    static boolean write(Path snapshot, SourceKey key, List<Employee> employees) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<byte[]> names = new ArrayList<>();
+        int count = employees.size();
+        int[] firstNameCodes = new int[count];
+        int[] lastNameCodes = new int[count];
+        long[] unscaledSalaries = new long[count];
+        byte[] salaryScales = new byte[count];
+        long namesSize = 0;
+
+        for (int i = 0; i < count; i++) {
+            Employee employee = employees.get(i);
+            BigDecimal salary = employee.getSalary();
+            if (salary.unscaledValue().bitLength() > 63 || salary.scale() < Byte.MIN_VALUE || salary.scale() > Byte.MAX_VALUE) {
+                return false;
+            }
+            unscaledSalaries[i] = salary.unscaledValue().longValue();
+            salaryScales[i] = (byte) salary.scale();
+            firstNameCodes[i] = encode(employee.getFirstName(), dictionary, names);
+            lastNameCodes[i] = encode(employee.getLastName(), dictionary, names);
+        }
+        for (byte[] name : names) {
+            namesSize += Integer.BYTES + name.length;
+        }
+        long snapshotSize = 4 * Integer.BYTES + 3 * Long.BYTES + namesSize + count * (4L * Integer.BYTES + Long.BYTES + 1);
+        if (snapshotSize > MAX_SNAPSHOT_SIZE) {
+            return false;
+        }
+
+        Path temporary = Files.createTempFile(snapshot.toAbsolutePath().getParent(), snapshot.getFileName().toString(), TEMPORARY_SUFFIX);
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(key.size);
+                out.writeLong(key.lastModified);
+                out.writeLong(key.contentHash);
+                out.writeInt(count);
+                out.writeInt(names.size());
+                for (byte[] name : names) {
+                    out.writeInt(name.length);
+                    out.write(name);
+                }
+                for (Employee employee : employees) {
+                    out.writeInt(employee.getId());
+                }
+                for (Employee employee : employees) {
+                    out.writeInt(employee.isCEO() ? NO_MANAGER_ID : employee.getManagerId());
+                }
+                for (int code : firstNameCodes) {
+                    out.writeInt(code);
+                }
+                for (int code : lastNameCodes) {
+                    out.writeInt(code);
+                }
+                for (long salary : unscaledSalaries) {
+                    out.writeLong(salary);
+                }
+                out.write(salaryScales);
+            }
+            Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Maps a snapshot and validates it completely, including every count, name code and salary,
+     * so that streaming it afterwards cannot fail part way through.
+     *
+     * @return the validated snapshot, or {@code null} if the snapshot is missing, truncated,
+     *         corrupt or was built from different content
+     */
+    static Snapshot open(Path snapshot, SourceKey key) throws IOException {
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() > MAX_SNAPSHOT_SIZE || channel.size() < 4 * Integer.BYTES + 3 * Long.BYTES) {
+                return null;
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION
+                || !key.matches(buffer.getLong(), buffer.getLong(), buffer.getLong())) {
+            return null;
+        }
+
+        int count = buffer.getInt();
+        int nameCount = buffer.getInt();
+        if (count < 0 || nameCount < 0 || nameCount > buffer.remaining() / Integer.BYTES) {
+            return null;
+        }
+        String[] names = new String[nameCount];
+        for (int i = 0; i < names.length; i++) {
+            if (buffer.remaining() < Integer.BYTES) {
+                return null;
+            }
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            names[i] = new String(bytes, StandardCharsets.UTF_8);
+            if (names[i].trim().isEmpty()) {
+                return null;
+            }
+        }
+
+        long columnsSize = count * (4L * Integer.BYTES + Long.BYTES + 1);
+        if (buffer.position() + columnsSize != buffer.limit()) {
+            return null;
+        }
+        Snapshot opened = new Snapshot(buffer, names, count);
+        return opened.isValid() ? opened : null;
+    }
+
+    /**
+     * A mapped snapshot whose content has been validated; employees are created on demand.
+     */
+    static final class Snapshot {
+        private final MappedByteBuffer buffer;
+        private final String[] names;
+        private final int count;
+        private final int idsOffset;
+        private final int managerIdsOffset;
+        private final int firstNamesOffset;
+        private final int lastNamesOffset;
+        private final int salariesOffset;
+        private final int scalesOffset;
+
+        private Snapshot(MappedByteBuffer buffer, String[] names, int count) {
+            this.buffer = buffer;
+            this.names = names;
+            this.count = count;
+            idsOffset = buffer.position();
+            managerIdsOffset = idsOffset + count * Integer.BYTES;
+            firstNamesOffset = managerIdsOffset + count * Integer.BYTES;
+            lastNamesOffset = firstNamesOffset + count * Integer.BYTES;
+            salariesOffset = lastNamesOffset + count * Integer.BYTES;
+            scalesOffset = salariesOffset + count * Long.BYTES;
+        }
+
+        int size() {
+            return count;
+        }
+
+        /**
+         * Passes every employee to the action in original order without materializing the list.
+         */
+        void forEach(Consumer<? super Employee> action) {
+            for (int i = 0; i < count; i++) {
+                action.accept(employee(i));
+            }
+        }
+
+        List<Employee> toList() {
+            List<Employee> employees = new ArrayList<>(count);
+            forEach(employees::add);
+            return employees;
+        }
+
+        private boolean isValid() {
+            for (int i = 0; i < count; i++) {
+                int managerId = buffer.getInt(managerIdsOffset + i * Integer.BYTES);
+                if (buffer.getInt(idsOffset + i * Integer.BYTES) <= 0
+                        || managerId != NO_MANAGER_ID && managerId <= 0
+                        || !isNameCode(buffer.getInt(firstNamesOffset + i * Integer.BYTES))
+                        || !isNameCode(buffer.getInt(lastNamesOffset + i * Integer.BYTES))
+                        || buffer.getLong(salariesOffset + i * Long.BYTES) <= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isNameCode(int code) {
+            return code >= 0 && code < names.length;
+        }
+
+        private Employee employee(int i) {
+            int managerId = buffer.getInt(managerIdsOffset + i * Integer.BYTES);
+            return new Employee(
+                    buffer.getInt(idsOffset + i * Integer.BYTES),
+                    names[buffer.getInt(firstNamesOffset + i * Integer.BYTES)],
+                    names[buffer.getInt(lastNamesOffset + i * Integer.BYTES)],
+                    BigDecimal.valueOf(buffer.getLong(salariesOffset + i * Long.BYTES), buffer.get(scalesOffset + i)),
+                    managerId == NO_MANAGER_ID ? null : managerId);
+        }
+    }
+
+    private static int encode(String name, Map<String, Integer> dictionary, List<byte[]> names) {
+        Integer code = dictionary.get(name);
+        if (code == null) {
+            code = names.size();
+            dictionary.put(name, code);
+            names.add(name.getBytes(StandardCharsets.UTF_8));
+        }
+        return code;
+    }
+}
@@ -0,0 +1,118 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.config.AnalysisConfig;
+
+import java.math.BigDecimal;
+
+/**
+ * Fixed-point salary arithmetic in {@code long} minor units (hundredths).
+ * Every operation rounds HALF_UP exactly like the {@link BigDecimal} computations in
+ * {@link AnalysisConfig} and {@link DefaultSalaryAnalysisService}, and returns
+ * {@link #NOT_REPRESENTABLE} instead of overflowing so callers can fall back to BigDecimal.
+ */
+final class FixedPointSalaryMath {
+    /** Marker for values that cannot be computed exactly in minor units. */
+    static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+    /** Decimal places of a minor-unit value. */
+    static final int SCALE = 2;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L
+    };
+    private static final int MAX_EXACT_PRECISION = 16;
+
+    private FixedPointSalaryMath() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Converts an amount to minor units.
+     *
+     * @return the amount in hundredths, or {@link #NOT_REPRESENTABLE}
+     */
+    static long toMinorUnits(BigDecimal amount) {
+        int scale = amount.scale();
+        if (scale < 0 || scale > SCALE || amount.precision() > MAX_EXACT_PRECISION) {
+            return NOT_REPRESENTABLE;
+        }
+        long unscaled = (scale == 0 ? amount : amount.movePointRight(scale)).longValue();
+        return unscaled * POWERS_OF_TEN[SCALE - scale];
+    }
+
+    static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * Adds two minor-unit amounts.
+     *
+     * @return the sum, or {@link #NOT_REPRESENTABLE} on overflow or if either operand is not representable
+     */
+    static long add(long left, long right) {
+        if (left == NOT_REPRESENTABLE || right == NOT_REPRESENTABLE) {
+            return NOT_REPRESENTABLE;
+        }
+        long sum = left + right;
+        // Overflow iff both operands have the sign opposite to the result
+        if (((left ^ sum) & (right ^ sum)) < 0 || sum == NOT_REPRESENTABLE) {
+            return NOT_REPRESENTABLE;
+        }
+        return sum;
+    }
+
+    /**
+     * Averages a non-negative total, rounded HALF_UP to minor units.
+     */
+    static long average(long total, int count) {
+        if (total == NOT_REPRESENTABLE || total < 0 || count <= 0) {
+            return NOT_REPRESENTABLE;
+        }
+        return divideHalfUp(total, count);
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        return remainder >= divisor - remainder ? quotient + 1 : quotient;
+    }
+
+    /**
+     * A multiplier such as 1.20 kept as an unscaled long and a power-of-ten scale.
+     */
+    static final class Factor {
+        private final long unscaled;
+        private final long divisor;
+
+        private Factor(long unscaled, long divisor) {
+            this.unscaled = unscaled;
+            this.divisor = divisor;
+        }
+
+        /**
+         * @return the factor, or {@code null} if it cannot be applied in long arithmetic
+         */
+        static Factor of(BigDecimal factor) {
+            BigDecimal normalized = factor.scale() < 0 ? factor.setScale(0) : factor;
+            if (normalized.scale() >= POWERS_OF_TEN.length || normalized.signum() < 0
+                    || normalized.unscaledValue().bitLength() > 31) {
+                return null;
+            }
+            return new Factor(normalized.unscaledValue().longValue(), POWERS_OF_TEN[normalized.scale()]);
+        }
+
+        /**
+         * @return the amount multiplied by the factor, rounded HALF_UP to minor units, or {@link #NOT_REPRESENTABLE}
+         */
+        long apply(long amount) {
+            if (amount == NOT_REPRESENTABLE || amount < 0) {
+                return NOT_REPRESENTABLE;
+            }
+            long high = Math.multiplyHigh(amount, unscaled);
+            long product = amount * unscaled;
+            if (high != 0 || product < 0) {
+                return NOT_REPRESENTABLE;
+            }
+            return divideHalfUp(product, divisor);
+        }
+    }
+}
@@ -0,0 +1,411 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.config.AnalysisConfig;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeChange;
+import com.swissre.employee.model.OrgAnalysisDiff;
+import com.swissre.employee.model.OrgAnalysisResult;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Keeps an organization and its analysis results in memory and updates them from
+ * {@link EmployeeChange}s instead of re-running the full analysis.
+ * <p>
+ * A change only re-evaluates the salary band of the managers whose own salary or direct
+ * reports changed, and only recomputes reporting line lengths within the subtree of the
+ * changed employee. Results match {@link OrgAnalysisEngine} run over {@link #getEmployees()},
+ * except that reporting line issues are ordered by employee id.
+ * <p>
+ * Not thread-safe.
+ */
+public class IncrementalOrgAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalOrgAnalyzer.class);
+
+    private final Map<Integer, Employee> employees = new LinkedHashMap<>();
+    // Keyed by manager id, including managers that are not (or no longer) part of the organization
+    private final Map<Integer, Set<Integer>> directReports = new HashMap<>();
+    private final Map<Integer, Integer> depths = new HashMap<>();
+    private final TreeMap<Integer, SalaryAnalysisResult> salaryIssues = new TreeMap<>();
+    private final TreeMap<Integer, Integer> longReportingLines = new TreeMap<>();
+
+    /**
+     * Analyzes the initial organization.
+     *
+     * @param employees all employees of the organization
+     * @throws IllegalStateException if two employees share an id
+     */
+    public IncrementalOrgAnalyzer(List<Employee> employees) {
+        logger.info("Building incremental analysis state for {} employees", employees.size());
+        OrgIndex index = OrgIndex.build(employees);
+        int[] initialDepths = ReportingDepths.compute(index.size(), index::getManagerIndex);
+
+        for (int i = 0; i < index.size(); i++) {
+            Employee employee = index.getEmployee(i);
+            this.employees.put(employee.getId(), employee);
+            if (!employee.isCEO()) {
+                addDirectReport(employee.getManagerId(), employee.getId());
+            }
+            depths.put(employee.getId(), initialDepths[i]);
+            updateReportingLine(employee, initialDepths[i]);
+        }
+        for (int i = 0; i < index.size(); i++) {
+            if (index.getChildCount(i) > 0) {
+                evaluateSalary(index.getEmployee(i).getId());
+            }
+        }
+    }
+
+    /**
+     * Applies a single change.
+     *
+     * @param change the change
+     * @return the analysis results that were added, resolved or updated by the change
+     * @throws IllegalStateException if a hire reuses an existing employee id
+     * @throws IllegalArgumentException if the change refers to an unknown employee
+     */
+    public OrgAnalysisDiff apply(EmployeeChange change) {
+        return applyAll(Collections.singletonList(change));
+    }
+
+    /**
+     * Applies changes in order and reports their combined effect.
+     * If a change is rejected, the changes before it remain applied.
+     *
+     * @param changes the changes
+     * @return the analysis results that differ between before the first and after the last change
+     * @throws IllegalStateException if a hire reuses an existing employee id
+     * @throws IllegalArgumentException if a change refers to an unknown employee
+     */
+    public OrgAnalysisDiff applyAll(List<EmployeeChange> changes) {
+        Changes recorded = new Changes();
+        for (EmployeeChange change : changes) {
+            switch (change.getType()) {
+                case HIRE:
+                    hire(change.getEmployee(), recorded);
+                    break;
+                case TERMINATE:
+                    terminate(require(change.getEmployeeId()), recorded);
+                    break;
+                case SALARY_CHANGE:
+                    changeSalary(require(change.getEmployeeId()), change, recorded);
+                    break;
+                case MANAGER_CHANGE:
+                    changeManager(require(change.getEmployeeId()), change.getManagerId(), recorded);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported change type: " + change.getType());
+            }
+        }
+        OrgAnalysisDiff diff = recorded.toDiff();
+        logger.info("Applied {} changes, {} salary and {} reporting line issues affected", changes.size(),
+                diff.getAddedSalaryIssues().size() + diff.getResolvedSalaryIssues().size() + diff.getUpdatedSalaryIssues().size(),
+                diff.getAddedReportingLineIssues().size() + diff.getResolvedReportingLineIssues().size()
+                        + diff.getUpdatedReportingLineIssues().size());
+        return diff;
+    }
+
+    /**
+     * @return the current employees, initial employees first and hires in the order they were applied
+     */
+    public List<Employee> getEmployees() {
+        return new ArrayList<>(employees.values());
+    }
+
+    /**
+     * @return the current salary issues (ordered by manager id) and reporting line issues (ordered by employee id)
+     */
+    public OrgAnalysisResult getResult() {
+        List<ReportingLineAnalysisResult> reportingLineIssues = new ArrayList<>(longReportingLines.size());
+        for (Map.Entry<Integer, Integer> entry : longReportingLines.entrySet()) {
+            reportingLineIssues.add(materializeReportingLine(entry.getKey(), entry.getValue()));
+        }
+        return new OrgAnalysisResult(new ArrayList<>(salaryIssues.values()), reportingLineIssues);
+    }
+
+    private void hire(Employee employee, Changes recorded) {
+        int id = employee.getId();
+        if (employees.containsKey(id)) {
+            throw new IllegalStateException("Duplicate employee ID: " + id);
+        }
+        // Employees already naming this id as their manager are attached to the new hire
+        recorded.recordSubtree(id);
+        recorded.recordSalary(id);
+        recorded.recordSalary(employee.getManagerId());
+
+        employees.put(id, employee);
+        if (!employee.isCEO()) {
+            addDirectReport(employee.getManagerId(), id);
+        }
+        evaluateSalary(id);
+        evaluateSalary(employee.getManagerId());
+        recomputeSubtree(id);
+    }
+
+    private void terminate(Employee employee, Changes recorded) {
+        int id = employee.getId();
+        recorded.recordSubtree(id);
+        recorded.recordSalary(id);
+        recorded.recordSalary(employee.getManagerId());
+
+        employees.remove(id);
+        depths.remove(id);
+        longReportingLines.remove(id);
+        salaryIssues.remove(id);
+        if (!employee.isCEO()) {
+            removeDirectReport(employee.getManagerId(), id);
+            evaluateSalary(employee.getManagerId());
+        }
+        // Direct reports keep pointing at the terminated manager, so they now top their own trees
+        for (int report : directReports.getOrDefault(id, Collections.emptySet())) {
+            recomputeSubtree(report);
+        }
+    }
+
+    private void changeSalary(Employee employee, EmployeeChange change, Changes recorded) {
+        recorded.recordSalary(employee.getId());
+        recorded.recordSalary(employee.getManagerId());
+
+        employees.put(employee.getId(), new Employee(employee.getId(), employee.getFirstName(),
+                employee.getLastName(), change.getSalary(), employee.getManagerId()));
+        evaluateSalary(employee.getId());
+        evaluateSalary(employee.getManagerId());
+    }
+
+    private void changeManager(Employee employee, Integer managerId, Changes recorded) {
+        int id = employee.getId();
+        recorded.recordSubtree(id);
+        recorded.recordSalary(id);
+        recorded.recordSalary(employee.getManagerId());
+        recorded.recordSalary(managerId);
+
+        if (!employee.isCEO()) {
+            removeDirectReport(employee.getManagerId(), id);
+        }
+        if (managerId != null) {
+            addDirectReport(managerId, id);
+        }
+        employees.put(id, new Employee(id, employee.getFirstName(), employee.getLastName(),
+                employee.getSalary(), managerId));
+        // The employee's own result is re-evaluated too, so it refers to the updated employee
+        evaluateSalary(id);
+        evaluateSalary(employee.getManagerId());
+        evaluateSalary(managerId);
+        recomputeSubtree(id);
+    }
+
+    private Employee require(int id) {
+        Employee employee = employees.get(id);
+        if (employee == null) {
+            throw new IllegalArgumentException("Unknown employee ID: " + id);
+        }
+        return employee;
+    }
+
+    private void addDirectReport(int managerId, int id) {
+        directReports.computeIfAbsent(managerId, key -> new LinkedHashSet<>()).add(id);
+    }
+
+    private void removeDirectReport(int managerId, int id) {
+        Set<Integer> reports = directReports.get(managerId);
+        if (reports != null) {
+            reports.remove(id);
+            if (reports.isEmpty()) {
+                directReports.remove(managerId);
+            }
+        }
+    }
+
+    /**
+     * Re-evaluates the salary band of a manager from its current direct reports.
+     */
+    private void evaluateSalary(Integer managerId) {
+        if (managerId == null) {
+            return;
+        }
+        Employee manager = employees.get(managerId);
+        Set<Integer> reports = directReports.get(managerId);
+        SalaryAnalysisResult result = null;
+        if (manager != null && reports != null) {
+            List<Employee> subordinates = new ArrayList<>(reports.size());
+            for (int report : reports) {
+                subordinates.add(employees.get(report));
+            }
+            result = SalaryBandEvaluator.evaluate(manager, subordinates);
+        }
+        if (result == null) {
+            salaryIssues.remove(managerId);
+        } else {
+            salaryIssues.put(managerId, result);
+        }
+    }
+
+    /**
+     * Recomputes reporting line lengths of an employee and everyone below it. Depths outside
+     * the subtree are unaffected by a change at its root, so they are used as they are.
+     */
+    private void recomputeSubtree(int rootId) {
+        int rootDepth = depthBelowManager(rootId);
+        Set<Integer> visited = new HashSet<>();
+        Deque<Integer> pending = new ArrayDeque<>();
+        visited.add(rootId);
+        pending.push(rootId);
+        depths.put(rootId, rootDepth);
+        while (!pending.isEmpty()) {
+            int id = pending.pop();
+            int depth = depths.get(id);
+            updateReportingLine(employees.get(id), depth);
+            for (int report : directReports.getOrDefault(id, Collections.emptySet())) {
+                if (visited.add(report)) {
+                    depths.put(report, depth == ReportingDepths.CIRCULAR ? ReportingDepths.CIRCULAR : depth + 1);
+                    pending.push(report);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the depth of an employee given its manager's current depth, or
+     *         {@link ReportingDepths#CIRCULAR} if the manager chain loops
+     */
+    private int depthBelowManager(int id) {
+        Integer managerId = employees.get(id).getManagerId();
+        if (managerId == null || !employees.containsKey(managerId)) {
+            return 0;
+        }
+        // Walk up to make sure the employee is not its own (indirect) manager; a cycle that does
+        // not contain the employee is already marked on the managers above it
+        int current = managerId;
+        while (true) {
+            if (current == id || depths.get(current) == ReportingDepths.CIRCULAR) {
+                return ReportingDepths.CIRCULAR;
+            }
+            Integer next = employees.get(current).getManagerId();
+            if (next == null || !employees.containsKey(next)) {
+                break;
+            }
+            current = next;
+        }
+        return depths.get(managerId) + 1;
+    }
+
+    private void updateReportingLine(Employee employee, int depth) {
+        int reportingLineLength = depth == ReportingDepths.CIRCULAR
+                ? DefaultReportingLineAnalysisService.CIRCULAR_CHAIN_LENGTH : depth;
+        if (!employee.isCEO() && reportingLineLength > AnalysisConfig.MAXIMUM_REPORTING_LINE_LENGTH) {
+            longReportingLines.put(employee.getId(), reportingLineLength);
+        } else {
+            longReportingLines.remove(employee.getId());
+        }
+    }
+
+    private ReportingLineAnalysisResult materializeReportingLine(int id, int length) {
+        Employee employee = employees.get(id);
+        List<Employee> reportingChain = new ArrayList<>(length);
+        Employee current = employee;
+        for (int i = 0; i < length; i++) {
+            current = employees.get(current.getManagerId());
+            reportingChain.add(current);
+        }
+        return new ReportingLineAnalysisResult(employee, reportingChain, length);
+    }
+
+    /**
+     * Remembers the results of every touched employee as they were before the first change,
+     * so the combined effect of several changes can be reported.
+     */
+    private final class Changes {
+        private final Map<Integer, SalaryAnalysisResult> salaryBefore = new TreeMap<>();
+        private final Map<Integer, ReportingLineAnalysisResult> reportingLinesBefore = new TreeMap<>();
+
+        void recordSalary(Integer managerId) {
+            if (managerId != null && !salaryBefore.containsKey(managerId)) {
+                salaryBefore.put(managerId, salaryIssues.get(managerId));
+            }
+        }
+
+        void recordSubtree(int rootId) {
+            Set<Integer> visited = new HashSet<>();
+            Deque<Integer> pending = new ArrayDeque<>();
+            visited.add(rootId);
+            pending.push(rootId);
+            while (!pending.isEmpty()) {
+                int id = pending.pop();
+                if (!reportingLinesBefore.containsKey(id)) {
+                    Integer length = longReportingLines.get(id);
+                    reportingLinesBefore.put(id, length == null ? null : materializeReportingLine(id, length));
+                }
+                for (int report : directReports.getOrDefault(id, Collections.emptySet())) {
+                    if (visited.add(report)) {
+                        pending.push(report);
+                    }
+                }
+            }
+        }
+
+        OrgAnalysisDiff toDiff() {
+            List<SalaryAnalysisResult> addedSalaryIssues = new ArrayList<>();
+            List<SalaryAnalysisResult> resolvedSalaryIssues = new ArrayList<>();
+            List<SalaryAnalysisResult> updatedSalaryIssues = new ArrayList<>();
+            for (Map.Entry<Integer, SalaryAnalysisResult> entry : salaryBefore.entrySet()) {
+                SalaryAnalysisResult before = entry.getValue();
+                SalaryAnalysisResult after = salaryIssues.get(entry.getKey());
+                if (before == null && after != null) {
+                    addedSalaryIssues.add(after);
+                } else if (before != null && after == null) {
+                    resolvedSalaryIssues.add(before);
+                } else if (before != null && !sameSalaryIssue(before, after)) {
+                    updatedSalaryIssues.add(after);
+                }
+            }
+
+            List<ReportingLineAnalysisResult> addedReportingLineIssues = new ArrayList<>();
+            List<ReportingLineAnalysisResult> resolvedReportingLineIssues = new ArrayList<>();
+            List<ReportingLineAnalysisResult> updatedReportingLineIssues = new ArrayList<>();
+            for (Map.Entry<Integer, ReportingLineAnalysisResult> entry : reportingLinesBefore.entrySet()) {
+                ReportingLineAnalysisResult before = entry.getValue();
+                Integer length = longReportingLines.get(entry.getKey());
+                ReportingLineAnalysisResult after = length == null ? null : materializeReportingLine(entry.getKey(), length);
+                if (before == null && after != null) {
+                    addedReportingLineIssues.add(after);
+                } else if (before != null && after == null) {
+                    resolvedReportingLineIssues.add(before);
+                } else if (before != null && !sameReportingLine(before, after)) {
+                    updatedReportingLineIssues.add(after);
+                }
+            }
+
+            return new OrgAnalysisDiff(addedSalaryIssues, resolvedSalaryIssues, updatedSalaryIssues,
+                    addedReportingLineIssues, resolvedReportingLineIssues, updatedReportingLineIssues);
+        }
+
+        private boolean sameSalaryIssue(SalaryAnalysisResult before, SalaryAnalysisResult after) {
+            return before.getIssueType() == after.getIssueType()
+                    && before.getSalaryGap().compareTo(after.getSalaryGap()) == 0
+                    && before.getAverageSubordinateSalary().compareTo(after.getAverageSubordinateSalary()) == 0;
+        }
+
+        private boolean sameReportingLine(ReportingLineAnalysisResult before, ReportingLineAnalysisResult after) {
+            // Employee equality is by id, so this compares who is in the chain
+            return before.getReportingLineLength() == after.getReportingLineLength()
+                    && Objects.equals(before.getReportingChain(), after.getReportingChain());
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.swissre.employee.service.impl;
+
+import com.opencsv.CSVParser;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.service.EmployeeDataException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Zero-copy parser for employee CSV data held in a (memory-mapped) byte buffer.
+ * Fields are located directly in the bytes and numeric columns are decoded without
+ * creating intermediate Strings; names go through a {@link NameDictionary}, so repeated names
+ * share one String. Lines containing quotes or escapes are handed to
+ * OpenCSV's {@link CSVParser}, which also carries multi-line quoted records across calls.
+ * <p>
+ * Instances are stateful (header detection, pending quoted records) and not thread-safe.
+ */
+final class MappedCsvEmployeeParser {
+    private static final int MAX_FAST_DECIMAL_DIGITS = 18;
+
+    private final CSVParser fallbackParser = new CSVParser();
+    private final int[] commas = new int[4];
+    private final NameDictionary names;
+    private final boolean fallbackEnabled;
+    private String[] pendingFields;
+    private boolean firstRecord;
+    private boolean fallbackRequired;
+    private long recordCount;
+
+    /**
+     * Creates a parser.
+     *
+     * @param detectHeader whether the first record should be skipped if it looks like a header
+     */
+    MappedCsvEmployeeParser(boolean detectHeader) {
+        this(detectHeader, true);
+    }
+
+    /**
+     * Creates a parser.
+     *
+     * @param detectHeader whether the first record should be skipped if it looks like a header
+     * @param fallbackEnabled whether quoted or escaped lines go to OpenCSV; if {@code false},
+     *                        parsing stops at the first such line and {@link #isFallbackRequired()}
+     *                        reports it
+     */
+    MappedCsvEmployeeParser(boolean detectHeader, boolean fallbackEnabled) {
+        this(detectHeader, fallbackEnabled, new NameDictionary());
+    }
+
+    /**
+     * Creates a parser.
+     *
+     * @param detectHeader whether the first record should be skipped if it looks like a header
+     * @param fallbackEnabled whether quoted or escaped lines go to OpenCSV
+     * @param names the dictionary names are interned in, owned by this parser
+     */
+    MappedCsvEmployeeParser(boolean detectHeader, boolean fallbackEnabled, NameDictionary names) {
+        this.firstRecord = detectHeader;
+        this.fallbackEnabled = fallbackEnabled;
+        this.names = names;
+    }
+
+    /**
+     * Parses all complete lines in {@code [start, end)} of the buffer. The range must end on a
+     * line boundary or at the end of the input.
+     *
+     * @param buffer the buffer holding CSV bytes
+     * @param start first byte to parse
+     * @param end end of the range (exclusive)
+     * @param action callback invoked once per employee, in input order
+     * @throws EmployeeDataException if a record is malformed
+     */
+    void parse(ByteBuffer buffer, int start, int end, Consumer<? super Employee> action) throws EmployeeDataException {
+        int position = start;
+        while (position < end) {
+            int lineEnd = position;
+            int commaCount = 0;
+            boolean needsFallback = false;
+
+            while (lineEnd < end) {
+                byte b = buffer.get(lineEnd);
+                if (b == '\n') {
+                    break;
+                }
+                if (b == ',') {
+                    if (commaCount < commas.length) {
+                        commas[commaCount] = lineEnd;
+                    }
+                    commaCount++;
+                } else if (b == '"' || b == '\\') {
+                    needsFallback = true;
+                }
+                lineEnd++;
+            }
+
+            if (needsFallback && !fallbackEnabled) {
+                fallbackRequired = true;
+                return;
+            }
+
+            int contentEnd = lineEnd;
+            if (contentEnd > position && buffer.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+
+            Employee employee = needsFallback || fallbackParser.isPending()
+                    ? parseWithFallback(buffer, position, contentEnd)
+                    : parseFast(buffer, position, contentEnd, commaCount);
+            if (employee != null) {
+                action.accept(employee);
+                recordCount++;
+            }
+
+            position = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Verifies that no quoted record was left open at the end of the input.
+     *
+     * @throws EmployeeDataException if the input ended inside a quoted field
+     */
+    void finish() throws EmployeeDataException {
+        if (fallbackParser.isPending()) {
+            throw new EmployeeDataException("Unterminated quoted field at end of CSV input");
+        }
+    }
+
+    long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return {@code true} if parsing stopped at a line that needs the OpenCSV fallback
+     *         while the fallback was disabled
+     */
+    boolean isFallbackRequired() {
+        return fallbackRequired;
+    }
+
+    private Employee parseFast(ByteBuffer buffer, int start, int end, int commaCount) throws EmployeeDataException {
+        int fieldCount = commaCount + 1;
+
+        if (firstRecord) {
+            firstRecord = false;
+            int firstFieldEnd = commaCount > 0 ? commas[0] : end;
+            if (CsvEmployeeDataService.isHeaderField(decode(buffer, start, firstFieldEnd))) {
+                return null;
+            }
+        }
+
+        if (fieldCount < 4) {
+            throw new EmployeeDataException("Invalid record format. Expected at least 4 columns, got: " + fieldCount);
+        }
+
+        int salaryEnd = commaCount > 3 ? commas[3] : end;
+        try {
+            int id = parseInt(buffer, start, commas[0]);
+            String firstName = decodeTrimmed(buffer, commas[0] + 1, commas[1]);
+            String lastName = decodeTrimmed(buffer, commas[1] + 1, commas[2]);
+            BigDecimal salary = parseDecimal(buffer, commas[2] + 1, salaryEnd);
+
+            Integer managerId = null;
+            if (commaCount > 3) {
+                int managerIdEnd = commaCount > 4 ? findComma(buffer, commas[3] + 1, end) : end;
+                int from = trimStart(buffer, commas[3] + 1, managerIdEnd);
+                int to = trimEnd(buffer, from, managerIdEnd);
+                if (from < to) {
+                    managerId = parseInt(buffer, from, to);
+                }
+            }
+
+            return new Employee(id, firstName, lastName, salary, managerId);
+
+        } catch (NumberFormatException e) {
+            throw new EmployeeDataException("Invalid number format in record: " + decode(buffer, start, end), e);
+        } catch (IllegalArgumentException e) {
+            throw new EmployeeDataException("Invalid employee data: " + e.getMessage(), e);
+        }
+    }
+
+    private Employee parseWithFallback(ByteBuffer buffer, int start, int end) throws EmployeeDataException {
+        String[] record;
+        try {
+            record = fallbackParser.parseLineMulti(decode(buffer, start, end));
+        } catch (IOException e) {
+            throw new EmployeeDataException("Malformed CSV record: " + e.getMessage(), e);
+        }
+        if (pendingFields != null) {
+            // Same merge CSVReader performs for records spanning several lines
+            String[] merged = Arrays.copyOf(pendingFields, pendingFields.length + record.length);
+            System.arraycopy(record, 0, merged, pendingFields.length, record.length);
+            record = merged;
+            pendingFields = null;
+        }
+        if (fallbackParser.isPending()) {
+            pendingFields = record;
+            return null;
+        }
+
+        if (firstRecord) {
+            firstRecord = false;
+            if (CsvEmployeeDataService.isHeaderRow(record)) {
+                return null;
+            }
+        }
+        return CsvEmployeeDataService.parseEmployeeFromRecord(record, names);
+    }
+
+    private static int findComma(ByteBuffer buffer, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static int trimStart(ByteBuffer buffer, int from, int to) {
+        while (from < to && (buffer.get(from) & 0xFF) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimEnd(ByteBuffer buffer, int from, int to) {
+        while (to > from && (buffer.get(to - 1) & 0xFF) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    /**
+     * Decodes a trimmed integer with the same rules as {@link Integer#parseInt(String)}.
+     */
+    private static int parseInt(ByteBuffer buffer, int from, int to) {
+        from = trimStart(buffer, from, to);
+        to = trimEnd(buffer, from, to);
+
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        if (i == to) {
+            throw numberFormatException(buffer, from, to);
+        }
+        // Leading zeros do not count towards the ten digits an int can have
+        while (to - i > 1 && buffer.get(i) == '0') {
+            i++;
+        }
+        if (to - i > 10) {
+            throw numberFormatException(buffer, from, to);
+        }
+
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw numberFormatException(buffer, from, to);
+            }
+            value = value * 10 + digit;
+        }
+        if (negative) {
+            value = -value;
+        }
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw numberFormatException(buffer, from, to);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Decodes a trimmed plain decimal ({@code [+-]digits[.digits]}) straight into an unscaled
+     * long. Anything else (exponents, very long values) goes through {@link BigDecimal#BigDecimal(String)}.
+     */
+    private static BigDecimal parseDecimal(ByteBuffer buffer, int from, int to) {
+        from = trimStart(buffer, from, to);
+        to = trimEnd(buffer, from, to);
+
+        int i = from;
+        boolean negative = false;
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean seenPoint = false;
+        for (; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                if (++digits > MAX_FAST_DECIMAL_DIGITS) {
+                    return new BigDecimal(decode(buffer, from, to));
+                }
+                unscaled = unscaled * 10 + (b - '0');
+                if (seenPoint) {
+                    scale++;
+                }
+            } else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                return new BigDecimal(decode(buffer, from, to));
+            }
+        }
+        if (digits == 0) {
+            throw numberFormatException(buffer, from, to);
+        }
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    private static NumberFormatException numberFormatException(ByteBuffer buffer, int from, int to) {
+        return new NumberFormatException("For input string: \"" + decode(buffer, from, to) + "\"");
+    }
+
+    private String decodeTrimmed(ByteBuffer buffer, int from, int to) {
+        from = trimStart(buffer, from, to);
+        to = trimEnd(buffer, from, to);
+        return names.intern(buffer, from, to);
+    }
+
+    private static String decode(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,152 @@
+package com.swissre.employee.service.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Deduplicates employee names while loading, so that every occurrence of a name shares one
+ * String instead of each employee holding its own copy.
+ * <p>
+ * Names are looked up straight from the CSV bytes: for ASCII names the String hash is computed
+ * on the bytes and a repeated name is found without decoding or allocating anything. Other names
+ * are decoded first. Once {@link #DEFAULT_CAPACITY} distinct names are held the dictionary stops
+ * growing and returns new Strings, so inputs with mostly unique names cost no extra memory.
+ * <p>
+ * Not thread-safe; use one dictionary per parsing thread. Dictionaries of threads loading the same
+ * input can be backed by one concurrent map of canonical names, so a name seen by several threads
+ * is still stored once; the map is only consulted when a name is new to the calling dictionary.
+ */
+final class NameDictionary {
+    static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final int capacity;
+    // Canonical names shared with other dictionaries, or null
+    private final ConcurrentMap<String, String> shared;
+    private String[] table = new String[64];
+    private int size;
+
+    NameDictionary() {
+        this(DEFAULT_CAPACITY, null);
+    }
+
+    /**
+     * @param shared canonical names shared with the dictionaries of other threads
+     */
+    NameDictionary(ConcurrentMap<String, String> shared) {
+        this(DEFAULT_CAPACITY, shared);
+    }
+
+    /**
+     * @param capacity maximum number of distinct names kept, here and in {@code shared}
+     * @param shared canonical names shared with the dictionaries of other threads, or {@code null}
+     */
+    NameDictionary(int capacity, ConcurrentMap<String, String> shared) {
+        this.capacity = capacity;
+        this.shared = shared;
+    }
+
+    /**
+     * @return the number of distinct names held
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the shared instance of the name in {@code [from, to)} of the buffer, decoded as UTF-8
+     */
+    String intern(ByteBuffer buffer, int from, int to) {
+        int hash = 0;
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b < 0) {
+                return intern(decode(buffer, from, to));
+            }
+            hash = 31 * hash + b;
+        }
+
+        int mask = table.length - 1;
+        for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+            String candidate = table[slot];
+            if (candidate == null) {
+                return add(slot, decode(buffer, from, to));
+            }
+            if (candidate.hashCode() == hash && matches(candidate, buffer, from, to)) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * @return the shared instance of the name
+     */
+    String intern(String name) {
+        int mask = table.length - 1;
+        for (int slot = spread(name.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            String candidate = table[slot];
+            if (candidate == null) {
+                return add(slot, name);
+            }
+            if (candidate.equals(name)) {
+                return candidate;
+            }
+        }
+    }
+
+    private String add(int slot, String name) {
+        if (size >= capacity) {
+            return name;
+        }
+        if (shared != null) {
+            String canonical = shared.size() < capacity ? shared.putIfAbsent(name, name) : shared.get(name);
+            if (canonical != null) {
+                name = canonical;
+            }
+        }
+        table[slot] = name;
+        if (++size * 2 > table.length) {
+            rehash();
+        }
+        return name;
+    }
+
+    private void rehash() {
+        String[] old = table;
+        table = new String[old.length * 2];
+        int mask = table.length - 1;
+        for (String name : old) {
+            if (name != null) {
+                int slot = spread(name.hashCode()) & mask;
+                while (table[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = name;
+            }
+        }
+    }
+
+    private static boolean matches(String candidate, ByteBuffer buffer, int from, int to) {
+        if (candidate.length() != to - from) {
+            return false;
+        }
+        for (int i = 0; i < candidate.length(); i++) {
+            if (candidate.charAt(i) != buffer.get(from + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static String decode(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
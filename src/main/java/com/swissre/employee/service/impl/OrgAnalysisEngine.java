@@ -0,0 +1,129 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.OrgAnalysisResult;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.service.ReportingLineAnalysisService;
+import com.swissre.employee.service.SalaryAnalysisService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fused analysis engine that builds one {@link OrgIndex} (id lookup and direct-report
+ * adjacency) and derives both salary and reporting line results from it.
+ * Produces the same results as {@link DefaultSalaryAnalysisService} and
+ * {@link DefaultReportingLineAnalysisService}; salary issues are ordered by manager id.
+ */
+public class OrgAnalysisEngine implements SalaryAnalysisService, ReportingLineAnalysisService {
+    private static final Logger logger = LoggerFactory.getLogger(OrgAnalysisEngine.class);
+    
+    /** Reporting line length of employees that are part of, or report into, a circular reference. */
+    public static final int CIRCULAR = ReportingDepths.CIRCULAR;
+    
+    private final DefaultReportingLineAnalysisService reportingLineAnalysisService = new DefaultReportingLineAnalysisService();
+    
+    /**
+     * Runs salary and reporting line analysis over a shared index.
+     *
+     * @param employees list of all employees
+     * @return salary and reporting line issues
+     */
+    public OrgAnalysisResult analyze(List<Employee> employees) {
+        logger.info("Building organization index for {} employees", employees.size());
+        return analyze(OrgIndex.build(employees));
+    }
+    
+    /**
+     * Runs salary and reporting line analysis over an existing index.
+     *
+     * @param index the organization index
+     * @return salary and reporting line issues
+     */
+    public OrgAnalysisResult analyze(OrgIndex index) {
+        return new OrgAnalysisResult(analyzeSalaryDiscrepancies(index), analyzeReportingLines(index));
+    }
+    
+    @Override
+    public List<SalaryAnalysisResult> analyzeSalaryDiscrepancies(List<Employee> employees) {
+        return analyzeSalaryDiscrepancies(OrgIndex.build(employees));
+    }
+    
+    @Override
+    public List<ReportingLineAnalysisResult> analyzeReportingLines(List<Employee> employees) {
+        return analyzeReportingLines(OrgIndex.build(employees));
+    }
+    
+    /**
+     * Analyzes salary discrepancies using the index's direct-report adjacency.
+     *
+     * @param index the organization index
+     * @return list of managers with salary issues, ordered by manager id
+     */
+    public List<SalaryAnalysisResult> analyzeSalaryDiscrepancies(OrgIndex index) {
+        logger.info("Analyzing salary discrepancies for {} employees", index.size());
+        
+        List<SalaryAnalysisResult> results = new ArrayList<>();
+        for (int managerIndex = 0; managerIndex < index.size(); managerIndex++) {
+            SalaryAnalysisResult result = analyzeManagerSalary(index, managerIndex);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        results.sort(DefaultSalaryAnalysisService.BY_MANAGER_ID);
+        
+        logger.info("Found {} salary discrepancies", results.size());
+        return results;
+    }
+    
+    /**
+     * Analyzes reporting lines over the index with a linear-time depth computation.
+     * Reporting chains are only materialized for employees whose line is too long.
+     *
+     * @param index the organization index
+     * @return list of employees with reporting lines that are too long, in employee order
+     */
+    public List<ReportingLineAnalysisResult> analyzeReportingLines(OrgIndex index) {
+        return reportingLineAnalysisService.analyzeReportingLines(index);
+    }
+    
+    /**
+     * Computes the reporting line length (number of managers above) of every employee in O(n).
+     *
+     * @param index the organization index
+     * @return length per index position; 0 for the CEO and employees whose manager is missing,
+     *         {@link #CIRCULAR} for employees in or below a circular reference
+     */
+    public int[] computeReportingLineLengths(OrgIndex index) {
+        return ReportingDepths.compute(index.size(), index::getManagerIndex);
+    }
+    
+    private SalaryAnalysisResult analyzeManagerSalary(OrgIndex index, int managerIndex) {
+        int subordinateCount = index.getChildCount(managerIndex);
+        if (subordinateCount == 0) {
+            return null;
+        }
+        
+        int offset = index.getChildOffset(managerIndex);
+        long subordinateSalaryTotal = 0;
+        for (int position = offset; position < offset + subordinateCount; position++) {
+            subordinateSalaryTotal = FixedPointSalaryMath.add(subordinateSalaryTotal,
+                    FixedPointSalaryMath.toMinorUnits(index.getEmployee(index.getChild(position)).getSalary()));
+        }
+        
+        Employee manager = index.getEmployee(managerIndex);
+        if (subordinateSalaryTotal == FixedPointSalaryMath.NOT_REPRESENTABLE) {
+            List<Employee> subordinates = new ArrayList<>(subordinateCount);
+            for (int position = offset; position < offset + subordinateCount; position++) {
+                subordinates.add(index.getEmployee(index.getChild(position)));
+            }
+            return SalaryBandEvaluator.evaluate(manager, SalaryBandEvaluator.averageSalary(subordinates));
+        }
+        return SalaryBandEvaluator.evaluate(index::getEmployee, managerIndex,
+                FixedPointSalaryMath.toMinorUnits(manager.getSalary()), subordinateSalaryTotal, subordinateCount);
+    }
+}
@@ -0,0 +1,165 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeTable;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.OrgValidationReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Validates the manager links of an organization in one O(n) pass.
+ * <p>
+ * Every employee has at most one manager, so following manager links from any employee either
+ * reaches a tree top or enters a cycle. Walks use three-color marking: employees on the current walk
+ * are grey, finished ones black. Reaching a grey employee closes a new cycle; reaching a black one
+ * joins structure that has already been reported. Each employee is marked once, so every cycle,
+ * orphan and disconnected part is found, and logged, exactly once. A cycle is logged with its size
+ * and the ids of its first {@value #LOGGED_CYCLE_MEMBERS} members.
+ */
+public final class OrgStructureValidator {
+    private static final Logger logger = LoggerFactory.getLogger(OrgStructureValidator.class);
+
+    private static final byte WHITE = 0;
+    private static final byte GREY = 1;
+    private static final byte BLACK = 2;
+    static final int LOGGED_CYCLE_MEMBERS = 10;
+
+    private OrgStructureValidator() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static OrgValidationReport validate(OrgIndex index) {
+        return validate(index.size(), index::getManagerIndex, i -> index.getEmployee(i).isCEO(), index::getEmployee);
+    }
+
+    public static OrgValidationReport validate(EmployeeTable table) {
+        return validate(table.size(), table::getManagerIndex, table::isCEO, table::toEmployee);
+    }
+
+    /**
+     * @param size number of employees
+     * @param managerIndexOf maps an employee position to its manager's position, or {@link OrgIndex#NO_MANAGER}
+     * @param isCEO whether the employee at a position has no manager by design
+     * @param employeeAt materializes the employee at a position (only called for reported employees)
+     * @return the validation report
+     */
+    static OrgValidationReport validate(int size, IntUnaryOperator managerIndexOf,
+                                        IntPredicate isCEO, IntFunction<Employee> employeeAt) {
+        List<List<Employee>> cycles = new ArrayList<>();
+        List<Employee> orphans = new ArrayList<>();
+        int componentCount = check(size, managerIndexOf, isCEO, employeeAt, cycles, orphans);
+        return new OrgValidationReport(cycles, orphans, componentCount);
+    }
+
+    /**
+     * Logs the structural problems of an organization without building a report, for analyses that
+     * handle cycles and orphans themselves.
+     */
+    static void logProblems(OrgIndex index) {
+        logProblems(index.size(), index::getManagerIndex, i -> index.getEmployee(i).isCEO(), index::getEmployee);
+    }
+
+    /**
+     * Logs the structural problems of an organization without building a report.
+     *
+     * @see #validate(int, IntUnaryOperator, IntPredicate, IntFunction)
+     */
+    static void logProblems(int size, IntUnaryOperator managerIndexOf,
+                            IntPredicate isCEO, IntFunction<Employee> employeeAt) {
+        check(size, managerIndexOf, isCEO, employeeAt, null, null);
+    }
+
+    /**
+     * Walks the manager links once, logging every problem and collecting it when lists are given.
+     *
+     * @return the number of disconnected parts
+     */
+    private static int check(int size, IntUnaryOperator managerIndexOf, IntPredicate isCEO,
+                             IntFunction<Employee> employeeAt, List<List<Employee>> cycles, List<Employee> orphans) {
+        byte[] colors = new byte[size];
+        int[] path = new int[Math.min(Math.max(size, 1), 64)];
+        int cycleCount = 0;
+        int treeTops = 0;
+
+        for (int start = 0; start < size; start++) {
+            int manager = managerIndexOf.applyAsInt(start);
+            if (manager == OrgIndex.NO_MANAGER) {
+                treeTops++;
+                if (!isCEO.test(start)) {
+                    Employee orphan = employeeAt.apply(start);
+                    if (orphans != null) {
+                        orphans.add(orphan);
+                    }
+                    logger.warn("Manager with ID {} not found for employee {}", orphan.getManagerId(), orphan.getId());
+                }
+            }
+            if (colors[start] != WHITE) {
+                continue;
+            }
+
+            int length = 0;
+            int current = start;
+            while (current != OrgIndex.NO_MANAGER && colors[current] == WHITE) {
+                colors[current] = GREY;
+                if (length == path.length) {
+                    path = Arrays.copyOf(path, path.length * 2);
+                }
+                path[length++] = current;
+                current = managerIndexOf.applyAsInt(current);
+            }
+
+            if (current != OrgIndex.NO_MANAGER && colors[current] == GREY) {
+                // The walk ran into itself: the cycle is the part of the path from 'current' on
+                int first = length - 1;
+                while (path[first] != current) {
+                    first--;
+                }
+                if (cycles != null) {
+                    List<Employee> cycle = new ArrayList<>(length - first);
+                    for (int i = first; i < length; i++) {
+                        cycle.add(employeeAt.apply(path[i]));
+                    }
+                    cycles.add(cycle);
+                }
+                cycleCount++;
+                logger.error("Circular reference in reporting lines of {} employees: {}",
+                        length - first, describe(path, first, length, employeeAt));
+            }
+
+            for (int i = 0; i < length; i++) {
+                colors[path[i]] = BLACK;
+            }
+        }
+
+        int componentCount = treeTops + cycleCount;
+        if (componentCount > 1) {
+            logger.warn("Organization falls into {} disconnected parts ({} tree tops, {} cycles)",
+                    componentCount, treeTops, cycleCount);
+        }
+        return componentCount;
+    }
+
+    /**
+     * @return the ids of the cycle in {@code path[first, end)} closed back to the first member, or its
+     *         first {@link #LOGGED_CYCLE_MEMBERS} ids followed by "..." for longer cycles
+     */
+    static String describe(int[] path, int first, int end, IntFunction<Employee> employeeAt) {
+        StringBuilder description = new StringBuilder();
+        int shown = Math.min(end - first, LOGGED_CYCLE_MEMBERS);
+        for (int i = first; i < first + shown; i++) {
+            description.append(employeeAt.apply(path[i]).getId()).append(" -> ");
+        }
+        if (shown < end - first) {
+            return description.append("...").toString();
+        }
+        return description.append(employeeAt.apply(path[first]).getId()).toString();
+    }
+}
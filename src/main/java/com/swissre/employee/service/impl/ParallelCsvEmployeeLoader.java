@@ -0,0 +1,177 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.service.EmployeeDataException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Loads a CSV file by splitting it into byte ranges aligned to line boundaries and
+ * parsing the ranges concurrently on a fork-join pool. Per-chunk results are merged
+ * back in file order. The chunks' name dictionaries share their canonical names, so a name
+ * repeated across chunks is still stored once.
+ * <p>
+ * Chunks parse without the OpenCSV fallback, because a quoted field may span a chunk
+ * boundary. If any chunk meets quoted or escaped input, {@link #load} returns
+ * {@code null} and the caller should fall back to a sequential read.
+ */
+final class ParallelCsvEmployeeLoader {
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final int BOUNDARY_SCAN_SIZE = 8192;
+
+    private final ForkJoinPool pool;
+    private final long maxChunkSize;
+
+    ParallelCsvEmployeeLoader(ForkJoinPool pool, long maxChunkSize) {
+        this.pool = pool;
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    /**
+     * Loads all employees from the channel.
+     *
+     * @param channel an open channel positioned anywhere
+     * @return employees in file order, or {@code null} if the input needs the sequential parser
+     * @throws IOException if the file cannot be read
+     * @throws EmployeeDataException if a record is malformed
+     */
+    List<Employee> load(FileChannel channel) throws IOException, EmployeeDataException {
+        long[] boundaries = computeBoundaries(channel);
+        int chunkCount = boundaries.length - 1;
+
+        ChunkResult[] results = new ChunkResult[chunkCount];
+        pool.invoke(new ChunkTask(channel, boundaries, results, new ConcurrentHashMap<>(), 0, chunkCount));
+
+        int total = 0;
+        for (ChunkResult result : results) {
+            if (result.fallbackRequired) {
+                return null;
+            }
+            total += result.employees.size();
+        }
+        for (ChunkResult result : results) {
+            if (result.error != null) {
+                throw result.error;
+            }
+        }
+
+        List<Employee> employees = new ArrayList<>(total);
+        for (ChunkResult result : results) {
+            employees.addAll(result.employees);
+        }
+        return employees;
+    }
+
+    private long[] computeBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long targetChunks = (long) pool.getParallelism() * CHUNKS_PER_THREAD;
+        long chunkSize = Math.min(maxChunkSize, Math.max(MIN_CHUNK_SIZE, size / targetChunks + 1));
+
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        ByteBuffer scan = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        long previous = 0;
+        while (size - previous > chunkSize) {
+            long boundary = nextLineStart(channel, previous + chunkSize, size, scan);
+            if (boundary - previous > maxChunkSize) {
+                throw new IOException("CSV line exceeds " + maxChunkSize + " bytes");
+            }
+            if (boundary >= size) {
+                break;
+            }
+            boundaries.add(boundary);
+            previous = boundary;
+        }
+        boundaries.add(size);
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the offset just after the first line feed at or after {@code from - 1}.
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer scan) throws IOException {
+        long position = from - 1;
+        while (position < size) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static final class ChunkResult {
+        private List<Employee> employees = new ArrayList<>();
+        private EmployeeDataException error;
+        private boolean fallbackRequired;
+    }
+
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final ChunkResult[] results;
+        private final ConcurrentMap<String, String> names;
+        private final int from;
+        private final int to;
+
+        ChunkTask(FileChannel channel, long[] boundaries, ChunkResult[] results, ConcurrentMap<String, String> names,
+                  int from, int to) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.results = results;
+            this.names = names;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(channel, boundaries, results, names, from, middle),
+                        new ChunkTask(channel, boundaries, results, names, middle, to));
+                return;
+            }
+
+            ChunkResult result = new ChunkResult();
+            results[from] = result;
+            try {
+                long start = boundaries[from];
+                int length = (int) (boundaries[from + 1] - start);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+
+                MappedCsvEmployeeParser parser = new MappedCsvEmployeeParser(from == 0, false, new NameDictionary(names));
+                parser.parse(region, 0, length, result.employees::add);
+                result.fallbackRequired = parser.isFallbackRequired();
+            } catch (EmployeeDataException e) {
+                result.error = e;
+            } catch (IOException e) {
+                result.error = new EmployeeDataException("Failed to read CSV chunk " + from, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.service.EmployeeDataException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads gzip-compressed CSV input with decompression and parsing overlapped.
+ * <p>
+ * An inflater thread decompresses the file into fixed-size chunks and hands them to the calling
+ * thread through a bounded queue; the caller copies each chunk behind any incomplete line left
+ * over from the previous one, parses the complete lines with {@link MappedCsvEmployeeParser} and
+ * returns the chunk to a free list for reuse. Memory stays bounded by the queue capacity however
+ * large the file, and the inflater blocks while the parser is behind.
+ */
+final class PipelinedGzipCsvReader {
+    static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+    static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+    private static final int GZIP_MAGIC_FIRST = 0x1f;
+    private static final int GZIP_MAGIC_SECOND = 0x8b;
+    private static final int INFLATER_BUFFER_SIZE = 64 * 1024;
+
+    private final int chunkSize;
+    private final int queueCapacity;
+
+    PipelinedGzipCsvReader() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param chunkSize size of the decompressed chunks handed to the parser
+     * @param queueCapacity number of decompressed chunks that may wait for the parser
+     */
+    PipelinedGzipCsvReader(int chunkSize, int queueCapacity) {
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * @return {@code true} if the file starts with the gzip magic bytes
+     */
+    static boolean isGzip(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return in.read() == GZIP_MAGIC_FIRST && in.read() == GZIP_MAGIC_SECOND;
+        }
+    }
+
+    /**
+     * Decompresses and parses a gzip-compressed CSV file.
+     *
+     * @param file the compressed file
+     * @param action callback invoked once per employee, in file order
+     * @return the number of employees read
+     * @throws EmployeeDataException if the file cannot be read or decompressed, or a record is malformed
+     */
+    long read(Path file, Consumer<? super Employee> action) throws EmployeeDataException {
+        BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(queueCapacity + 1);
+        for (int i = 0; i < queueCapacity + 1; i++) {
+            free.add(new byte[chunkSize]);
+        }
+
+        Thread inflater = new Thread(() -> inflate(file, filled, free), "csv-inflater");
+        inflater.setDaemon(true);
+        inflater.start();
+        try {
+            MappedCsvEmployeeParser parser = new MappedCsvEmployeeParser(true);
+            byte[] work = new byte[chunkSize * 2];
+            int carry = 0;
+
+            while (true) {
+                Chunk chunk = filled.take();
+                if (chunk.error instanceof Error) {
+                    throw (Error) chunk.error;
+                }
+                if (chunk.error != null) {
+                    throw new EmployeeDataException("Failed to read CSV file: " + file, chunk.error);
+                }
+                if (chunk.bytes == null) {
+                    break;
+                }
+
+                if (carry + chunk.length > work.length) {
+                    // A line longer than the work buffer: grow it to keep the line in one piece
+                    byte[] larger = new byte[Math.max(work.length * 2, carry + chunk.length)];
+                    System.arraycopy(work, 0, larger, 0, carry);
+                    work = larger;
+                }
+                System.arraycopy(chunk.bytes, 0, work, carry, chunk.length);
+                int end = carry + chunk.length;
+                free.put(chunk.bytes);
+
+                int lineEnd = lastLineEnd(work, end);
+                if (lineEnd > 0) {
+                    parser.parse(ByteBuffer.wrap(work), 0, lineEnd, action);
+                    System.arraycopy(work, lineEnd, work, 0, end - lineEnd);
+                }
+                carry = end - lineEnd;
+            }
+
+            if (carry > 0) {
+                parser.parse(ByteBuffer.wrap(work), 0, carry, action);
+            }
+            parser.finish();
+            return parser.getRecordCount();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmployeeDataException("Interrupted while reading CSV file: " + file, e);
+        } finally {
+            // Stops the inflater if parsing ended early; a no-op once it has finished
+            inflater.interrupt();
+        }
+    }
+
+    private static void inflate(Path file, BlockingQueue<Chunk> filled, BlockingQueue<byte[]> free) {
+        try {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file), INFLATER_BUFFER_SIZE)) {
+                while (true) {
+                    byte[] buffer = free.take();
+                    int length = readFully(in, buffer);
+                    if (length > 0) {
+                        filled.put(new Chunk(buffer, length, null));
+                    }
+                    if (length < buffer.length) {
+                        break;
+                    }
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                // Any failure must reach the reader, which otherwise waits for the next chunk forever
+                filled.put(new Chunk(null, 0, e));
+                return;
+            }
+            filled.put(Chunk.END);
+        } catch (InterruptedException e) {
+            // The reader has stopped consuming
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int readFully(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        while (length < buffer.length) {
+            int read = in.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    private static int lastLineEnd(byte[] bytes, int end) {
+        for (int i = end - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static final class Chunk {
+        static final Chunk END = new Chunk(null, 0, null);
+
+        final byte[] bytes;
+        final int length;
+        final Throwable error;
+
+        Chunk(byte[] bytes, int length, Throwable error) {
+            this.bytes = bytes;
+            this.length = length;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.swissre.employee.service.impl;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Computes the reporting line length (number of managers above) of every employee in O(n)
+ * with a memoized parent-depth table. Each employee is visited a constant number of times,
+ * however deep the organization is.
+ */
+final class ReportingDepths {
+    /** Depth of employees that are part of, or report into, a circular reference. */
+    static final int CIRCULAR = -1;
+    /** Manager index returned by the lookup for employees at the top of a tree. */
+    static final int NO_MANAGER = -1;
+
+    private static final int UNKNOWN = -2;
+    private static final int IN_PROGRESS = -3;
+
+    private ReportingDepths() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * @param size number of employees
+     * @param managerIndexOf maps an employee position to its manager's position, or {@link #NO_MANAGER}
+     * @return depth per employee: 0 at the top of a tree, {@link #CIRCULAR} for employees in or below a cycle
+     */
+    static int[] compute(int size, IntUnaryOperator managerIndexOf) {
+        int[] depths = new int[size];
+        Arrays.fill(depths, UNKNOWN);
+        int[] path = new int[Math.min(size, 64)];
+
+        for (int start = 0; start < size; start++) {
+            if (depths[start] != UNKNOWN) {
+                continue;
+            }
+
+            // Walk up until a known depth, a tree top or a cycle is reached
+            int length = 0;
+            int current = start;
+            int depth;
+            boolean circular = false;
+            while (true) {
+                int known = depths[current];
+                if (known >= 0) {
+                    depth = known;
+                    break;
+                }
+                if (known == CIRCULAR || known == IN_PROGRESS) {
+                    depth = CIRCULAR;
+                    circular = true;
+                    break;
+                }
+                if (length == path.length) {
+                    path = Arrays.copyOf(path, Math.min(size, path.length * 2));
+                }
+                path[length++] = current;
+                depths[current] = IN_PROGRESS;
+
+                int manager = managerIndexOf.applyAsInt(current);
+                if (manager == NO_MANAGER) {
+                    // The last employee on the path tops its tree
+                    depth = -1;
+                    break;
+                }
+                current = manager;
+            }
+
+            // Unwind, assigning depths from the top of the walked path downwards
+            for (int i = length - 1; i >= 0; i--) {
+                depths[path[i]] = circular ? CIRCULAR : ++depth;
+            }
+        }
+
+        return depths;
+    }
+}
@@ -0,0 +1,193 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.config.SalaryBand;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.SalaryAnalysisResult;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Checks a manager's salary against the expected band derived from the average salary of
+ * their direct subordinates. Shared by every salary analysis so they produce identical results.
+ * Uses {@link FixedPointSalaryMath} where possible and BigDecimal otherwise.
+ * Methods without a band parameter use {@link SalaryBand#STANDARD}.
+ */
+final class SalaryBandEvaluator {
+    
+    private SalaryBandEvaluator() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+    
+    /**
+     * Evaluates a manager against a group of direct subordinates.
+     *
+     * @return the salary issue, or {@code null} if the salary is within the band
+     */
+    static SalaryAnalysisResult evaluate(Employee manager, List<Employee> subordinates) {
+        long subordinateSalaryTotal = 0;
+        for (Employee subordinate : subordinates) {
+            subordinateSalaryTotal = FixedPointSalaryMath.add(subordinateSalaryTotal, FixedPointSalaryMath.toMinorUnits(subordinate.getSalary()));
+        }
+        
+        if (subordinateSalaryTotal == FixedPointSalaryMath.NOT_REPRESENTABLE) {
+            return evaluate(manager, averageSalary(subordinates));
+        }
+        return evaluate(index -> manager, 0, FixedPointSalaryMath.toMinorUnits(manager.getSalary()),
+                subordinateSalaryTotal, subordinates.size());
+    }
+    
+    /**
+     * Fast path of {@link #evaluate(Employee, BigDecimal)} working in minor units.
+     * Produces identical results; falls back to BigDecimal when a value is not representable.
+     * The manager is only materialized when there is an issue to report.
+     * The subordinate salary total must be representable.
+     *
+     * @param managers resolves the manager at {@code managerIndex}
+     * @param managerIndex position of the manager, passed to {@code managers}
+     * @param managerSalary the manager's salary in minor units, or {@link FixedPointSalaryMath#NOT_REPRESENTABLE}
+     * @param subordinateSalaryTotal total salary of the direct subordinates in minor units
+     * @param subordinateCount number of direct subordinates
+     * @return the salary issue, or {@code null} if the salary is within the band
+     */
+    static SalaryAnalysisResult evaluate(IntFunction<Employee> managers, int managerIndex, long managerSalary,
+                                         long subordinateSalaryTotal, int subordinateCount) {
+        return evaluate(Band.STANDARD, managers, managerIndex, managerSalary,
+                FixedPointSalaryMath.average(subordinateSalaryTotal, subordinateCount));
+    }
+    
+    /**
+     * Minor-unit evaluation against a precomputed average, so that one average can be checked
+     * against several bands. Falls back to BigDecimal when a value is not representable.
+     *
+     * @param band the band to check against
+     * @param managers resolves the manager at {@code managerIndex}
+     * @param managerIndex position of the manager, passed to {@code managers}
+     * @param managerSalary the manager's salary in minor units, or {@link FixedPointSalaryMath#NOT_REPRESENTABLE}
+     * @param averageSubordinateSalary average salary of the direct subordinates in minor units; must be representable
+     * @return the salary issue, or {@code null} if the salary is within the band
+     */
+    static SalaryAnalysisResult evaluate(Band band, IntFunction<Employee> managers, int managerIndex, long managerSalary,
+                                         long averageSubordinateSalary) {
+        long minimumExpectedSalary = band.minimumExpectedSalary(averageSubordinateSalary);
+        long maximumExpectedSalary = band.maximumExpectedSalary(averageSubordinateSalary);
+        
+        if (managerSalary == FixedPointSalaryMath.NOT_REPRESENTABLE
+                || minimumExpectedSalary == FixedPointSalaryMath.NOT_REPRESENTABLE
+                || maximumExpectedSalary == FixedPointSalaryMath.NOT_REPRESENTABLE) {
+            return evaluate(band.getSalaryBand(), managers.apply(managerIndex),
+                    FixedPointSalaryMath.toBigDecimal(averageSubordinateSalary));
+        }
+        
+        SalaryAnalysisResult.SalaryIssueType issueType;
+        long salaryGap;
+        if (managerSalary < minimumExpectedSalary) {
+            issueType = SalaryAnalysisResult.SalaryIssueType.UNDERPAID;
+            salaryGap = minimumExpectedSalary - managerSalary;
+        } else if (managerSalary > maximumExpectedSalary) {
+            issueType = SalaryAnalysisResult.SalaryIssueType.OVERPAID;
+            salaryGap = managerSalary - maximumExpectedSalary;
+        } else {
+            return null; // No salary issue
+        }
+        
+        return new SalaryAnalysisResult(
+                managers.apply(managerIndex),
+                FixedPointSalaryMath.toBigDecimal(averageSubordinateSalary),
+                FixedPointSalaryMath.toBigDecimal(minimumExpectedSalary),
+                FixedPointSalaryMath.toBigDecimal(maximumExpectedSalary),
+                issueType,
+                FixedPointSalaryMath.toBigDecimal(salaryGap)
+        );
+    }
+    
+    /**
+     * Evaluates a manager against a precomputed average subordinate salary using BigDecimal arithmetic.
+     *
+     * @return the salary issue, or {@code null} if the salary is within the band
+     */
+    static SalaryAnalysisResult evaluate(Employee manager, BigDecimal averageSubordinateSalary) {
+        return evaluate(SalaryBand.STANDARD, manager, averageSubordinateSalary);
+    }
+    
+    /**
+     * Evaluates a manager against the given band using BigDecimal arithmetic.
+     *
+     * @return the salary issue, or {@code null} if the salary is within the band
+     */
+    static SalaryAnalysisResult evaluate(SalaryBand band, Employee manager, BigDecimal averageSubordinateSalary) {
+        BigDecimal minimumExpectedSalary = band.getMinimumExpectedSalary(averageSubordinateSalary);
+        BigDecimal maximumExpectedSalary = band.getMaximumExpectedSalary(averageSubordinateSalary);
+        
+        BigDecimal managerSalary = manager.getSalary();
+        
+        if (managerSalary.compareTo(minimumExpectedSalary) < 0) {
+            // Manager is underpaid
+            BigDecimal salaryGap = minimumExpectedSalary.subtract(managerSalary);
+            return new SalaryAnalysisResult(
+                    manager, 
+                    averageSubordinateSalary, 
+                    minimumExpectedSalary, 
+                    maximumExpectedSalary,
+                    SalaryAnalysisResult.SalaryIssueType.UNDERPAID, 
+                    salaryGap
+            );
+        } else if (managerSalary.compareTo(maximumExpectedSalary) > 0) {
+            // Manager is overpaid
+            BigDecimal salaryGap = managerSalary.subtract(maximumExpectedSalary);
+            return new SalaryAnalysisResult(
+                    manager, 
+                    averageSubordinateSalary, 
+                    minimumExpectedSalary, 
+                    maximumExpectedSalary,
+                    SalaryAnalysisResult.SalaryIssueType.OVERPAID, 
+                    salaryGap
+            );
+        }
+        
+        return null; // No salary issue
+    }
+    
+    /**
+     * @return the average salary of the given employees, rounded HALF_UP to two decimal places
+     */
+    static BigDecimal averageSalary(List<Employee> employees) {
+        BigDecimal totalSalary = employees.stream()
+                .map(Employee::getSalary)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        
+        return totalSalary.divide(BigDecimal.valueOf(employees.size()), 2, RoundingMode.HALF_UP);
+    }
+    
+    /**
+     * A {@link SalaryBand} with its multipliers prepared for minor-unit arithmetic.
+     */
+    static final class Band {
+        static final Band STANDARD = new Band(SalaryBand.STANDARD);
+        
+        private final SalaryBand salaryBand;
+        // null when the multiplier cannot be applied in long arithmetic
+        private final FixedPointSalaryMath.Factor minimumFactor;
+        private final FixedPointSalaryMath.Factor maximumFactor;
+        
+        Band(SalaryBand salaryBand) {
+            this.salaryBand = salaryBand;
+            this.minimumFactor = FixedPointSalaryMath.Factor.of(BigDecimal.ONE.add(salaryBand.getMinimumIncrease()));
+            this.maximumFactor = FixedPointSalaryMath.Factor.of(BigDecimal.ONE.add(salaryBand.getMaximumIncrease()));
+        }
+        
+        SalaryBand getSalaryBand() {
+            return salaryBand;
+        }
+        
+        long minimumExpectedSalary(long averageSubordinateSalary) {
+            return minimumFactor == null ? FixedPointSalaryMath.NOT_REPRESENTABLE : minimumFactor.apply(averageSubordinateSalary);
+        }
+        
+        long maximumExpectedSalary(long averageSubordinateSalary) {
+            return maximumFactor == null ? FixedPointSalaryMath.NOT_REPRESENTABLE : maximumFactor.apply(averageSubordinateSalary);
+        }
+    }
+}
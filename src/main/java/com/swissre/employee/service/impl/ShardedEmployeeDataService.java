@@ -0,0 +1,231 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.service.EmployeeDataException;
+import com.swissre.employee.service.EmployeeDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * EmployeeDataService decorator that loads an organization split over several CSV files.
+ * <p>
+ * A path that does not name an existing file and contains glob characters ({@code * ? [ {}) is
+ * expanded to the matching files, in path order, leaving out snapshot files written by
+ * {@link SnapshotEmployeeDataService}; any other path is handed to the delegate unchanged. Shards are loaded concurrently on a
+ * {@link ForkJoinPool} and merged into one list in shard order, so managers may sit in a different
+ * file from their reports. Employee ids must be unique across all shards.
+ */
+public class ShardedEmployeeDataService implements EmployeeDataService {
+    private static final Logger logger = LoggerFactory.getLogger(ShardedEmployeeDataService.class);
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private final EmployeeDataService delegate;
+    private final ForkJoinPool pool;
+
+    public ShardedEmployeeDataService(EmployeeDataService delegate) {
+        this(delegate, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param delegate the service that loads each shard
+     * @param pool the pool the shards are loaded on
+     */
+    public ShardedEmployeeDataService(EmployeeDataService delegate, ForkJoinPool pool) {
+        this.delegate = delegate;
+        this.pool = pool;
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromCsv(String filePath) throws EmployeeDataException {
+        if (!isGlob(filePath)) {
+            return delegate.loadEmployeesFromCsv(filePath);
+        }
+        return loadEmployeesFromCsv(expand(filePath));
+    }
+
+    /**
+     * Loads several shards concurrently and merges them in the given order.
+     *
+     * @param filePaths the shard files
+     * @return the employees of all shards
+     * @throws EmployeeDataException if a shard cannot be read or an employee id occurs more than once
+     */
+    @Override
+    public List<Employee> loadEmployeesFromCsv(List<String> filePaths) throws EmployeeDataException {
+        logger.info("Loading {} CSV shards ({} threads)", filePaths.size(), pool.getParallelism());
+
+        List<ForkJoinTask<List<Employee>>> tasks = new ArrayList<>(filePaths.size());
+        for (String filePath : filePaths) {
+            tasks.add(pool.submit(() -> delegate.loadEmployeesFromCsv(filePath)));
+        }
+
+        List<List<Employee>> shards = new ArrayList<>(tasks.size());
+        int total = 0;
+        for (ForkJoinTask<List<Employee>> task : tasks) {
+            List<Employee> shard = join(task);
+            shards.add(shard);
+            total += shard.size();
+        }
+
+        checkUniqueIds(shards, total, filePaths);
+
+        List<Employee> employees = new ArrayList<>(total);
+        for (List<Employee> shard : shards) {
+            employees.addAll(shard);
+        }
+        logger.info("Merged {} employees from {} shards", employees.size(), shards.size());
+        return employees;
+    }
+
+    @Override
+    public void forEachEmployee(String filePath, Consumer<? super Employee> action) throws EmployeeDataException {
+        if (!isGlob(filePath)) {
+            delegate.forEachEmployee(filePath, action);
+            return;
+        }
+        for (String shard : expand(filePath)) {
+            delegate.forEachEmployee(shard, action);
+        }
+    }
+
+    /**
+     * @return {@code true} if the path contains glob characters and does not name an existing file,
+     *         so that files such as {@code data[2024].csv} are still read literally
+     */
+    public static boolean isGlob(String filePath) {
+        if (!hasGlobCharacters(filePath)) {
+            return false;
+        }
+        try {
+            return !Files.exists(Paths.get(filePath));
+        } catch (InvalidPathException e) {
+            return true;
+        }
+    }
+
+    private static boolean hasGlobCharacters(String filePath) {
+        for (int i = 0; i < filePath.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(filePath.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expands a glob to the regular files it matches. The glob is matched against paths relative to
+     * its longest leading directory without glob characters, so {@code exports/*.csv} only matches
+     * files directly in {@code exports} and {@code exports/**.csv} matches them at any depth. Without
+     * {@code **} the walk only descends as deep as the pattern has path segments.
+     *
+     * @return the matching files, sorted by path
+     * @throws EmployeeDataException if no file matches or the directory cannot be listed
+     */
+    static List<String> expand(String glob) throws EmployeeDataException {
+        String separators = "/" + File.separatorChar;
+        int firstGlob = 0;
+        while (GLOB_CHARACTERS.indexOf(glob.charAt(firstGlob)) < 0) {
+            firstGlob++;
+        }
+        int baseEnd = firstGlob;
+        while (baseEnd > 0 && separators.indexOf(glob.charAt(baseEnd - 1)) < 0) {
+            baseEnd--;
+        }
+
+        boolean relative = baseEnd == 0;
+        Path base = Paths.get(relative ? "." : glob.substring(0, baseEnd));
+        FileSystem fileSystem = base.getFileSystem();
+        String pattern = glob.substring(baseEnd);
+        PathMatcher matcher = fileSystem.getPathMatcher("glob:" + pattern);
+        try (Stream<Path> files = Files.walk(base, maxDepth(pattern, separators))) {
+            List<String> matches = files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> !SnapshotEmployeeDataService.isSnapshotFile(file))
+                    .filter(file -> matcher.matches(base.relativize(file)))
+                    .sorted()
+                    .map(file -> relative ? base.relativize(file).toString() : file.toString())
+                    .collect(Collectors.toList());
+            if (matches.isEmpty()) {
+                throw new EmployeeDataException("No CSV files match: " + glob);
+            }
+            return matches;
+        } catch (IOException | UncheckedIOException e) {
+            throw new EmployeeDataException("Failed to list CSV files matching: " + glob, e);
+        }
+    }
+
+    private static int maxDepth(String pattern, String separators) {
+        if (pattern.contains("**")) {
+            return Integer.MAX_VALUE;
+        }
+        int depth = 1;
+        for (int i = 0; i < pattern.length(); i++) {
+            if (separators.indexOf(pattern.charAt(i)) >= 0) {
+                depth++;
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Finds duplicate ids by sorting (id, shard) pairs packed into longs, so that a duplicate
+     * can be reported with both files involved.
+     */
+    private static void checkUniqueIds(List<List<Employee>> shards, int total, List<String> filePaths)
+            throws EmployeeDataException {
+        long[] keys = new long[total];
+        int next = 0;
+        for (int shardIndex = 0; shardIndex < shards.size(); shardIndex++) {
+            for (Employee employee : shards.get(shardIndex)) {
+                keys[next++] = ((long) employee.getId() << 32) | shardIndex;
+            }
+        }
+        Arrays.parallelSort(keys);
+
+        for (int i = 1; i < keys.length; i++) {
+            int id = (int) (keys[i] >> 32);
+            if (id == (int) (keys[i - 1] >> 32)) {
+                String first = filePaths.get((int) keys[i - 1]);
+                String second = filePaths.get((int) keys[i]);
+                throw new EmployeeDataException(first.equals(second)
+                        ? "Duplicate employee ID " + id + " in " + first
+                        : "Duplicate employee ID " + id + " in " + first + " and " + second);
+            }
+        }
+    }
+
+    private static List<Employee> join(ForkJoinTask<List<Employee>> task) throws EmployeeDataException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EmployeeDataException("Interrupted while loading CSV shards", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof EmployeeDataException) {
+                throw (EmployeeDataException) cause;
+            }
+            throw new EmployeeDataException("Failed to load CSV shard", cause);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.service.EmployeeDataException;
+import com.swissre.employee.service.EmployeeDataService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * EmployeeDataService decorator that keeps a compact binary snapshot of every successfully
+ * loaded CSV file and reloads it through a memory mapping on later runs.
+ * Snapshots are keyed by the CSV's size, modification time and content hash, so a changed
+ * file is re-parsed by the delegate and its snapshot rebuilt automatically.
+ * Snapshot problems are logged and never fail a load.
+ */
+public class SnapshotEmployeeDataService implements EmployeeDataService {
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotEmployeeDataService.class);
+    
+    static final String SNAPSHOT_SUFFIX = ".snapshot";
+    
+    private final EmployeeDataService delegate;
+    private final Path snapshotDirectory;
+    
+    /**
+     * Creates a service that stores each snapshot next to its CSV file.
+     *
+     * @param delegate the service used when no valid snapshot exists
+     */
+    public SnapshotEmployeeDataService(EmployeeDataService delegate) {
+        this(delegate, null);
+    }
+    
+    /**
+     * @param delegate the service used when no valid snapshot exists
+     * @param snapshotDirectory directory for snapshot files, or {@code null} to store them next to the CSV
+     */
+    public SnapshotEmployeeDataService(EmployeeDataService delegate, Path snapshotDirectory) {
+        this.delegate = delegate;
+        this.snapshotDirectory = snapshotDirectory;
+    }
+    
+    @Override
+    public List<Employee> loadEmployeesFromCsv(String filePath) throws EmployeeDataException {
+        Path source = Paths.get(filePath);
+        Path snapshot = snapshotPath(source);
+        
+        EmployeeSnapshotCodec.SourceKey key = sourceKey(source);
+        List<Employee> employees = key == null ? null : readSnapshot(snapshot, key);
+        if (employees != null) {
+            logger.info("Loaded {} employees from snapshot: {}", employees.size(), snapshot);
+            return employees;
+        }
+        
+        employees = delegate.loadEmployeesFromCsv(filePath);
+        if (key != null) {
+            writeSnapshot(snapshot, key, employees);
+        }
+        return employees;
+    }
+    
+    @Override
+    public void forEachEmployee(String filePath, Consumer<? super Employee> action) throws EmployeeDataException {
+        Path source = Paths.get(filePath);
+        EmployeeSnapshotCodec.SourceKey key = sourceKey(source);
+        EmployeeSnapshotCodec.Snapshot snapshot = key == null ? null : openSnapshot(snapshotPath(source), key);
+        if (snapshot != null) {
+            // Streamed from the mapping; the action's own exceptions are not mistaken for a bad snapshot
+            snapshot.forEach(action);
+        } else {
+            delegate.forEachEmployee(filePath, action);
+        }
+    }
+    
+    Path snapshotPath(Path source) {
+        if (snapshotDirectory == null) {
+            return source.resolveSibling(source.getFileName() + SNAPSHOT_SUFFIX);
+        }
+        // Files of the same name in different directories must not share a snapshot
+        String directoryHash = Integer.toHexString(source.toAbsolutePath().getParent().toString().hashCode());
+        return snapshotDirectory.resolve(source.getFileName() + "-" + directoryHash + SNAPSHOT_SUFFIX);
+    }
+    
+    /**
+     * @return {@code true} for snapshot files and the temporary files they are written through
+     */
+    static boolean isSnapshotFile(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.endsWith(SNAPSHOT_SUFFIX)
+                || fileName.contains(SNAPSHOT_SUFFIX) && fileName.endsWith(EmployeeSnapshotCodec.TEMPORARY_SUFFIX);
+    }
+    
+    private static EmployeeSnapshotCodec.SourceKey sourceKey(Path source) {
+        try {
+            return EmployeeSnapshotCodec.SourceKey.of(source);
+        } catch (IOException e) {
+            // Let the delegate report the underlying problem with the CSV file
+            return null;
+        }
+    }
+    
+    private static List<Employee> readSnapshot(Path snapshot, EmployeeSnapshotCodec.SourceKey key) {
+        EmployeeSnapshotCodec.Snapshot opened = openSnapshot(snapshot, key);
+        return opened == null ? null : opened.toList();
+    }
+    
+    private static EmployeeSnapshotCodec.Snapshot openSnapshot(Path snapshot, EmployeeSnapshotCodec.SourceKey key) {
+        try {
+            return EmployeeSnapshotCodec.open(snapshot, key);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable snapshot: {}", snapshot, e);
+            return null;
+        }
+    }
+    
+    private static void writeSnapshot(Path snapshot, EmployeeSnapshotCodec.SourceKey key, List<Employee> employees) {
+        try {
+            Files.createDirectories(snapshot.getParent());
+            if (EmployeeSnapshotCodec.write(snapshot, key, employees)) {
+                logger.info("Wrote snapshot of {} employees: {}", employees.size(), snapshot);
+            } else {
+                logger.info("Employees cannot be represented in a snapshot, skipping: {}", snapshot);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write snapshot: {}", snapshot, e);
+        }
+    }
+}
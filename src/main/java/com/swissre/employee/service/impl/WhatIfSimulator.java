@@ -0,0 +1,294 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeChange;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.model.WhatIfResult;
+import com.swissre.employee.model.WhatIfScenario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Simulates {@link WhatIfScenario}s against a shared, immutable organization.
+ * <p>
+ * The base index, the per-manager subordinate salary totals and the base salary issues are
+ * computed once. A scenario is applied as a small copy-on-write overlay of the employees it
+ * changes, and only the bands of the managers it touches are re-evaluated. One pass over the overlay
+ * collects each touched manager's net change in subordinate count and salary total, which then adjusts
+ * the base totals in constant time per manager, so a scenario costs time proportional to its size and
+ * the number of base issues, not to the organization.
+ * Results match {@link OrgAnalysisEngine#analyzeSalaryDiscrepancies(List)} run over the changed
+ * employee list.
+ * <p>
+ * Thread-safe; {@link #simulateAll(List)} runs scenarios in parallel.
+ */
+public class WhatIfSimulator {
+    private static final Logger logger = LoggerFactory.getLogger(WhatIfSimulator.class);
+
+    private final OrgIndex base;
+    private final ForkJoinPool pool;
+    private final long[] subordinateSalaryTotals;
+    private final int[] subordinateCounts;
+    // Employees whose manager is not part of the organization, by that manager's id; a hire may fill the gap
+    private final Map<Integer, List<Employee>> orphansByManagerId = new HashMap<>();
+    private final List<SalaryAnalysisResult> baseSalaryIssues;
+
+    public WhatIfSimulator(List<Employee> employees) {
+        this(OrgIndex.build(employees), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param base the organization the scenarios are applied to
+     * @param pool the pool scenarios are simulated on by {@link #simulateAll(List)}
+     */
+    public WhatIfSimulator(OrgIndex base, ForkJoinPool pool) {
+        this.base = base;
+        this.pool = pool;
+
+        int size = base.size();
+        this.subordinateSalaryTotals = new long[size];
+        this.subordinateCounts = new int[size];
+        for (int i = 0; i < size; i++) {
+            Employee employee = base.getEmployee(i);
+            int managerIndex = base.getManagerIndex(i);
+            if (managerIndex != OrgIndex.NO_MANAGER) {
+                subordinateSalaryTotals[managerIndex] = FixedPointSalaryMath.add(subordinateSalaryTotals[managerIndex],
+                        FixedPointSalaryMath.toMinorUnits(employee.getSalary()));
+                subordinateCounts[managerIndex]++;
+            } else if (!employee.isCEO()) {
+                orphansByManagerId.computeIfAbsent(employee.getManagerId(), id -> new ArrayList<>()).add(employee);
+            }
+        }
+        this.baseSalaryIssues = new OrgAnalysisEngine().analyzeSalaryDiscrepancies(base);
+    }
+
+    /**
+     * @return the salary issues of the unchanged organization, ordered by manager id
+     */
+    public List<SalaryAnalysisResult> getBaseSalaryIssues() {
+        return Collections.unmodifiableList(baseSalaryIssues);
+    }
+
+    /**
+     * Simulates several scenarios in parallel on the configured pool.
+     *
+     * @param scenarios the scenarios, each applied to the base organization on its own
+     * @return one result per scenario, in scenario order
+     * @throws IllegalArgumentException if a change refers to an unknown employee
+     * @throws IllegalStateException if a hire reuses an existing employee id
+     */
+    public List<WhatIfResult> simulateAll(List<WhatIfScenario> scenarios) {
+        logger.info("Simulating {} scenarios against {} employees ({} threads)", scenarios.size(), base.size(),
+                pool.getParallelism());
+        return pool.submit(() -> scenarios.parallelStream()
+                .map(this::simulate)
+                .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * Simulates one scenario.
+     *
+     * @param scenario the changes to apply to the base organization
+     * @return the salary issues the organization would have after the changes
+     * @throws IllegalArgumentException if a change refers to an unknown employee
+     * @throws IllegalStateException if a hire reuses an existing employee id
+     */
+    public WhatIfResult simulate(WhatIfScenario scenario) {
+        // Changed employees by id; a null value marks a termination
+        Map<Integer, Employee> overlay = new HashMap<>();
+        Set<Integer> touchedManagerIds = new HashSet<>();
+        for (EmployeeChange change : scenario.getChanges()) {
+            apply(change, overlay, touchedManagerIds);
+        }
+
+        List<SalaryAnalysisResult> salaryIssues = new ArrayList<>(baseSalaryIssues.size() + touchedManagerIds.size());
+        for (SalaryAnalysisResult issue : baseSalaryIssues) {
+            if (!touchedManagerIds.contains(issue.getManager().getId())) {
+                salaryIssues.add(issue);
+            }
+        }
+        Map<Integer, SubordinateDelta> deltas = subordinateDeltas(overlay);
+        for (int managerId : touchedManagerIds) {
+            SalaryAnalysisResult issue = evaluate(managerId, overlay, deltas.get(managerId));
+            if (issue != null) {
+                salaryIssues.add(issue);
+            }
+        }
+        salaryIssues.sort(DefaultSalaryAnalysisService.BY_MANAGER_ID);
+        return new WhatIfResult(scenario, salaryIssues);
+    }
+
+    private void apply(EmployeeChange change, Map<Integer, Employee> overlay, Set<Integer> touchedManagerIds) {
+        int id = change.getEmployeeId();
+        Employee current = current(id, overlay);
+        switch (change.getType()) {
+            case HIRE:
+                if (current != null) {
+                    throw new IllegalStateException("Duplicate employee ID: " + id);
+                }
+                overlay.put(id, change.getEmployee());
+                // The hire may be the missing manager of existing employees
+                touchedManagerIds.add(id);
+                addIfPresent(touchedManagerIds, change.getManagerId());
+                return;
+            case TERMINATE:
+                requireExisting(current, id);
+                overlay.put(id, null);
+                touchedManagerIds.add(id);
+                addIfPresent(touchedManagerIds, current.getManagerId());
+                return;
+            case SALARY_CHANGE:
+                requireExisting(current, id);
+                overlay.put(id, new Employee(id, current.getFirstName(), current.getLastName(),
+                        change.getSalary(), current.getManagerId()));
+                touchedManagerIds.add(id);
+                addIfPresent(touchedManagerIds, current.getManagerId());
+                return;
+            case MANAGER_CHANGE:
+                requireExisting(current, id);
+                overlay.put(id, new Employee(id, current.getFirstName(), current.getLastName(),
+                        current.getSalary(), change.getManagerId()));
+                addIfPresent(touchedManagerIds, current.getManagerId());
+                addIfPresent(touchedManagerIds, change.getManagerId());
+                return;
+            default:
+                throw new IllegalArgumentException("Unsupported change type: " + change.getType());
+        }
+    }
+
+    /**
+     * Collects, per manager, how the overlay changes the direct reports: employees that reported to the
+     * manager before the scenario are taken out, and those that do after it are put back in.
+     */
+    private Map<Integer, SubordinateDelta> subordinateDeltas(Map<Integer, Employee> overlay) {
+        Map<Integer, SubordinateDelta> deltas = new HashMap<>();
+        for (Map.Entry<Integer, Employee> entry : overlay.entrySet()) {
+            int baseIndex = base.indexOf(entry.getKey());
+            if (baseIndex >= 0 && base.getEmployee(baseIndex).getManagerId() != null) {
+                Employee before = base.getEmployee(baseIndex);
+                long salary = FixedPointSalaryMath.toMinorUnits(before.getSalary());
+                SubordinateDelta delta = deltas.computeIfAbsent(before.getManagerId(), id -> new SubordinateDelta());
+                delta.salaryTotal = salary == FixedPointSalaryMath.NOT_REPRESENTABLE
+                        ? FixedPointSalaryMath.NOT_REPRESENTABLE
+                        : FixedPointSalaryMath.add(delta.salaryTotal, -salary);
+                delta.count--;
+            }
+            Employee after = entry.getValue();
+            if (after != null && after.getManagerId() != null) {
+                SubordinateDelta delta = deltas.computeIfAbsent(after.getManagerId(), id -> new SubordinateDelta());
+                delta.salaryTotal = FixedPointSalaryMath.add(delta.salaryTotal,
+                        FixedPointSalaryMath.toMinorUnits(after.getSalary()));
+                delta.count++;
+                delta.joined.add(after);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Re-evaluates one manager by adjusting the base subordinate total with the manager's delta.
+     *
+     * @param delta the scenario's change to the manager's direct reports, or {@code null} for none
+     */
+    private SalaryAnalysisResult evaluate(int managerId, Map<Integer, Employee> overlay, SubordinateDelta delta) {
+        Employee manager = current(managerId, overlay);
+        if (manager == null) {
+            return null;
+        }
+
+        int managerIndex = base.indexOf(managerId);
+        long subordinateSalaryTotal = 0;
+        int subordinateCount = 0;
+        if (managerIndex >= 0) {
+            subordinateSalaryTotal = subordinateSalaryTotals[managerIndex];
+            subordinateCount = subordinateCounts[managerIndex];
+        } else {
+            for (Employee orphan : orphansByManagerId.getOrDefault(managerId, Collections.emptyList())) {
+                subordinateSalaryTotal = FixedPointSalaryMath.add(subordinateSalaryTotal,
+                        FixedPointSalaryMath.toMinorUnits(orphan.getSalary()));
+                subordinateCount++;
+            }
+        }
+        if (delta != null) {
+            subordinateSalaryTotal = FixedPointSalaryMath.add(subordinateSalaryTotal, delta.salaryTotal);
+            subordinateCount += delta.count;
+        }
+
+        if (subordinateCount == 0) {
+            return null;
+        }
+        if (subordinateSalaryTotal == FixedPointSalaryMath.NOT_REPRESENTABLE) {
+            return SalaryBandEvaluator.evaluate(manager, subordinates(managerId, managerIndex, overlay, delta));
+        }
+        return SalaryBandEvaluator.evaluate(index -> manager, 0, FixedPointSalaryMath.toMinorUnits(manager.getSalary()),
+                subordinateSalaryTotal, subordinateCount);
+    }
+
+    /**
+     * Lists a manager's direct reports after the scenario, for the BigDecimal fallback.
+     */
+    private List<Employee> subordinates(int managerId, int managerIndex, Map<Integer, Employee> overlay,
+                                        SubordinateDelta delta) {
+        List<Employee> subordinates = new ArrayList<>();
+        if (managerIndex >= 0) {
+            int offset = base.getChildOffset(managerIndex);
+            for (int position = offset; position < offset + base.getChildCount(managerIndex); position++) {
+                Employee subordinate = base.getEmployee(base.getChild(position));
+                if (!overlay.containsKey(subordinate.getId())) {
+                    subordinates.add(subordinate);
+                }
+            }
+        } else {
+            for (Employee orphan : orphansByManagerId.getOrDefault(managerId, Collections.emptyList())) {
+                if (!overlay.containsKey(orphan.getId())) {
+                    subordinates.add(orphan);
+                }
+            }
+        }
+        if (delta != null) {
+            subordinates.addAll(delta.joined);
+        }
+        return subordinates;
+    }
+
+    private Employee current(int id, Map<Integer, Employee> overlay) {
+        if (overlay.containsKey(id)) {
+            return overlay.get(id);
+        }
+        int index = base.indexOf(id);
+        return index >= 0 ? base.getEmployee(index) : null;
+    }
+
+    private static void requireExisting(Employee employee, int id) {
+        if (employee == null) {
+            throw new IllegalArgumentException("Unknown employee ID: " + id);
+        }
+    }
+
+    private static void addIfPresent(Set<Integer> ids, Integer id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Net change a scenario makes to one manager's direct reports.
+     */
+    private static final class SubordinateDelta {
+        long salaryTotal;
+        int count;
+        // Overlaid employees reporting to the manager after the scenario
+        final List<Employee> joined = new ArrayList<>(2);
+    }
+}
@@ -0,0 +1,96 @@
+package com.swissre.employee.watch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waits for changes to a single file using a {@link WatchService} on its directory.
+ * Bursts of events (an editor or export job writing in several steps) are debounced:
+ * a change is only reported once the file has not been touched for the debounce interval.
+ * Events for other files in the same directory are ignored.
+ */
+public class FileChangeWatcher implements Closeable {
+    private final Path file;
+    private final Path fileName;
+    private final Path directory;
+    private final long debounceNanos;
+    private final WatchService watchService;
+
+    /**
+     * Starts watching. Changes made after the constructor returns are reported by
+     * {@link #awaitChange()}, even if they happen before it is called.
+     *
+     * @param file the file to watch
+     * @param debounce how long the file must stay quiet before a change is reported
+     */
+    public FileChangeWatcher(Path file, Duration debounce) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.fileName = this.file.getFileName();
+        this.directory = this.file.getParent();
+        this.debounceNanos = debounce.toNanos();
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /**
+     * Blocks until the file has changed and then stayed unchanged for the debounce interval.
+     * Changes that leave the file deleted are not reported.
+     *
+     * @throws IOException if the directory can no longer be watched
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void awaitChange() throws IOException, InterruptedException {
+        while (true) {
+            if (!concernsFile(watchService.take())) {
+                continue;
+            }
+
+            long quietUntil = System.nanoTime() + debounceNanos;
+            while (true) {
+                long remaining = quietUntil - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                WatchKey key = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+                if (key == null) {
+                    break;
+                }
+                if (concernsFile(key)) {
+                    quietUntil = System.nanoTime() + debounceNanos;
+                }
+            }
+
+            if (Files.exists(file)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private boolean concernsFile(WatchKey key) throws IOException {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // Lost events may have included the file
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                relevant = true;
+            }
+        }
+        if (!key.reset()) {
+            throw new IOException("Directory can no longer be watched: " + directory);
+        }
+        return relevant;
+    }
+}
@@ -0,0 +1,64 @@
+package com.swissre.employee.watch;
+
+import com.swissre.employee.EmployeeAnalysisApplication;
+import com.swissre.employee.config.CommandLineOptions;
+import com.swissre.employee.model.AnalysisTimings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Keeps the application running and re-analyzes the CSV file whenever it changes.
+ * The JVM, loaded classes and JIT-compiled code stay warm between runs, and unchanged
+ * input is served from the data service's snapshot if it has one.
+ */
+public class WatchModeRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WatchModeRunner.class);
+
+    private final EmployeeAnalysisApplication application;
+    private final Duration debounce;
+    private final CommandLineOptions.Stats stats;
+
+    public WatchModeRunner(EmployeeAnalysisApplication application, Duration debounce) {
+        this(application, debounce, CommandLineOptions.Stats.NONE);
+    }
+
+    /**
+     * @param stats the run statistics to print after each run, in addition to its one-line summary
+     */
+    public WatchModeRunner(EmployeeAnalysisApplication application, Duration debounce, CommandLineOptions.Stats stats) {
+        this.application = application;
+        this.debounce = debounce;
+        this.stats = stats;
+    }
+
+    /**
+     * Analyzes the file once, then again after every debounced change, until interrupted.
+     *
+     * @param csvFilePath the CSV file to analyze
+     * @throws IOException if the file's directory cannot be watched
+     * @throws InterruptedException when the thread is interrupted
+     */
+    public void run(String csvFilePath) throws IOException, InterruptedException {
+        try (FileChangeWatcher watcher = new FileChangeWatcher(Paths.get(csvFilePath), debounce)) {
+            for (int run = 1; ; run++) {
+                AnalysisTimings timings = application.runTimedAnalysis(csvFilePath);
+                if (timings != null) {
+                    logger.info("Run {} finished: {}", run, timings);
+                    // Standard error, so that machine-readable reports on standard out stay intact
+                    System.err.printf("Run %d finished: %s%n", run, timings);
+                    if (stats != CommandLineOptions.Stats.NONE) {
+                        application.printStatistics(timings, stats == CommandLineOptions.Stats.JSON);
+                    }
+                }
+
+                System.err.printf("Watching %s for changes...%n", csvFilePath);
+                watcher.awaitChange();
+                logger.info("Change detected in {}", csvFilePath);
+            }
+        }
+    }
+}
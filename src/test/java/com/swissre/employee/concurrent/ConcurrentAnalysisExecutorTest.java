@@ -0,0 +1,141 @@
+package com.swissre.employee.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentAnalysisExecutorTest {
+
+    private final ExecutorService threads = VirtualThreadExecutors.newThreadPerTaskExecutor("analysis-test");
+
+    @AfterEach
+    void tearDown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void testAnalysesRunConcurrently() {
+        ConcurrentAnalysisExecutor executor = new ConcurrentAnalysisExecutor(threads);
+        // Each analysis waits for the other, so this only completes if they overlap
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        Supplier<String> salary = () -> awaitThen(bothRunning, "salary");
+        Supplier<String> reportingLine = () -> awaitThen(bothRunning, "reporting line");
+
+        List<String> results = executor.invokeAll(Arrays.asList(salary, reportingLine));
+
+        assertEquals(Arrays.asList("salary", "reporting line"), results);
+    }
+
+    @Test
+    void testFirstFailureIsRethrownAndOthersCancelled() throws InterruptedException {
+        ExecutorService singleThread = Executors.newSingleThreadExecutor();
+        try {
+            ConcurrentAnalysisExecutor executor = new ConcurrentAnalysisExecutor(singleThread);
+            IllegalStateException failure = new IllegalStateException("analysis failed");
+            AtomicBoolean laterAnalysisRan = new AtomicBoolean();
+
+            CompletableFuture<String> failing = executor.submit(() -> {
+                throw failure;
+            });
+            CompletableFuture<String> later = executor.submit(() -> {
+                laterAnalysisRan.set(true);
+                return "never needed";
+            });
+
+            IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> executor.awaitAll(failing, later));
+            assertSame(failure, thrown);
+            singleThread.shutdown();
+            assertTrue(singleThread.awaitTermination(5, TimeUnit.SECONDS));
+            assertTrue(later.isCancelled() || laterAnalysisRan.get());
+        } finally {
+            singleThread.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailureDoesNotWaitForSlowAnalysis() {
+        ConcurrentAnalysisExecutor executor = new ConcurrentAnalysisExecutor(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = executor.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        });
+        CompletableFuture<String> failing = executor.submit(() -> {
+            throw new IllegalArgumentException("bad input");
+        });
+
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(5),
+                () -> assertThrows(IllegalArgumentException.class, () -> executor.awaitAll(slow, failing)));
+        assertTrue(slow.isCancelled());
+        release.countDown();
+    }
+
+    @Test
+    void testAwaitReturnsOneResultWhileOthersRun() {
+        ConcurrentAnalysisExecutor executor = new ConcurrentAnalysisExecutor(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = executor.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        });
+        CompletableFuture<String> fast = executor.submit(() -> "fast");
+
+        String result = assertTimeoutPreemptively(java.time.Duration.ofSeconds(5), () -> executor.await(fast, slow));
+
+        assertEquals("fast", result);
+        assertFalse(slow.isDone());
+        release.countDown();
+        assertEquals("slow", executor.await(slow));
+    }
+
+    @Test
+    void testAwaitFailsFastWhenOtherAnalysisFails() {
+        ConcurrentAnalysisExecutor executor = new ConcurrentAnalysisExecutor(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slow = executor.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "slow";
+        });
+        CompletableFuture<String> failing = executor.submit(() -> {
+            throw new IllegalArgumentException("bad input");
+        });
+
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(5),
+                () -> assertThrows(IllegalArgumentException.class, () -> executor.await(slow, failing)));
+        assertTrue(slow.isCancelled());
+        release.countDown();
+    }
+
+    private static String awaitThen(CyclicBarrier barrier, String result) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+            return result;
+        } catch (Exception e) {
+            throw new IllegalStateException("Analyses did not overlap", e);
+        }
+    }
+}
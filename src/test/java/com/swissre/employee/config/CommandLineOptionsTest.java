@@ -0,0 +1,112 @@
+package com.swissre.employee.config;
+
+import com.swissre.employee.report.ReportFormat;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandLineOptionsTest {
+
+    @Test
+    void testSingleFileDefaults() {
+        CommandLineOptions options = CommandLineOptions.parse(new String[]{"employees.csv"});
+
+        assertEquals("employees.csv", options.getCsvFilePath());
+        assertFalse(options.isWatch());
+        assertEquals(CommandLineOptions.DEFAULT_DEBOUNCE, options.getDebounce());
+        assertNull(options.getServerPort());
+        assertNull(options.getCacheDirectory());
+        assertEquals(ReportFormat.TEXT, options.getReportFormat());
+    }
+
+    @Test
+    void testWatchWithDebounce() {
+        CommandLineOptions options = CommandLineOptions.parse(new String[]{"--watch", "employees.csv", "--debounce-ms=250"});
+
+        assertEquals("employees.csv", options.getCsvFilePath());
+        assertTrue(options.isWatch());
+        assertEquals(Duration.ofMillis(250), options.getDebounce());
+    }
+
+    @Test
+    void testWatchRejectsGlob() {
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--watch", "shards/*.csv"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> CommandLineOptions.parse(new String[]{"--serve=8080", "--watch", "shards/*.csv"}));
+        assertEquals("shards/*.csv", CommandLineOptions.parse(new String[]{"--serve=8080", "shards/*.csv"}).getCsvFilePath());
+    }
+
+    @Test
+    void testServe() {
+        CommandLineOptions options = CommandLineOptions.parse(new String[]{"--serve=8080", "employees.csv"});
+
+        assertEquals(Integer.valueOf(8080), options.getServerPort());
+        assertNull(options.getServerHost());
+        assertEquals("0.0.0.0", CommandLineOptions.parse(new String[]{"--serve=8080", "--host=0.0.0.0", "a.csv"}).getServerHost());
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--host=0.0.0.0", "a.csv"}));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--serve=8080", "--host=", "a.csv"}));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--serve=70000", "a.csv"}));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--serve=http", "a.csv"}));
+    }
+
+    @Test
+    void testCache() {
+        CommandLineOptions options = CommandLineOptions.parse(new String[]{"--cache=.analysis-cache", "employees.csv"});
+
+        assertEquals(Paths.get(".analysis-cache"), options.getCacheDirectory());
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--cache=", "a.csv"}));
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals(ReportFormat.JSONL, CommandLineOptions.parse(new String[]{"--format=jsonl", "a.csv"}).getReportFormat());
+        assertEquals(ReportFormat.CSV, CommandLineOptions.parse(new String[]{"--format=CSV", "a.csv"}).getReportFormat());
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--format=xml", "a.csv"}));
+    }
+
+    @Test
+    void testPolicies() {
+        CommandLineOptions options = CommandLineOptions.parse(new String[]{"--policies=policies.properties", "employees.csv"});
+
+        assertEquals(Paths.get("policies.properties"), options.getPoliciesFile());
+        assertNull(CommandLineOptions.parse(new String[]{"employees.csv"}).getPoliciesFile());
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--policies=", "a.csv"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> CommandLineOptions.parse(new String[]{"--policies=policies.properties", "--format=jsonl", "a.csv"}));
+    }
+
+    @Test
+    void testStats() {
+        assertEquals(CommandLineOptions.Stats.NONE, CommandLineOptions.parse(new String[]{"a.csv"}).getStats());
+        assertEquals(CommandLineOptions.Stats.TEXT, CommandLineOptions.parse(new String[]{"--stats", "a.csv"}).getStats());
+        assertEquals(CommandLineOptions.Stats.JSON, CommandLineOptions.parse(new String[]{"--stats=json", "a.csv"}).getStats());
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--stats=xml", "a.csv"}));
+        assertEquals(CommandLineOptions.Stats.TEXT, CommandLineOptions.parse(new String[]{"--stats", "--watch", "a.csv"}).getStats());
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--stats", "--serve=8080", "a.csv"}));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--stats", "--policies=p.properties", "a.csv"}));
+    }
+
+    @Test
+    void testConcurrent() {
+        assertNull(CommandLineOptions.parse(new String[]{"a.csv"}).getAnalysisThreads());
+        assertEquals(0, CommandLineOptions.parse(new String[]{"--concurrent", "a.csv"}).getAnalysisThreads());
+        assertEquals(4, CommandLineOptions.parse(new String[]{"--concurrent=4", "a.csv"}).getAnalysisThreads());
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--concurrent=0", "a.csv"}));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--concurrent=many", "a.csv"}));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[0]));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"a.csv", "b.csv"}));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--verbose", "a.csv"}));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--debounce-ms=soon", "a.csv"}));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--debounce-ms=-1", "a.csv"}));
+        assertThrows(IllegalArgumentException.class, () -> CommandLineOptions.parse(new String[]{"--debounce-ms=250", "a.csv"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> CommandLineOptions.parse(new String[]{"--serve=8080", "--debounce-ms=250", "a.csv"}));
+    }
+}
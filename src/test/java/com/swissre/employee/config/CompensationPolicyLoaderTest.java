@@ -0,0 +1,56 @@
+package com.swissre.employee.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompensationPolicyLoaderTest {
+
+    @Test
+    void testParsePolicies() throws IOException {
+        List<CompensationPolicy> policies = CompensationPolicyLoader.parse(properties(
+                "policies=standard, tight\n"
+                        + "tight.minimumIncrease=0.25\n"
+                        + "tight.maximumIncrease=0.40\n"
+                        + "tight.maximumReportingLineLength=3\n"
+                        + "tight.level.0.maximumIncrease=0.80\n"));
+
+        assertEquals(2, policies.size());
+        CompensationPolicy standard = policies.get(0);
+        assertEquals("standard", standard.getName());
+        assertEquals(SalaryBand.STANDARD, standard.getDefaultBand());
+        assertEquals(AnalysisConfig.MAXIMUM_REPORTING_LINE_LENGTH, standard.getMaximumReportingLineLength());
+        assertTrue(standard.getLevelBands().isEmpty());
+
+        CompensationPolicy tight = policies.get(1);
+        assertEquals("tight", tight.getName());
+        assertEquals(new SalaryBand(new BigDecimal("0.25"), new BigDecimal("0.40")), tight.getDefaultBand());
+        assertEquals(3, tight.getMaximumReportingLineLength());
+        // The level band inherits the minimum from the policy's own band
+        assertEquals(new SalaryBand(new BigDecimal("0.25"), new BigDecimal("0.80")), tight.getBand(0));
+        assertEquals(tight.getDefaultBand(), tight.getBand(1));
+    }
+
+    @Test
+    void testInvalidPolicies() {
+        assertThrows(IllegalArgumentException.class, () -> CompensationPolicyLoader.parse(properties("")));
+        assertThrows(IllegalArgumentException.class, () -> CompensationPolicyLoader.parse(properties(
+                "policies=a\na.minimumIncrease=abc\n")));
+        assertThrows(IllegalArgumentException.class, () -> CompensationPolicyLoader.parse(properties(
+                "policies=a\na.minimumIncrease=0.6\n")));
+        assertThrows(IllegalArgumentException.class, () -> CompensationPolicyLoader.parse(properties(
+                "policies=a\na.level.x.minimumIncrease=0.1\n")));
+    }
+
+    private static Properties properties(String text) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(text));
+        return properties;
+    }
+}
@@ -1,9 +1,14 @@
 package com.swissre.employee.integration;
 
 import com.swissre.employee.EmployeeAnalysisApplication;
+import com.swissre.employee.concurrent.ConcurrentAnalysisExecutor;
+import com.swissre.employee.concurrent.VirtualThreadExecutors;
+import com.swissre.employee.model.AnalysisTimings;
+import com.swissre.employee.report.ReportFormat;
 import com.swissre.employee.service.impl.CsvEmployeeDataService;
 import com.swissre.employee.service.impl.DefaultReportingLineAnalysisService;
 import com.swissre.employee.service.impl.DefaultSalaryAnalysisService;
+import com.swissre.employee.service.impl.OrgAnalysisEngine;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -12,7 +17,11 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -62,4 +71,90 @@ class EmployeeAnalysisApplicationIntegrationTest {
             System.setOut(originalOut);
         }
     }
+
+    @Test
+    void testTimedAnalysisRecordsMetrics() throws IOException {
+        String csvContent = "id,firstName,lastName,salary,managerId\n" +
+                "123,Joe,Doe,60000,\n" +
+                "124,Martin,Chekov,45000,123\n" +
+                "125,Bob,Ronstad,47000,123\n" +
+                "300,Alice,Hasacat,50000,124\n" +
+                "305,Brett,Hardleaf,34000,300\n";
+        Path csvFile = tempDir.resolve("timed-employees.csv");
+        Files.write(csvFile, csvContent.getBytes());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outputStream));
+
+        try {
+            EmployeeAnalysisApplication app = new EmployeeAnalysisApplication(
+                    new CsvEmployeeDataService(),
+                    new DefaultSalaryAnalysisService(),
+                    new DefaultReportingLineAnalysisService()
+            );
+
+            AnalysisTimings timings = app.runTimedAnalysis(csvFile.toString());
+
+            assertNotNull(timings);
+            assertTrue(outputStream.toString().contains("ANALYSIS COMPLETE"));
+            assertEquals(5, timings.getEmployeeCount());
+            assertEquals(Files.size(csvFile), timings.getBytesRead());
+            assertTrue(timings.getNanos(AnalysisTimings.Phase.LOAD) > 0);
+            assertTrue(timings.getNanos(AnalysisTimings.Phase.REPORT) > 0);
+            assertEquals(1, app.getMetrics().getRunCount());
+            assertSame(timings, app.getMetrics().getLastTimings());
+
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    @Test
+    void testConcurrentAnalysisMatchesSequential() throws IOException {
+        String csvContent = "id,firstName,lastName,salary,managerId\n" +
+                "123,Joe,Doe,60000,\n" +
+                "124,Martin,Chekov,45000,123\n" +
+                "125,Bob,Ronstad,47000,123\n" +
+                "300,Alice,Hasacat,50000,124\n" +
+                "305,Brett,Hardleaf,34000,300\n" +
+                "306,Anna,Deep,30000,305\n" +
+                "307,Carl,Deeper,20000,306\n";
+        Path csvFile = tempDir.resolve("concurrent-employees.csv");
+        Files.write(csvFile, csvContent.getBytes());
+
+        ExecutorService threads = VirtualThreadExecutors.newThreadPerTaskExecutor("analysis-test");
+        try {
+            ConcurrentAnalysisExecutor executor = new ConcurrentAnalysisExecutor(threads);
+            String sequential = capture(new EmployeeAnalysisApplication(new CsvEmployeeDataService(),
+                    new OrgAnalysisEngine(), ReportFormat.JSONL), csvFile);
+            String concurrentEngine = capture(new EmployeeAnalysisApplication(new CsvEmployeeDataService(),
+                    new OrgAnalysisEngine(), ReportFormat.JSONL, executor), csvFile);
+            String concurrentServices = capture(new EmployeeAnalysisApplication(new CsvEmployeeDataService(),
+                    new DefaultSalaryAnalysisService(), new DefaultReportingLineAnalysisService(), ReportFormat.JSONL, executor), csvFile);
+
+            assertTrue(sequential.contains("reportingLineIssue"));
+            assertEquals(sequential, concurrentEngine);
+            assertEquals(sequential, concurrentServices);
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    private static String capture(EmployeeAnalysisApplication app, Path csvFile) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outputStream));
+        try {
+            assertNotNull(app.runTimedAnalysis(csvFile.toString()));
+            // Logging goes to standard error, so standard out holds nothing but the report
+            String output = outputStream.toString();
+            for (String line : output.split("\\R")) {
+                assertTrue(line.startsWith("{"), line);
+            }
+            return output;
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package com.swissre.employee.metrics;
+
+import com.swissre.employee.model.AnalysisTimings;
+import com.swissre.employee.model.AnalysisTimings.Phase;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisMetricsTest {
+
+    @Test
+    void testRecorderAttributesTimeToPhases() throws InterruptedException {
+        PhaseRecorder recorder = new PhaseRecorder();
+        recorder.start(Phase.LOAD);
+        List<long[]> garbage = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            garbage.add(new long[1024]);
+        }
+        recorder.start(Phase.SALARY_ANALYSIS);
+        Thread.sleep(20);
+
+        AnalysisTimings timings = recorder.finish(garbage.size(), 4096);
+
+        assertTrue(timings.getNanos(Phase.SALARY_ANALYSIS) >= 20_000_000L);
+        assertEquals(0, timings.getNanos(Phase.INDEX));
+        assertEquals(timings.getTotalNanos(), timings.getLoadNanos() + timings.getAnalysisNanos() + timings.getReportNanos());
+        assertEquals(4096, timings.getBytesRead());
+        if (PhaseRecorder.isAllocationMeasurementSupported()) {
+            assertTrue(timings.getAllocatedBytes(Phase.LOAD) >= 100 * 1024 * 8);
+            assertEquals(0, timings.getAllocatedBytes(Phase.REPORT));
+        } else {
+            assertEquals(AnalysisTimings.UNKNOWN, timings.getTotalAllocatedBytes());
+        }
+    }
+
+    @Test
+    void testRecorderCountsAllocationsOfOtherThreads() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            // Start the pool thread before the phase, as a long-lived worker would be
+            pool.submit(() -> { }).get();
+            PhaseRecorder recorder = new PhaseRecorder();
+            recorder.start(Phase.CONCURRENT_ANALYSIS);
+            int allocated = pool.submit(() -> {
+                List<long[]> garbage = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    garbage.add(new long[1024]);
+                }
+                return garbage.size();
+            }).get();
+
+            AnalysisTimings timings = recorder.finish(allocated, AnalysisTimings.UNKNOWN);
+
+            if (PhaseRecorder.isAllocationMeasurementSupported()) {
+                assertTrue(timings.getAllocatedBytes(Phase.CONCURRENT_ANALYSIS) >= 100 * 1024 * 8);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testPublishedOverJmx() throws Exception {
+        AnalysisMetrics metrics = new AnalysisMetrics();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = metrics.register(server);
+        try {
+            long[] nanos = {2_000_000, 1_000_000, 3_000_000, 4_000_000, 0, 500_000};
+            metrics.record(new AnalysisTimings(1000, 64_000, nanos, null));
+            metrics.recordFailure();
+
+            assertEquals(2L, server.getAttribute(name, "RunCount"));
+            assertEquals(1L, server.getAttribute(name, "FailedRunCount"));
+            assertEquals(1000, server.getAttribute(name, "LastEmployeeCount"));
+            assertEquals(64_000L, server.getAttribute(name, "LastBytesRead"));
+            assertEquals(500_000.0, (Double) server.getAttribute(name, "LastRowsPerSecond"), 1e-6);
+            assertEquals(3.0, (Double) server.getAttribute(name, "LastSalaryAnalysisMillis"), 1e-9);
+            assertEquals(10.5, (Double) server.getAttribute(name, "LastTotalMillis"), 1e-9);
+            assertEquals(-1L, server.getAttribute(name, "LastAllocatedBytes"));
+            assertTrue(((String) server.getAttribute(name, "LastRunJson")).startsWith("{\"employees\":1000,\"bytesRead\":64000"));
+
+            // Registering again replaces the earlier metrics
+            new AnalysisMetrics().register(server);
+            assertEquals(0L, server.getAttribute(name, "RunCount"));
+        } finally {
+            metrics.unregister(server);
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,118 @@
+package com.swissre.employee.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AncestorIndexTest {
+
+    @Test
+    void testQueries() {
+        OrgIndex index = OrgIndex.build(Arrays.asList(
+                new Employee(1, "Chief", "Executive", new BigDecimal("100000"), null),
+                new Employee(2, "Left", "Manager", new BigDecimal("60000"), 1),
+                new Employee(3, "Right", "Manager", new BigDecimal("60000"), 1),
+                new Employee(4, "Left", "Report", new BigDecimal("40000"), 2),
+                new Employee(5, "Left", "Deep", new BigDecimal("30000"), 4),
+                new Employee(6, "Right", "Report", new BigDecimal("30000"), 3),
+                new Employee(7, "Orphan", "Report", new BigDecimal("30000"), 99)));
+        AncestorIndex ancestors = AncestorIndex.build(index);
+        int ceo = index.indexOf(1);
+        int left = index.indexOf(2);
+        int deep = index.indexOf(5);
+        int rightReport = index.indexOf(6);
+        int orphan = index.indexOf(7);
+
+        assertEquals(3, ancestors.getDepth(deep));
+        assertEquals(deep, ancestors.getKthManager(deep, 0));
+        assertEquals(index.indexOf(4), ancestors.getKthManager(deep, 1));
+        assertEquals(ceo, ancestors.getKthManager(deep, 3));
+        assertEquals(AncestorIndex.NO_MANAGER, ancestors.getKthManager(deep, 4));
+
+        assertTrue(ancestors.isInReportingChain(left, deep));
+        assertTrue(ancestors.isInReportingChain(ceo, rightReport));
+        assertFalse(ancestors.isInReportingChain(left, rightReport));
+        assertFalse(ancestors.isInReportingChain(deep, deep));
+
+        assertEquals(ceo, ancestors.getLowestCommonManager(deep, rightReport));
+        assertEquals(left, ancestors.getLowestCommonManager(left, deep));
+        assertEquals(deep, ancestors.getLowestCommonManager(deep, deep));
+        assertEquals(AncestorIndex.NO_MANAGER, ancestors.getLowestCommonManager(deep, orphan));
+
+        assertArrayEquals(new int[]{ceo, AncestorIndex.NO_MANAGER},
+                ancestors.getKthManagers(new int[]{deep, orphan}, new int[]{3, 1}));
+        assertArrayEquals(new boolean[]{true, false},
+                ancestors.areInReportingChain(new int[]{left, left}, new int[]{deep, rightReport}));
+        assertArrayEquals(new int[]{ceo, left},
+                ancestors.getLowestCommonManagers(new int[]{deep, left}, new int[]{rightReport, deep}));
+    }
+
+    @Test
+    void testCircularReferencesAreRejected() {
+        OrgIndex index = OrgIndex.build(Arrays.asList(
+                new Employee(1, "Chief", "Executive", new BigDecimal("100000"), null),
+                new Employee(2, "Loop", "One", new BigDecimal("50000"), 3),
+                new Employee(3, "Loop", "Two", new BigDecimal("50000"), 2)));
+        AncestorIndex ancestors = AncestorIndex.build(index);
+
+        assertTrue(ancestors.contains(0));
+        assertFalse(ancestors.contains(1));
+        assertThrows(IllegalArgumentException.class, () -> ancestors.getKthManager(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> ancestors.getLowestCommonManager(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> ancestors.getKthManager(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> ancestors.getKthManagers(new int[1], new int[2]));
+    }
+
+    @Test
+    void testMatchesNaiveWalksOnRandomDeepOrganization() {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1, "Chief", "Executive", new BigDecimal("200000"), null));
+        for (int id = 2; id <= 3000; id++) {
+            int managerId = random.nextInt(8) == 0 ? 1 + random.nextInt(id - 1) : id - 1;
+            employees.add(new Employee(id, "E", "E" + id, new BigDecimal("30000"), managerId));
+        }
+        OrgIndex index = OrgIndex.build(employees);
+        AncestorIndex ancestors = AncestorIndex.build(index);
+
+        int queries = 20_000;
+        int[] first = new int[queries];
+        int[] second = new int[queries];
+        int[] levels = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            first[i] = random.nextInt(index.size());
+            second[i] = random.nextInt(index.size());
+            levels[i] = random.nextInt(3000);
+        }
+        int[] kthManagers = ancestors.getKthManagers(first, levels);
+        int[] commonManagers = ancestors.getLowestCommonManagers(first, second);
+        boolean[] inChain = ancestors.areInReportingChain(second, first);
+
+        for (int i = 0; i < queries; i += 7) {
+            List<Integer> chain = chainOf(index, first[i]);
+            assertEquals(levels[i] < chain.size() ? chain.get(levels[i]) : AncestorIndex.NO_MANAGER, kthManagers[i]);
+            assertEquals(chain.indexOf(second[i]) > 0, inChain[i]);
+
+            Set<Integer> secondChain = new HashSet<>(chainOf(index, second[i]));
+            int expected = chain.stream().filter(secondChain::contains).findFirst().orElse(AncestorIndex.NO_MANAGER);
+            assertEquals(expected, commonManagers[i]);
+        }
+    }
+
+    /** The employee followed by its managers, bottom-up. */
+    private static List<Integer> chainOf(OrgIndex index, int employee) {
+        List<Integer> chain = new ArrayList<>();
+        for (int current = employee; current != OrgIndex.NO_MANAGER; current = index.getManagerIndex(current)) {
+            chain.add(current);
+        }
+        return chain;
+    }
+}
@@ -0,0 +1,70 @@
+package com.swissre.employee.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeTableTest {
+
+    @Test
+    void testColumnsAndManagerResolution() {
+        List<Employee> employees = Arrays.asList(
+                new Employee(10, "Jane", "Smith", new BigDecimal("100000"), null),
+                new Employee(20, "John", "Smith", new BigDecimal("50000.5"), 10),
+                new Employee(30, "Jane", "Doe", new BigDecimal("40000.25"), 99));
+
+        EmployeeTable table = EmployeeTable.fromEmployees(employees);
+
+        assertEquals(3, table.size());
+        assertEquals(1, table.indexOf(20));
+        assertEquals(-1, table.indexOf(99));
+        assertTrue(table.isCEO(0));
+        assertEquals(EmployeeTable.NO_MANAGER, table.getManagerIndex(0));
+        assertEquals(0, table.getManagerIndex(1));
+        assertEquals(EmployeeTable.NO_MANAGER, table.getManagerIndex(2));
+        assertEquals(Integer.valueOf(99), table.getManagerId(2));
+        assertEquals(5000050L, table.getSalaryMinorUnits(1));
+        assertEquals(4, table.getDistinctNameCount());
+    }
+
+    @Test
+    void testToEmployeeRoundTrip() {
+        Employee original = new Employee(7, "Alice", "Hasacat", new BigDecimal("50000"), 3);
+
+        Employee restored = EmployeeTable.fromEmployees(Arrays.asList(original)).toEmployee(0);
+
+        assertEquals(original, restored);
+        assertEquals("Alice Hasacat", restored.getFullName());
+        assertEquals(0, original.getSalary().compareTo(restored.getSalary()));
+        assertEquals(Integer.valueOf(3), restored.getManagerId());
+    }
+
+    @Test
+    void testSalaryWithTooManyDecimalPlacesIsKeptExactly() {
+        List<Employee> employees = Arrays.asList(
+                new Employee(1, "John", "Doe", new BigDecimal("100.125"), null),
+                new Employee(2, "Jane", "Doe", new BigDecimal("1e30"), 1),
+                new Employee(3, "Ann", "Lee", new BigDecimal("100.5"), 1));
+
+        EmployeeTable table = EmployeeTable.fromEmployees(employees);
+
+        assertEquals(EmployeeTable.SALARY_NOT_REPRESENTABLE, table.getSalaryMinorUnits(0));
+        assertEquals(new BigDecimal("100.125"), table.getSalary(0));
+        assertEquals(new BigDecimal("1e30"), table.toEmployee(1).getSalary());
+        assertEquals(10050L, table.getSalaryMinorUnits(2));
+        assertEquals(new BigDecimal("100.50"), table.getSalary(2));
+    }
+
+    @Test
+    void testDuplicateIds() {
+        List<Employee> employees = Arrays.asList(
+                new Employee(1, "John", "Doe", new BigDecimal("100"), null),
+                new Employee(1, "Jane", "Doe", new BigDecimal("100"), null));
+
+        assertThrows(IllegalStateException.class, () -> EmployeeTable.fromEmployees(employees));
+    }
+}
@@ -19,6 +19,14 @@ class EmployeeTest {
         assertFalse(employee.isCEO());
     }
     
+    @Test
+    void testFullNameIsCached() {
+        Employee employee = new Employee(1, "John", "Doe", new BigDecimal("50000"), 2);
+        
+        assertEquals("John Doe", employee.getFullName());
+        assertSame(employee.getFullName(), employee.getFullName());
+    }
+    
     @Test
     void testCEOEmployee() {
         Employee ceo = new Employee(1, "Jane", "Smith", new BigDecimal("100000"), null);
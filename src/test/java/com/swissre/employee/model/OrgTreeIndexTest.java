@@ -0,0 +1,114 @@
+package com.swissre.employee.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrgTreeIndexTest {
+
+    @Test
+    void testSubtreeQueries() {
+        OrgIndex index = OrgIndex.build(Arrays.asList(
+                new Employee(1, "Chief", "Executive", new BigDecimal("100000"), null),
+                new Employee(2, "Left", "Manager", new BigDecimal("60000"), 1),
+                new Employee(3, "Right", "Manager", new BigDecimal("61000.50"), 1),
+                new Employee(4, "Left", "Report", new BigDecimal("40000"), 2),
+                new Employee(5, "Left", "Deep", new BigDecimal("30000"), 4)));
+        OrgTreeIndex tree = OrgTreeIndex.build(index);
+        int ceo = index.indexOf(1);
+        int left = index.indexOf(2);
+        int right = index.indexOf(3);
+        int deep = index.indexOf(5);
+
+        assertEquals(4, tree.getTransitiveHeadcount(ceo));
+        assertEquals(2, tree.getTransitiveHeadcount(left));
+        assertEquals(0, tree.getTransitiveHeadcount(right));
+        assertEquals(new BigDecimal("291000.50"), tree.getSubtreePayroll(ceo));
+        assertEquals(new BigDecimal("130000.00"), tree.getSubtreePayroll(left));
+
+        assertTrue(tree.isInSubtree(ceo, deep));
+        assertTrue(tree.isInSubtree(left, deep));
+        assertTrue(tree.isInSubtree(left, left));
+        assertFalse(tree.isInSubtree(right, deep));
+        assertFalse(tree.isInSubtree(deep, left));
+
+        assertEquals(Arrays.asList(4, 5), ids(tree.getTransitiveSubordinates(left)));
+    }
+
+    @Test
+    void testCyclesAreLeftOutAndOrphansTopTheirOwnTree() {
+        OrgIndex index = OrgIndex.build(Arrays.asList(
+                new Employee(1, "Chief", "Executive", new BigDecimal("100000"), null),
+                new Employee(2, "Loop", "One", new BigDecimal("50000"), 3),
+                new Employee(3, "Loop", "Two", new BigDecimal("50000"), 2),
+                new Employee(4, "Below", "Loop", new BigDecimal("40000"), 3),
+                new Employee(5, "Orphan", "Manager", new BigDecimal("45000"), 99),
+                new Employee(6, "Orphan", "Report", new BigDecimal("35000"), 5)));
+        OrgTreeIndex tree = OrgTreeIndex.build(index);
+
+        assertTrue(tree.contains(index.indexOf(1)));
+        assertFalse(tree.contains(index.indexOf(2)));
+        assertFalse(tree.contains(index.indexOf(4)));
+        assertEquals(0, tree.getTransitiveHeadcount(index.indexOf(3)));
+        assertFalse(tree.isInSubtree(index.indexOf(3), index.indexOf(4)));
+
+        assertEquals(1, tree.getTransitiveHeadcount(index.indexOf(5)));
+        assertEquals(new BigDecimal("80000.00"), tree.getSubtreePayroll(index.indexOf(5)));
+        assertFalse(tree.isInSubtree(index.indexOf(1), index.indexOf(6)));
+    }
+
+    @Test
+    void testPayrollFallsBackToExactSums() {
+        OrgIndex index = OrgIndex.build(Arrays.asList(
+                new Employee(1, "Chief", "Executive", new BigDecimal("100000.125"), null),
+                new Employee(2, "Report", "One", new BigDecimal("50000.5"), 1)));
+
+        assertEquals(new BigDecimal("150000.625"), OrgTreeIndex.build(index).getSubtreePayroll(0));
+    }
+
+    @Test
+    void testMatchesNaiveWalksOnRandomDeepOrganization() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1, "Chief", "Executive", new BigDecimal("200000"), null));
+        for (int id = 2; id <= 2000; id++) {
+            // Mostly chain-like, so the walk goes over a thousand levels deep
+            int managerId = random.nextInt(10) == 0 ? 1 + random.nextInt(id - 1) : id - 1;
+            employees.add(new Employee(id, "E", "E" + id, new BigDecimal(30000 + random.nextInt(1000)), managerId));
+        }
+        OrgIndex index = OrgIndex.build(employees);
+        OrgTreeIndex tree = OrgTreeIndex.build(index);
+
+        for (int manager = 0; manager < index.size(); manager += 97) {
+            int headcount = 0;
+            BigDecimal payroll = index.getEmployee(manager).getSalary();
+            for (int employee = 0; employee < index.size(); employee++) {
+                boolean below = false;
+                for (int current = index.getManagerIndex(employee); current != OrgIndex.NO_MANAGER; current = index.getManagerIndex(current)) {
+                    if (current == manager) {
+                        below = true;
+                        break;
+                    }
+                }
+                assertEquals(below || employee == manager, tree.isInSubtree(manager, employee));
+                if (below) {
+                    headcount++;
+                    payroll = payroll.add(index.getEmployee(employee).getSalary());
+                }
+            }
+            assertEquals(headcount, tree.getTransitiveHeadcount(manager));
+            assertEquals(0, payroll.compareTo(tree.getSubtreePayroll(manager)));
+        }
+    }
+
+    private static List<Integer> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
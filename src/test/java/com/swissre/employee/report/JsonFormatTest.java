@@ -0,0 +1,53 @@
+package com.swissre.employee.report;
+
+import com.swissre.employee.model.AnalysisTimings;
+import com.swissre.employee.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonFormatTest {
+
+    @Test
+    void testEmployee() throws IOException {
+        StringBuilder json = new StringBuilder();
+        JsonFormat.writeEmployee(json, new Employee(124, "Martin", "Chekov", new BigDecimal("45000.50"), 123));
+
+        assertEquals("{\"id\":124,\"firstName\":\"Martin\",\"lastName\":\"Chekov\",\"salary\":45000.50,\"managerId\":123}",
+                json.toString());
+    }
+
+    @Test
+    void testCeoHasNullManager() throws IOException {
+        StringBuilder json = new StringBuilder();
+        JsonFormat.writeEmployee(json, new Employee(1, "Joe", "Doe", new BigDecimal("1E+5"), null));
+
+        assertEquals("{\"id\":1,\"firstName\":\"Joe\",\"lastName\":\"Doe\",\"salary\":100000,\"managerId\":null}",
+                json.toString());
+    }
+
+    @Test
+    void testStringEscaping() throws IOException {
+        StringBuilder json = new StringBuilder();
+        JsonFormat.writeString(json, "O\"Brien\\\n\tZoë\u0001");
+
+        assertEquals("\"O\\\"Brien\\\\\\n\\tZoë\\u0001\"", json.toString());
+    }
+
+    @Test
+    void testTimings() throws IOException {
+        StringBuilder json = new StringBuilder();
+        JsonFormat.writeTimings(json, new AnalysisTimings(10, AnalysisTimings.UNKNOWN,
+                new long[]{100, 0, 200, 300, 0, 400}, new long[]{1, 0, 2, 3, 0, 4}));
+
+        assertEquals("{\"employees\":10,\"bytesRead\":null,\"rowsPerSecond\":100000000,\"totalNanos\":1000,"
+                + "\"totalAllocatedBytes\":10,\"phases\":{\"load\":{\"nanos\":100,\"allocatedBytes\":1},"
+                + "\"index\":{\"nanos\":0,\"allocatedBytes\":0},\"salaryAnalysis\":{\"nanos\":200,\"allocatedBytes\":2},"
+                + "\"reportingLineAnalysis\":{\"nanos\":300,\"allocatedBytes\":3},"
+                + "\"concurrentAnalysis\":{\"nanos\":0,\"allocatedBytes\":0},\"report\":{\"nanos\":400,\"allocatedBytes\":4}}}",
+                json.toString());
+    }
+}
@@ -0,0 +1,93 @@
+package com.swissre.employee.report;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportWriterTest {
+    private static final String NL = System.lineSeparator();
+
+    private final Employee ceo = new Employee(123, "Joe", "Doe", new BigDecimal("60000"), null);
+    private final Employee martin = new Employee(124, "Martin", "Chekov", new BigDecimal("45000"), 123);
+    private final Employee alice = new Employee(300, "Alice", "Hasacat, Jr.", new BigDecimal("50000"), 124);
+
+    private final SalaryAnalysisResult overpaid = new SalaryAnalysisResult(ceo, new BigDecimal("30000.00"),
+            new BigDecimal("36000.00"), new BigDecimal("45000.00"), SalaryAnalysisResult.SalaryIssueType.OVERPAID,
+            new BigDecimal("15000.00"));
+    private final SalaryAnalysisResult underpaid = new SalaryAnalysisResult(martin, new BigDecimal("50000.00"),
+            new BigDecimal("60000.00"), new BigDecimal("75000.00"), SalaryAnalysisResult.SalaryIssueType.UNDERPAID,
+            new BigDecimal("15000.00"));
+    private final ReportingLineAnalysisResult longLine = new ReportingLineAnalysisResult(alice, Arrays.asList(martin, ceo), 5);
+
+    @Test
+    void testTextGroupsSalaryIssuesByType() throws IOException {
+        String report = write(ReportFormat.TEXT, Arrays.asList(overpaid, underpaid), Collections.singletonList(longLine));
+
+        assertEquals(NL + "=== EMPLOYEE ANALYSIS RESULTS ===" + NL + NL
+                + "=== SALARY ANALYSIS ===" + NL
+                + NL + "Managers earning less than they should:" + NL
+                + "- Martin Chekov (ID: 124) earns 15000.00 less than expected" + NL
+                + NL + "Managers earning more than they should:" + NL
+                + "- Joe Doe (ID: 123) earns 15000.00 more than expected" + NL
+                + NL + "=== REPORTING LINE ANALYSIS ===" + NL
+                + NL + "Employees with reporting lines too long (more than 4 managers):" + NL
+                + "- Alice Hasacat, Jr. (ID: 300) has 5 managers in reporting line" + NL
+                + NL + "=== ANALYSIS COMPLETE ===" + NL, report);
+    }
+
+    @Test
+    void testTextWithoutIssues() throws IOException {
+        String report = write(ReportFormat.TEXT, Collections.emptyList(), Collections.emptyList());
+
+        assertTrue(report.contains("No salary discrepancies found."));
+        assertTrue(report.contains("No reporting line issues found."));
+    }
+
+    @Test
+    void testJsonLines() throws IOException {
+        String report = write(ReportFormat.JSONL, Collections.singletonList(underpaid), Collections.singletonList(longLine));
+
+        String[] lines = report.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"salaryIssue\":{\"manager\":{\"id\":124,"));
+        assertTrue(lines[0].endsWith("\"maximumExpectedSalary\":75000.00}}"));
+        assertTrue(lines[1].startsWith("{\"reportingLineIssue\":{\"employee\":{\"id\":300,"));
+        assertTrue(lines[1].contains("\"reportingLineLength\":5"));
+    }
+
+    @Test
+    void testCsvQuotesFields() throws IOException {
+        String report = write(ReportFormat.CSV, Arrays.asList(underpaid, overpaid), Collections.singletonList(longLine));
+
+        assertEquals("issueType,id,firstName,lastName,value\r\n"
+                + "UNDERPAID,124,Martin,Chekov,15000.00\r\n"
+                + "OVERPAID,123,Joe,Doe,15000.00\r\n"
+                + "REPORTING_LINE_TOO_LONG,300,Alice,\"Hasacat, Jr.\",5\r\n", report);
+    }
+
+    private static String write(ReportFormat format, List<SalaryAnalysisResult> salaryIssues,
+                                List<ReportingLineAnalysisResult> reportingLineIssues) throws IOException {
+        StringWriter out = new StringWriter();
+        ReportWriter writer = format.newWriter(out);
+        writer.startSalaryIssues();
+        writer.writeSalaryIssues(salaryIssues);
+        writer.endSalaryIssues();
+        writer.startReportingLineIssues();
+        for (ReportingLineAnalysisResult result : reportingLineIssues) {
+            writer.writeReportingLineIssue(result);
+        }
+        writer.endReportingLineIssues();
+        writer.flush();
+        return out.toString();
+    }
+}
@@ -0,0 +1,146 @@
+package com.swissre.employee.server;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.service.impl.OrgAnalysisEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeQueryServerTest {
+
+    private EmployeeQueryServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        List<Employee> employees = Arrays.asList(
+                new Employee(123, "Joe", "Doe", new BigDecimal("60000"), null),
+                new Employee(124, "Martin", "Chekov", new BigDecimal("45000"), 123),
+                new Employee(125, "Bob", "Ronstad", new BigDecimal("47000"), 123),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal("50000"), 124),
+                new Employee(305, "Brett", "Hardleaf", new BigDecimal("34000"), 300),
+                new Employee(306, "Deep", "Report", new BigDecimal("30000"), 305),
+                new Employee(307, "Deeper", "Report", new BigDecimal("25000"), 306),
+                new Employee(400, "Loop", "One", new BigDecimal("30000"), 401),
+                new Employee(401, "Loop", "Two", new BigDecimal("30000"), 400));
+        server = new EmployeeQueryServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                EmployeeQueryIndex.build(employees, new OrgAnalysisEngine()));
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void testSalaryIssues() throws IOException {
+        Response response = get("/salary-issues");
+
+        assertEquals(200, response.status);
+        assertTrue(response.body.startsWith("[{\"manager\":{\"id\":124,"));
+        assertTrue(response.body.contains("\"issueType\":\"UNDERPAID\",\"salaryGap\":15000.00"));
+    }
+
+    @Test
+    void testReportingLineIssues() throws IOException {
+        Response response = get("/reporting-line-issues");
+
+        assertEquals(200, response.status);
+        assertTrue(response.body.contains("{\"employee\":{\"id\":307,"));
+        assertTrue(response.body.contains("\"reportingLineLength\":101"));
+    }
+
+    @Test
+    void testReportingChain() throws IOException {
+        Response response = get("/employees/305/chain");
+
+        assertEquals(200, response.status);
+        assertTrue(response.body.contains("\"reportingLineLength\":3,\"circular\":false"));
+        assertTrue(response.body.indexOf("\"id\":300") < response.body.indexOf("\"id\":124"));
+        assertTrue(response.body.indexOf("\"id\":124") < response.body.indexOf("\"id\":123"));
+
+        Response circular = get("/employees/400/chain");
+        assertEquals(200, circular.status);
+        assertTrue(circular.body.contains("\"circular\":true,\"reportingChain\":[{\"id\":401,"));
+    }
+
+    @Test
+    void testTeam() throws IOException {
+        Response response = get("/employees/124/team");
+
+        assertEquals(200, response.status);
+        assertTrue(response.body.endsWith("\"headcount\":4,\"payroll\":184000.00}"));
+
+        Response circular = get("/employees/400/team");
+        assertTrue(circular.body.endsWith("\"headcount\":null,\"payroll\":null}"));
+        assertEquals(404, get("/employees/999/team").status);
+    }
+
+    @Test
+    void testErrors() throws IOException {
+        assertEquals(404, get("/employees/999/chain").status);
+        assertEquals(400, get("/employees/abc/chain").status);
+        assertEquals(404, get("/unknown").status);
+
+        HttpURLConnection connection = open("/salary-issues");
+        connection.setRequestMethod("DELETE");
+        assertEquals(405, connection.getResponseCode());
+    }
+
+    @Test
+    void testConcurrentRequests() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Response>> responses = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String path = i % 2 == 0 ? "/salary-issues" : "/employees/306/chain";
+                responses.add(clients.submit(() -> get(path)));
+            }
+            for (Future<Response> response : responses) {
+                assertEquals(200, response.get().status);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        URL url = new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), path);
+        return (HttpURLConnection) url.openConnection();
+    }
+
+    private Response get(String path) throws IOException {
+        HttpURLConnection connection = open(path);
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            return new Response(status, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
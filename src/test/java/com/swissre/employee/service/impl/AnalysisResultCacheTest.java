@@ -0,0 +1,204 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.OrgAnalysisResult;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.service.ReportingLineAnalysisService;
+import com.swissre.employee.service.SalaryAnalysisService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AnalysisResultCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testKeyDependsOnContentAnalysisAndImplementation() {
+        String fingerprint = AnalysisResultCache.fingerprintOf(organization(new BigDecimal("55000")));
+
+        String key = AnalysisResultCache.keyOf("salary", OrgAnalysisEngine.class, fingerprint);
+
+        assertEquals(64, key.length());
+        assertEquals(fingerprint, AnalysisResultCache.fingerprintOf(organization(new BigDecimal("55000"))));
+        assertNotEquals(fingerprint, AnalysisResultCache.fingerprintOf(organization(new BigDecimal("55001"))));
+        assertNotEquals(fingerprint, AnalysisResultCache.fingerprintOf(organization(new BigDecimal("55000.0"))));
+        assertNotEquals(key, AnalysisResultCache.keyOf("reporting-line", OrgAnalysisEngine.class, fingerprint));
+        assertNotEquals(key, AnalysisResultCache.keyOf("salary", DefaultSalaryAnalysisService.class, fingerprint));
+    }
+
+    @Test
+    void testMemoryHitAndMiss() {
+        AnalysisResultCache cache = new AnalysisResultCache(1024);
+
+        assertNull(cache.get("a"));
+        cache.put("a", new byte[]{1, 2, 3});
+
+        assertArrayEquals(new byte[]{1, 2, 3}, cache.get("a"));
+        assertEquals(1, cache.getMemoryHits());
+        assertEquals(0, cache.getDiskHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testMemoryEvictsLeastRecentlyUsedByBytes() {
+        AnalysisResultCache cache = new AnalysisResultCache(20);
+        cache.put("a", new byte[8]);
+        cache.put("b", new byte[8]);
+        cache.get("a");
+        cache.put("c", new byte[8]);
+
+        assertEquals(16, cache.getMemoryBytes());
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertNull(cache.get("b"));
+
+        // Entries larger than the whole tier are not kept
+        cache.put("d", new byte[21]);
+        assertNull(cache.get("d"));
+    }
+
+    @Test
+    void testDiskTierSurvivesNewInstance() {
+        new AnalysisResultCache(1024, tempDir, 1024).put("a", new byte[]{4, 5, 6});
+
+        AnalysisResultCache cache = new AnalysisResultCache(1024, tempDir, 1024);
+
+        assertArrayEquals(new byte[]{4, 5, 6}, cache.get("a"));
+        assertEquals(1, cache.getDiskHits());
+        // Promoted to memory
+        assertArrayEquals(new byte[]{4, 5, 6}, cache.get("a"));
+        assertEquals(1, cache.getMemoryHits());
+    }
+
+    @Test
+    void testDiskEvictsOldestEntriesByBytes() throws IOException {
+        // Each entry takes a 12 byte header plus its payload
+        AnalysisResultCache cache = new AnalysisResultCache(0, tempDir, 50);
+        cache.put("a", new byte[10]);
+        Files.setLastModifiedTime(tempDir.resolve("a" + AnalysisResultCache.ENTRY_SUFFIX),
+                FileTime.fromMillis(1000));
+        cache.put("b", new byte[10]);
+        cache.put("c", new byte[10]);
+
+        assertEquals(Arrays.asList("b", "c"), storedKeys());
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+    }
+
+    @Test
+    void testCorruptDiskEntryIsAMiss() throws IOException {
+        new AnalysisResultCache(1024, tempDir, 1024).put("a", new byte[]{4, 5, 6});
+        Path entry = tempDir.resolve("a" + AnalysisResultCache.ENTRY_SUFFIX);
+        byte[] bytes = Files.readAllBytes(entry);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(entry, bytes);
+
+        AnalysisResultCache cache = new AnalysisResultCache(1024, tempDir, 1024);
+
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void testCachingSalaryAnalysisRunsDelegateOnce() {
+        SalaryAnalysisService delegate = spy(new DefaultSalaryAnalysisService());
+        List<Employee> employees = organization(new BigDecimal("55000"));
+        AnalysisResultCache cache = new AnalysisResultCache(1024, tempDir, 1 << 20);
+
+        List<SalaryAnalysisResult> first = new CachingSalaryAnalysisService(delegate, cache).analyzeSalaryDiscrepancies(employees);
+        List<SalaryAnalysisResult> second = new CachingSalaryAnalysisService(delegate, cache).analyzeSalaryDiscrepancies(organization(new BigDecimal("55000")));
+        List<SalaryAnalysisResult> fromDisk = new CachingSalaryAnalysisService(delegate, new AnalysisResultCache(1024, tempDir, 1 << 20))
+                .analyzeSalaryDiscrepancies(employees);
+
+        verify(delegate, times(1)).analyzeSalaryDiscrepancies(anyList());
+        assertEquals(1, first.size());
+        for (List<SalaryAnalysisResult> cached : Arrays.asList(second, fromDisk)) {
+            assertEquals(1, cached.size());
+            SalaryAnalysisResult result = cached.get(0);
+            assertEquals(first.get(0).getManager(), result.getManager());
+            assertEquals("Manager", result.getManager().getFirstName());
+            assertEquals(first.get(0).getIssueType(), result.getIssueType());
+            assertEquals(first.get(0).getAverageSubordinateSalary(), result.getAverageSubordinateSalary());
+            assertEquals(first.get(0).getSalaryGap(), result.getSalaryGap());
+        }
+    }
+
+    @Test
+    void testCachingReportingLineAnalysisRunsDelegateOnce() {
+        ReportingLineAnalysisService delegate = spy(new DefaultReportingLineAnalysisService());
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1, "Chief", "Executive", new BigDecimal("200000"), null));
+        for (int id = 2; id <= 7; id++) {
+            employees.add(new Employee(id, "Level", String.valueOf(id), new BigDecimal("50000"), id - 1));
+        }
+        AnalysisResultCache cache = new AnalysisResultCache(1 << 20);
+        ReportingLineAnalysisService service = new CachingReportingLineAnalysisService(delegate, cache);
+
+        List<ReportingLineAnalysisResult> first = service.analyzeReportingLines(employees);
+        List<ReportingLineAnalysisResult> second = service.analyzeReportingLines(employees);
+
+        verify(delegate, times(1)).analyzeReportingLines(anyList());
+        assertEquals(1, cache.getMemoryHits());
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getEmployee(), second.get(i).getEmployee());
+            assertEquals(first.get(i).getReportingChain(), second.get(i).getReportingChain());
+            assertEquals(first.get(i).getReportingLineLength(), second.get(i).getReportingLineLength());
+        }
+    }
+
+    @Test
+    void testCachingEngineRunsDelegateOncePerAnalysis() {
+        OrgAnalysisEngine delegate = spy(new OrgAnalysisEngine());
+        AnalysisResultCache cache = new AnalysisResultCache(1 << 20);
+        OrgAnalysisEngine engine = new CachingOrgAnalysisEngine(delegate, cache);
+
+        OrgAnalysisResult first = engine.analyze(organization(new BigDecimal("55000")));
+        OrgAnalysisResult second = engine.analyze(organization(new BigDecimal("55000")));
+
+        verify(delegate, times(1)).analyzeSalaryDiscrepancies(any(OrgIndex.class));
+        verify(delegate, times(1)).analyzeReportingLines(any(OrgIndex.class));
+        assertEquals(2, cache.getMemoryHits());
+        assertEquals(first.getSalaryIssues().size(), second.getSalaryIssues().size());
+        assertEquals(first.getSalaryIssues().get(0).getManager(), second.getSalaryIssues().get(0).getManager());
+        assertEquals(first.getReportingLineIssues().size(), second.getReportingLineIssues().size());
+
+        // A different implementation over the same data does not reuse the entries
+        new CachingOrgAnalysisEngine(new OrgAnalysisEngine() { }, cache).analyze(organization(new BigDecimal("55000")));
+        assertEquals(4, cache.getMisses());
+    }
+
+    private List<String> storedKeys() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(AnalysisResultCache.ENTRY_SUFFIX))
+                    .map(name -> name.substring(0, name.length() - AnalysisResultCache.ENTRY_SUFFIX.length()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static List<Employee> organization(BigDecimal managerSalary) {
+        return Arrays.asList(
+                new Employee(1, "Manager", "One", managerSalary, null),
+                new Employee(2, "Sub", "One", new BigDecimal("50000"), 1),
+                new Employee(3, "Sub", "Two", new BigDecimal("50000"), 1));
+    }
+}
@@ -0,0 +1,165 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.config.CompensationPolicy;
+import com.swissre.employee.config.SalaryBand;
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.OrgAnalysisResult;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompensationPolicyEngineTest {
+    
+    private CompensationPolicyEngine engine;
+    
+    @BeforeEach
+    void setUp() {
+        engine = new CompensationPolicyEngine();
+    }
+    
+    @Test
+    void testStandardPolicyMatchesAnalysisEngine() {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1, "Chief", "Executive", new BigDecimal("250000"), null));
+        for (int id = 2; id <= 2000; id++) {
+            int managerId = 1 + random.nextInt(Math.min(id - 1, 40 + id / 3));
+            BigDecimal salary = BigDecimal.valueOf(30_000_00L + random.nextInt(150_000_00), 2);
+            employees.add(new Employee(id, "First" + id, "Last" + id, salary, managerId));
+        }
+        // Not representable in minor units: exercises the BigDecimal fallback
+        employees.add(new Employee(3000, "Very", "Rich", new BigDecimal("123456789012345678.25"), 2));
+        employees.add(new Employee(5000, "Lost", "Soul", new BigDecimal("40000"), 9999));
+        
+        Map<String, OrgAnalysisResult> results = engine.evaluate(employees, Collections.singletonList(CompensationPolicy.standard()));
+        OrgAnalysisResult expected = new OrgAnalysisEngine().analyze(employees);
+        
+        OrgAnalysisResult standard = results.get(CompensationPolicy.STANDARD_NAME);
+        assertEquals(describeSalary(expected.getSalaryIssues()), describeSalary(standard.getSalaryIssues()));
+        assertEquals(describeReporting(expected.getReportingLineIssues()), describeReporting(standard.getReportingLineIssues()));
+        assertFalse(standard.getReportingLineIssues().isEmpty());
+    }
+    
+    @Test
+    void testPoliciesEvaluatedTogetherMatchSeparateRuns() {
+        List<Employee> employees = sampleOrganization();
+        CompensationPolicy loose = new CompensationPolicy("loose",
+                new SalaryBand(new BigDecimal("-0.20"), BigDecimal.ONE), 4);
+        CompensationPolicy tight = new CompensationPolicy("tight",
+                new SalaryBand(new BigDecimal("0.30"), new BigDecimal("0.35")), 4);
+        List<CompensationPolicy> policies = Arrays.asList(CompensationPolicy.standard(), loose, tight);
+        
+        Map<String, OrgAnalysisResult> results = engine.evaluate(employees, policies);
+        
+        assertEquals(Arrays.asList("standard", "loose", "tight"), new ArrayList<>(results.keySet()));
+        for (CompensationPolicy policy : policies) {
+            OrgAnalysisResult alone = engine.evaluate(employees, Collections.singletonList(policy)).get(policy.getName());
+            assertEquals(describeSalary(alone.getSalaryIssues()), describeSalary(results.get(policy.getName()).getSalaryIssues()));
+        }
+        assertEquals(Arrays.asList(124), managerIds(results.get("standard")));
+        assertTrue(results.get("loose").getSalaryIssues().isEmpty());
+        // 123: 60000 vs 46000 average (+30.4%) is within; 124: underpaid; 300: 50000 vs 34000 (+47%) is overpaid
+        assertEquals(Arrays.asList(124, 300), managerIds(results.get("tight")));
+    }
+    
+    @Test
+    void testLevelBandAppliesToManagersAtThatLevel() {
+        List<Employee> employees = sampleOrganization();
+        // The CEO (level 0) must earn at least 40% more than their reports; everyone else keeps the standard band
+        CompensationPolicy policy = new CompensationPolicy("ceo-premium", SalaryBand.STANDARD,
+                Collections.singletonMap(0, new SalaryBand(new BigDecimal("0.40"), new BigDecimal("0.60"))), 4);
+        
+        OrgAnalysisResult result = engine.evaluate(employees, Collections.singletonList(policy)).get("ceo-premium");
+        
+        assertEquals(Arrays.asList(123, 124), managerIds(result));
+        SalaryAnalysisResult ceo = result.getSalaryIssues().get(0);
+        assertEquals(SalaryAnalysisResult.SalaryIssueType.UNDERPAID, ceo.getIssueType());
+        assertEquals(new BigDecimal("64400.00"), ceo.getMinimumExpectedSalary());
+        assertEquals(new BigDecimal("4400.00"), ceo.getSalaryGap());
+    }
+    
+    @Test
+    void testBandForLevelDeeperThanOrganizationIsIgnored() {
+        List<Employee> employees = sampleOrganization();
+        Map<Integer, SalaryBand> levelBands = new HashMap<>();
+        levelBands.put(0, new SalaryBand(new BigDecimal("0.40"), new BigDecimal("0.60")));
+        levelBands.put(Integer.MAX_VALUE - 1, SalaryBand.STANDARD);
+        CompensationPolicy policy = new CompensationPolicy("ceo-premium", SalaryBand.STANDARD, levelBands, 4);
+        
+        OrgAnalysisResult result = engine.evaluate(employees, Collections.singletonList(policy)).get("ceo-premium");
+        
+        assertEquals(Arrays.asList(123, 124), managerIds(result));
+    }
+    
+    @Test
+    void testReportingLineLimitPerPolicy() {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1, "Level", "0", new BigDecimal("100000"), null));
+        for (int id = 2; id <= 7; id++) {
+            employees.add(new Employee(id, "Level", Integer.toString(id - 1), new BigDecimal("100000"), id - 1));
+        }
+        CompensationPolicy shallow = new CompensationPolicy("shallow", SalaryBand.STANDARD, 2);
+        CompensationPolicy deep = new CompensationPolicy("deep", SalaryBand.STANDARD, 10);
+        
+        Map<String, OrgAnalysisResult> results = engine.evaluate(employees,
+                Arrays.asList(CompensationPolicy.standard(), shallow, deep));
+        
+        assertEquals(Arrays.asList(6, 7), employeeIds(results.get("standard")));
+        assertEquals(Arrays.asList(4, 5, 6, 7), employeeIds(results.get("shallow")));
+        assertTrue(results.get("deep").getReportingLineIssues().isEmpty());
+        assertEquals(Arrays.asList(6, 5, 4, 3, 2, 1), results.get("shallow").getReportingLineIssues().get(3).getReportingChain()
+                .stream().map(Employee::getId).collect(Collectors.toList()));
+    }
+    
+    @Test
+    void testInvalidPolicies() {
+        List<Employee> employees = sampleOrganization();
+        assertThrows(IllegalArgumentException.class, () -> engine.evaluate(employees, Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> engine.evaluate(employees,
+                Arrays.asList(CompensationPolicy.standard(), CompensationPolicy.standard())));
+        assertThrows(IllegalArgumentException.class, () -> new SalaryBand(new BigDecimal("0.5"), new BigDecimal("0.2")));
+    }
+    
+    private static List<Employee> sampleOrganization() {
+        return Arrays.asList(
+                new Employee(123, "Joe", "Doe", new BigDecimal("60000"), null),
+                new Employee(124, "Martin", "Chekov", new BigDecimal("45000"), 123),
+                new Employee(125, "Bob", "Ronstad", new BigDecimal("47000"), 123),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal("50000"), 124),
+                new Employee(305, "Brett", "Hardleaf", new BigDecimal("34000"), 300));
+    }
+    
+    private static List<Integer> managerIds(OrgAnalysisResult result) {
+        return result.getSalaryIssues().stream().map(r -> r.getManager().getId()).collect(Collectors.toList());
+    }
+    
+    private static List<Integer> employeeIds(OrgAnalysisResult result) {
+        return result.getReportingLineIssues().stream().map(r -> r.getEmployee().getId()).collect(Collectors.toList());
+    }
+    
+    private static List<String> describeSalary(List<SalaryAnalysisResult> results) {
+        return results.stream()
+                .map(r -> r.getManager().getId() + " " + r.getIssueType() + " " + r.getAverageSubordinateSalary()
+                        + " " + r.getMinimumExpectedSalary() + " " + r.getMaximumExpectedSalary() + " " + r.getSalaryGap())
+                .collect(Collectors.toList());
+    }
+    
+    private static List<String> describeReporting(List<ReportingLineAnalysisResult> results) {
+        return results.stream()
+                .map(r -> r.getEmployee().getId() + " " + r.getReportingLineLength() + " " + r.getReportingChain())
+                .collect(Collectors.toList());
+    }
+}
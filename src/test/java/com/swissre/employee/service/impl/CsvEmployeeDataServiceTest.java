@@ -0,0 +1,301 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.service.EmployeeDataException;
+import com.swissre.employee.service.EmployeeDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvEmployeeDataServiceTest {
+    
+    private static final String SAMPLE_CSV = "id,firstName,lastName,salary,managerId\n" +
+            "123,Joe,Doe,60000,\n" +
+            "124,Martin,Chekov,45000,123\n" +
+            "125,Bob,Ronstad,47000,123\n" +
+            "300,Alice,Hasacat,50000,124\n" +
+            "305,Brett,Hardleaf,34000,300\n";
+    
+    @TempDir
+    Path tempDir;
+    
+    private EmployeeDataService employeeDataService;
+    
+    @BeforeEach
+    void setUp() {
+        employeeDataService = new CsvEmployeeDataService();
+    }
+    
+    @Test
+    void testLoadEmployees() throws IOException, EmployeeDataException {
+        Path csvFile = writeCsv(SAMPLE_CSV);
+        
+        List<Employee> employees = employeeDataService.loadEmployeesFromCsv(csvFile.toString());
+        
+        assertEquals(5, employees.size());
+        Employee ceo = employees.get(0);
+        assertEquals(123, ceo.getId());
+        assertEquals("Joe Doe", ceo.getFullName());
+        assertEquals(new BigDecimal("60000"), ceo.getSalary());
+        assertTrue(ceo.isCEO());
+        assertEquals(Integer.valueOf(300), employees.get(4).getManagerId());
+    }
+    
+    @Test
+    void testForEachEmployeeStreamsInFileOrder() throws IOException, EmployeeDataException {
+        Path csvFile = writeCsv(SAMPLE_CSV);
+        
+        List<Integer> ids = new ArrayList<>();
+        employeeDataService.forEachEmployee(csvFile.toString(), employee -> ids.add(employee.getId()));
+        
+        assertEquals(Arrays.asList(123, 124, 125, 300, 305), ids);
+    }
+    
+    @Test
+    void testLoadWithoutHeader() throws IOException, EmployeeDataException {
+        Path csvFile = writeCsv("1,Jane,Smith,100000,\n2,John,Doe,50000,1\n");
+        
+        List<Employee> employees = employeeDataService.loadEmployeesFromCsv(csvFile.toString());
+        
+        assertEquals(2, employees.size());
+        assertEquals(Integer.valueOf(1), employees.get(1).getManagerId());
+    }
+    
+    @Test
+    void testInvalidNumberFormat() throws IOException {
+        Path csvFile = writeCsv("id,firstName,lastName,salary,managerId\nabc,Jane,Smith,100000,\n");
+        
+        assertThrows(EmployeeDataException.class, () ->
+            employeeDataService.loadEmployeesFromCsv(csvFile.toString()));
+    }
+    
+    @Test
+    void testMissingFile() {
+        assertThrows(EmployeeDataException.class, () ->
+            employeeDataService.loadEmployeesFromCsv(tempDir.resolve("missing.csv").toString()));
+    }
+    
+    @Test
+    void testQuotedFieldsFallBackToOpenCsv() throws IOException, EmployeeDataException {
+        Path csvFile = writeCsv("id,firstName,lastName,salary,managerId\n" +
+                "1,\"Mary, Jr.\",Smith,100000,\n" +
+                "2,John,\"O'Neil\nDoe\",50000,1\n" +
+                "3,Ann,Lee,40000,1\n");
+        
+        List<Employee> employees = employeeDataService.loadEmployeesFromCsv(csvFile.toString());
+        
+        assertEquals(3, employees.size());
+        assertEquals("Mary, Jr.", employees.get(0).getFirstName());
+        assertEquals("O'Neil\nDoe", employees.get(1).getLastName());
+        assertEquals("Ann Lee", employees.get(2).getFullName());
+    }
+    
+    @Test
+    void testMappedParserMatchesOpenCsv() throws IOException, EmployeeDataException {
+        Path csvFile = writeCsv("id,firstName,lastName,salary,managerId\r\n" +
+                " 1 , Jane , Smith , 100000.50 ,\r\n" +
+                "2,Zoë,Müller,1.5e4, 1 \r\n" +
+                "3,John,Doe,0.75,1,extra\r\n");
+        
+        List<Employee> mapped = new CsvEmployeeDataService(true).loadEmployeesFromCsv(csvFile.toString());
+        List<Employee> openCsv = new CsvEmployeeDataService(false).loadEmployeesFromCsv(csvFile.toString());
+        
+        assertEquals(openCsv.size(), mapped.size());
+        for (int i = 0; i < openCsv.size(); i++) {
+            assertEquals(openCsv.get(i).toString(), mapped.get(i).toString());
+        }
+        assertEquals(new BigDecimal("100000.50"), mapped.get(0).getSalary());
+        assertEquals("Zoë Müller", mapped.get(1).getFullName());
+    }
+    
+    @Test
+    void testMappedParserAcceptsLeadingZeros() throws IOException, EmployeeDataException {
+        Path csvFile = writeCsv("id,firstName,lastName,salary,managerId\n" +
+                "00000000001,Jane,Smith,100000,\n" +
+                "+0000000000002,John,Doe,50000,000000000000001\n");
+        
+        List<Employee> employees = new CsvEmployeeDataService(true).loadEmployeesFromCsv(csvFile.toString());
+        
+        assertEquals(1, employees.get(0).getId());
+        assertEquals(2, employees.get(1).getId());
+        assertEquals(Integer.valueOf(1), employees.get(1).getManagerId());
+        Path tooLarge = writeCsv("id,firstName,lastName,salary,managerId\n00012345678901,Jane,Smith,100000,\n");
+        assertThrows(EmployeeDataException.class, () -> new CsvEmployeeDataService(true).loadEmployeesFromCsv(tooLarge.toString()));
+    }
+    
+    @Test
+    void testRepeatedNamesShareOneInstance() throws IOException, EmployeeDataException {
+        Path csvFile = writeCsv("id,firstName,lastName,salary,managerId\n" +
+                "1,Anna,Müller,100000,\n" +
+                "2, Anna ,Smith,50000,1\n" +
+                "3,John,Müller,40000,1\n" +
+                "4,\"Anna\",\"Smith\",40000,1\n");
+        
+        for (boolean mapped : new boolean[] {true, false}) {
+            List<Employee> employees = new CsvEmployeeDataService(mapped).loadEmployeesFromCsv(csvFile.toString());
+            
+            assertSame(employees.get(0).getFirstName(), employees.get(1).getFirstName());
+            assertSame(employees.get(0).getFirstName(), employees.get(3).getFirstName());
+            assertSame(employees.get(0).getLastName(), employees.get(2).getLastName());
+            assertSame(employees.get(1).getLastName(), employees.get(3).getLastName());
+            assertEquals("Anna Smith", employees.get(3).getFullName());
+        }
+    }
+    
+    @Test
+    void testNameDictionaryStopsGrowingAtCapacity() {
+        NameDictionary names = new NameDictionary(2, null);
+        String ann = names.intern(new String("Ann"));
+        
+        assertSame(ann, names.intern(ByteBuffer.wrap("xAnny".getBytes(StandardCharsets.UTF_8)), 1, 4));
+        assertSame(ann, names.intern(new String("Ann")));
+        String bob = names.intern("Bob");
+        String carl = new String("Carl");
+        assertSame(carl, names.intern(carl));
+        assertNotSame(carl, names.intern(new String("Carl")));
+        assertSame(bob, names.intern(new String("Bob")));
+        assertEquals(2, names.size());
+    }
+    
+    @Test
+    void testDictionariesShareCanonicalNames() {
+        ConcurrentMap<String, String> shared = new ConcurrentHashMap<>();
+        NameDictionary first = new NameDictionary(shared);
+        NameDictionary second = new NameDictionary(shared);
+        String ann = first.intern(new String("Ann"));
+        
+        assertSame(ann, second.intern(ByteBuffer.wrap("Ann".getBytes(StandardCharsets.UTF_8)), 0, 3));
+        assertSame(ann, second.intern(new String("Ann")));
+    }
+    
+    @Test
+    void testParallelLoadSharesNamesAcrossChunks() throws IOException, EmployeeDataException {
+        StringBuilder csv = new StringBuilder("id,firstName,lastName,salary,managerId\n");
+        csv.append("1,Chief,Executive,500000.00,\n");
+        for (int id = 2; id <= 150_000; id++) {
+            csv.append(id).append(",Anna,Smith,40000,1\n");
+        }
+        Path csvFile = writeCsv(csv.toString());
+        
+        List<Employee> employees;
+        try (FileChannel channel = FileChannel.open(csvFile, StandardOpenOption.READ)) {
+            // Chunks of about 1 MB, so the file is split into several
+            employees = new ParallelCsvEmployeeLoader(new ForkJoinPool(4), 2 << 20).load(channel);
+        }
+        
+        assertEquals(150_000, employees.size());
+        Employee first = employees.get(1);
+        Employee last = employees.get(employees.size() - 1);
+        assertSame(first.getFirstName(), last.getFirstName());
+        assertSame(first.getLastName(), last.getLastName());
+    }
+    
+    @Test
+    void testTooFewColumns() throws IOException {
+        Path csvFile = writeCsv("1,Jane,Smith\n");
+        
+        assertThrows(EmployeeDataException.class, () ->
+            employeeDataService.loadEmployeesFromCsv(csvFile.toString()));
+    }
+    
+    @Test
+    void testParallelLoadKeepsFileOrder() throws IOException, EmployeeDataException {
+        StringBuilder csv = new StringBuilder("id,firstName,lastName,salary,managerId\n");
+        csv.append("1,Chief,Executive,500000.00,\n");
+        for (int id = 2; id <= 250_000; id++) {
+            csv.append(id).append(",First").append(id).append(",Last").append(id)
+                    .append(',').append(40_000 + id % 1000).append(".25,").append(id / 10 + 1).append('\n');
+        }
+        Path csvFile = writeCsv(csv.toString());
+        
+        List<Employee> parallel = new CsvEmployeeDataService(true, new ForkJoinPool(4)).loadEmployeesFromCsv(csvFile.toString());
+        List<Employee> sequential = new CsvEmployeeDataService(true, new ForkJoinPool(1)).loadEmployeesFromCsv(csvFile.toString());
+        
+        assertEquals(250_000, parallel.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            assertEquals(i + 1, parallel.get(i).getId());
+            assertEquals(sequential.get(i).getSalary(), parallel.get(i).getSalary());
+        }
+    }
+    
+    @Test
+    void testGzipInputIsDetectedByMagicBytes() throws IOException, EmployeeDataException {
+        // The name does not give the compression away
+        Path gzipFile = writeGzip("employees.csv", SAMPLE_CSV + "400,\"Quoted, Name\",Smith,30000,305\n");
+        
+        for (EmployeeDataService service : Arrays.asList(new CsvEmployeeDataService(true), new CsvEmployeeDataService(false))) {
+            List<Employee> employees = service.loadEmployeesFromCsv(gzipFile.toString());
+            
+            assertEquals(6, employees.size());
+            assertEquals("Joe Doe", employees.get(0).getFullName());
+            assertEquals("Quoted, Name", employees.get(5).getFirstName());
+        }
+    }
+    
+    @Test
+    void testPipelinedGzipReaderCarriesLinesAcrossChunks() throws IOException, EmployeeDataException {
+        StringBuilder csv = new StringBuilder("id,firstName,lastName,salary,managerId\r\n1,Chief,Executive,500000.00,\r\n");
+        for (int id = 2; id <= 5_000; id++) {
+            csv.append(id).append(",First").append(id).append(",Last").append(id)
+                    .append(',').append(40_000 + id % 1000).append(".25,").append(id / 10 + 1).append("\r\n");
+        }
+        // No trailing newline on the last record
+        csv.append("5001,Last,Record,1.00,1");
+        Path gzipFile = writeGzip("large.csv.gz", csv.toString());
+        
+        // Chunks far smaller than a line, and a queue of one, stress the hand-over
+        List<Employee> employees = new ArrayList<>();
+        long count = new PipelinedGzipCsvReader(7, 1).read(gzipFile, employees::add);
+        
+        assertEquals(5001, count);
+        for (int i = 0; i < employees.size(); i++) {
+            assertEquals(i + 1, employees.get(i).getId());
+        }
+        assertEquals(new BigDecimal("40002.25"), employees.get(1).getSalary());
+        assertEquals("Last Record", employees.get(5000).getFullName());
+    }
+    
+    @Test
+    void testBrokenGzipInput() throws IOException {
+        byte[] compressed = Files.readAllBytes(writeGzip("broken.csv.gz", SAMPLE_CSV));
+        Path truncated = tempDir.resolve("truncated.csv.gz");
+        Files.write(truncated, Arrays.copyOf(compressed, compressed.length / 2));
+        Path malformed = writeGzip("malformed.csv.gz", SAMPLE_CSV + "x,Broken,Row,1,\n" + SAMPLE_CSV);
+        
+        assertThrows(EmployeeDataException.class, () -> employeeDataService.loadEmployeesFromCsv(truncated.toString()));
+        assertThrows(EmployeeDataException.class, () -> new PipelinedGzipCsvReader(16, 1).read(malformed, employee -> { }));
+    }
+    
+    private Path writeGzip(String name, String content) throws IOException {
+        Path gzipFile = tempDir.resolve(name);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzipFile))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return gzipFile;
+    }
+    
+    private Path writeCsv(String content) throws IOException {
+        Path csvFile = tempDir.resolve("employees.csv");
+        Files.write(csvFile, content.getBytes(StandardCharsets.UTF_8));
+        return csvFile;
+    }
+}
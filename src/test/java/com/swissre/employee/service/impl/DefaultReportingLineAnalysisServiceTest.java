@@ -1,6 +1,7 @@
 package com.swissre.employee.service.impl;
 
 import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeTable;
 import com.swissre.employee.model.ReportingLineAnalysisResult;
 import com.swissre.employee.service.ReportingLineAnalysisService;
 import org.junit.jupiter.api.BeforeEach;
@@ -125,4 +126,26 @@ class DefaultReportingLineAnalysisServiceTest {
         
         assertTrue(results.isEmpty()); // Should handle gracefully
     }
+    
+    @Test
+    void testTableOverloadMatchesListAnalysis() {
+        Employee ceo = new Employee(1, "CEO", "Boss", new BigDecimal("100000"), null);
+        Employee manager1 = new Employee(2, "Manager", "One", new BigDecimal("80000"), 1);
+        Employee manager2 = new Employee(3, "Manager", "Two", new BigDecimal("70000"), 2);
+        Employee manager3 = new Employee(4, "Manager", "Three", new BigDecimal("60000"), 3);
+        Employee manager4 = new Employee(5, "Manager", "Four", new BigDecimal("55000"), 4);
+        Employee employee = new Employee(6, "Employee", "Six", new BigDecimal("50000"), 5);
+        Employee orphan = new Employee(7, "Employee", "Seven", new BigDecimal("50000"), 999);
+        
+        List<Employee> employees = Arrays.asList(ceo, manager1, manager2, manager3, manager4, employee, orphan);
+        
+        List<ReportingLineAnalysisResult> results = new DefaultReportingLineAnalysisService()
+                .analyzeReportingLines(EmployeeTable.fromEmployees(employees));
+        
+        assertEquals(1, results.size());
+        ReportingLineAnalysisResult result = results.get(0);
+        assertEquals(employee, result.getEmployee());
+        assertEquals(5, result.getReportingLineLength());
+        assertEquals(Arrays.asList(manager4, manager3, manager2, manager1, ceo), result.getReportingChain());
+    }
 }
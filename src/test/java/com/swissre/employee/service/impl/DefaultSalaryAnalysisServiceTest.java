@@ -1,14 +1,20 @@
 package com.swissre.employee.service.impl;
 
 import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeTable;
 import com.swissre.employee.model.SalaryAnalysisResult;
 import com.swissre.employee.service.SalaryAnalysisService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -115,4 +121,95 @@ class DefaultSalaryAnalysisServiceTest {
         assertEquals(1, underpaidCount);
         assertEquals(1, overpaidCount);
     }
+    
+    @Test
+    void testTableOverloadMatchesListAnalysis() {
+        Employee manager1 = new Employee(1, "Manager", "One", new BigDecimal("55000"), null);
+        Employee subordinate1 = new Employee(2, "Sub", "One", new BigDecimal("50000"), 1);
+        Employee subordinate2 = new Employee(3, "Sub", "Two", new BigDecimal("50000.01"), 1);
+        Employee manager2 = new Employee(4, "Manager", "Two", new BigDecimal("80000"), 1);
+        Employee subordinate3 = new Employee(5, "Sub", "Three", new BigDecimal("50000"), 4);
+        
+        List<Employee> employees = Arrays.asList(manager1, subordinate1, subordinate2, manager2, subordinate3);
+        
+        List<SalaryAnalysisResult> fromList = salaryAnalysisService.analyzeSalaryDiscrepancies(employees);
+        List<SalaryAnalysisResult> fromTable = new DefaultSalaryAnalysisService()
+                .analyzeSalaryDiscrepancies(EmployeeTable.fromEmployees(employees));
+        
+        assertEquals(fromList.size(), fromTable.size());
+        for (SalaryAnalysisResult expected : fromList) {
+            SalaryAnalysisResult actual = fromTable.stream()
+                    .filter(r -> r.getManager().equals(expected.getManager()))
+                    .findFirst()
+                    .orElseThrow(AssertionError::new);
+            assertEquals(expected.getIssueType(), actual.getIssueType());
+            assertEquals(expected.getAverageSubordinateSalary(), actual.getAverageSubordinateSalary());
+            assertEquals(expected.getMinimumExpectedSalary(), actual.getMinimumExpectedSalary());
+            assertEquals(expected.getMaximumExpectedSalary(), actual.getMaximumExpectedSalary());
+            assertEquals(expected.getSalaryGap(), actual.getSalaryGap());
+        }
+    }
+    
+    @Test
+    void testTableOverloadAcceptsAnySalaryAndOrdersByManagerId() {
+        List<Employee> employees = Arrays.asList(
+                new Employee(9, "Manager", "Nine", new BigDecimal("90000.125"), 1),
+                new Employee(10, "Sub", "Ten", new BigDecimal("50000.005"), 9),
+                new Employee(1, "Chief", "One", new BigDecimal("300000"), null),
+                new Employee(4, "Manager", "Four", new BigDecimal("40000"), 1),
+                new Employee(5, "Sub", "Five", new BigDecimal("50000"), 4));
+        
+        List<SalaryAnalysisResult> fromList = salaryAnalysisService.analyzeSalaryDiscrepancies(employees);
+        List<SalaryAnalysisResult> fromTable = new DefaultSalaryAnalysisService()
+                .analyzeSalaryDiscrepancies(EmployeeTable.fromEmployees(employees));
+        
+        assertEquals(Arrays.asList(1, 4, 9), fromList.stream().map(r -> r.getManager().getId()).collect(Collectors.toList()));
+        assertEquals(fromList.size(), fromTable.size());
+        for (int i = 0; i < fromList.size(); i++) {
+            assertEquals(fromList.get(i).getManager().getId(), fromTable.get(i).getManager().getId());
+            assertEquals(fromList.get(i).getAverageSubordinateSalary(), fromTable.get(i).getAverageSubordinateSalary());
+            assertEquals(fromList.get(i).getSalaryGap(), fromTable.get(i).getSalaryGap());
+        }
+    }
+    
+    @Test
+    void testSalariesBeyondMinorUnitsUseBigDecimalPath() {
+        Employee manager = new Employee(1, "Manager", "One", new BigDecimal("55000.001"), null);
+        Employee subordinate1 = new Employee(2, "Sub", "One", new BigDecimal("50000.005"), 1);
+        Employee subordinate2 = new Employee(3, "Sub", "Two", new BigDecimal("50000"), 1);
+        
+        List<SalaryAnalysisResult> results = salaryAnalysisService.analyzeSalaryDiscrepancies(
+                Arrays.asList(manager, subordinate1, subordinate2));
+        
+        assertEquals(1, results.size());
+        assertEquals(new BigDecimal("50000.00"), results.get(0).getAverageSubordinateSalary());
+        assertEquals(new BigDecimal("4999.999"), results.get(0).getSalaryGap());
+    }
+    
+    @Test
+    void testParallelModeMatchesSequentialModeInManagerIdOrder() {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1, "Chief", "Executive", new BigDecimal("200000"), null));
+        for (int id = 2; id <= 5000; id++) {
+            BigDecimal salary = BigDecimal.valueOf(30_000_00L + random.nextInt(120_000_00), 2);
+            employees.add(new Employee(id, "First", "Last", salary, 1 + random.nextInt(id / 4 + 1)));
+        }
+        Collections.shuffle(employees, random);
+        
+        List<SalaryAnalysisResult> parallel = new DefaultSalaryAnalysisService(new ForkJoinPool(4), 0)
+                .analyzeSalaryDiscrepancies(employees);
+        List<SalaryAnalysisResult> sequential = new DefaultSalaryAnalysisService(new ForkJoinPool(4), Integer.MAX_VALUE)
+                .analyzeSalaryDiscrepancies(employees);
+        
+        assertFalse(parallel.isEmpty());
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < parallel.size(); i++) {
+            assertEquals(sequential.get(i).getManager(), parallel.get(i).getManager());
+            assertEquals(sequential.get(i).getSalaryGap(), parallel.get(i).getSalaryGap());
+            if (i > 0) {
+                assertTrue(parallel.get(i - 1).getManager().getId() < parallel.get(i).getManager().getId());
+            }
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.config.AnalysisConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedPointSalaryMathTest {
+    
+    @Test
+    void testMatchesBigDecimalArithmetic() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long total = random.nextInt(Integer.MAX_VALUE) * (long) (1 + random.nextInt(1000));
+            int count = 1 + random.nextInt(50);
+            
+            BigDecimal expectedAverage = BigDecimal.valueOf(total, 2).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+            long average = FixedPointSalaryMath.average(total, count);
+            
+            assertEquals(expectedAverage, FixedPointSalaryMath.toBigDecimal(average));
+            assertEquals(AnalysisConfig.getMinimumExpectedSalary(expectedAverage),
+                    FixedPointSalaryMath.toBigDecimal(SalaryBandEvaluator.Band.STANDARD.minimumExpectedSalary(average)));
+            assertEquals(AnalysisConfig.getMaximumExpectedSalary(expectedAverage),
+                    FixedPointSalaryMath.toBigDecimal(SalaryBandEvaluator.Band.STANDARD.maximumExpectedSalary(average)));
+        }
+    }
+    
+    @Test
+    void testToMinorUnits() {
+        assertEquals(6000000L, FixedPointSalaryMath.toMinorUnits(new BigDecimal("60000")));
+        assertEquals(6000050L, FixedPointSalaryMath.toMinorUnits(new BigDecimal("60000.5")));
+        assertEquals(6000055L, FixedPointSalaryMath.toMinorUnits(new BigDecimal("60000.55")));
+        assertEquals(FixedPointSalaryMath.NOT_REPRESENTABLE, FixedPointSalaryMath.toMinorUnits(new BigDecimal("60000.555")));
+        assertEquals(FixedPointSalaryMath.NOT_REPRESENTABLE, FixedPointSalaryMath.toMinorUnits(new BigDecimal("6E+4")));
+        assertEquals(FixedPointSalaryMath.NOT_REPRESENTABLE, FixedPointSalaryMath.toMinorUnits(new BigDecimal("12345678901234567")));
+    }
+    
+    @Test
+    void testOverflowIsNotRepresentable() {
+        assertEquals(FixedPointSalaryMath.NOT_REPRESENTABLE, FixedPointSalaryMath.add(Long.MAX_VALUE, 1));
+        assertEquals(FixedPointSalaryMath.NOT_REPRESENTABLE, FixedPointSalaryMath.add(FixedPointSalaryMath.NOT_REPRESENTABLE, 1));
+        assertEquals(FixedPointSalaryMath.NOT_REPRESENTABLE, SalaryBandEvaluator.Band.STANDARD.minimumExpectedSalary(Long.MAX_VALUE / 2));
+    }
+}
@@ -0,0 +1,240 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeChange;
+import com.swissre.employee.model.OrgAnalysisDiff;
+import com.swissre.employee.model.OrgAnalysisResult;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalOrgAnalyzerTest {
+
+    private Employee ceo;
+    private Employee martin;
+    private Employee bob;
+    private Employee alice;
+    private Employee brett;
+    private IncrementalOrgAnalyzer analyzer;
+
+    @BeforeEach
+    void setUp() {
+        ceo = new Employee(123, "Joe", "Doe", new BigDecimal("60000"), null);
+        martin = new Employee(124, "Martin", "Chekov", new BigDecimal("45000"), 123);
+        bob = new Employee(125, "Bob", "Ronstad", new BigDecimal("47000"), 123);
+        alice = new Employee(300, "Alice", "Hasacat", new BigDecimal("50000"), 124);
+        brett = new Employee(305, "Brett", "Hardleaf", new BigDecimal("34000"), 300);
+        analyzer = new IncrementalOrgAnalyzer(Arrays.asList(ceo, martin, bob, alice, brett));
+    }
+
+    @Test
+    void testInitialResultMatchesFullAnalysis() {
+        OrgAnalysisResult result = analyzer.getResult();
+
+        assertEquals(1, result.getSalaryIssues().size());
+        assertEquals(martin, result.getSalaryIssues().get(0).getManager());
+        assertTrue(result.getReportingLineIssues().isEmpty());
+    }
+
+    @Test
+    void testSalaryChangeResolvesIssue() {
+        OrgAnalysisDiff diff = analyzer.apply(EmployeeChange.salaryChange(124, new BigDecimal("61000")));
+
+        assertEquals(1, diff.getResolvedSalaryIssues().size());
+        assertEquals(new BigDecimal("15000.00"), diff.getResolvedSalaryIssues().get(0).getSalaryGap());
+        // The raise pushes the average of the CEO's direct reports up to 54000.00
+        assertEquals(1, diff.getAddedSalaryIssues().size());
+        assertEquals(ceo, diff.getAddedSalaryIssues().get(0).getManager());
+        assertEquals(new BigDecimal("4800.00"), diff.getAddedSalaryIssues().get(0).getSalaryGap());
+        assertEquals(1, analyzer.getResult().getSalaryIssues().size());
+    }
+
+    @Test
+    void testSalaryChangeOfSubordinateUpdatesIssue() {
+        OrgAnalysisDiff diff = analyzer.apply(EmployeeChange.salaryChange(300, new BigDecimal("40000")));
+
+        // Martin now needs 48000.00, and Alice falls below 40800.00 against Brett
+        assertEquals(1, diff.getUpdatedSalaryIssues().size());
+        assertEquals(new BigDecimal("3000.00"), diff.getUpdatedSalaryIssues().get(0).getSalaryGap());
+        assertEquals(1, diff.getAddedSalaryIssues().size());
+        assertEquals(new BigDecimal("800.00"), diff.getAddedSalaryIssues().get(0).getSalaryGap());
+        assertTrue(diff.getResolvedSalaryIssues().isEmpty());
+    }
+
+    @Test
+    void testManagerChangeAddsReportingLineIssues() {
+        List<EmployeeChange> changes = Arrays.asList(
+                EmployeeChange.hire(new Employee(400, "Nina", "Deep", new BigDecimal("30000"), 305)),
+                EmployeeChange.hire(new Employee(401, "Otto", "Deeper", new BigDecimal("25000"), 400)));
+        OrgAnalysisDiff diff = analyzer.applyAll(changes);
+
+        assertEquals(1, diff.getAddedReportingLineIssues().size());
+        ReportingLineAnalysisResult issue = diff.getAddedReportingLineIssues().get(0);
+        assertEquals(401, issue.getEmployee().getId());
+        assertEquals(5, issue.getReportingLineLength());
+        assertEquals(Arrays.asList(400, 305, 300, 124, 123), ids(issue.getReportingChain()));
+
+        // Moving Alice's team directly under the CEO shortens every line below her
+        diff = analyzer.apply(EmployeeChange.managerChange(300, 123));
+        assertEquals(1, diff.getResolvedReportingLineIssues().size());
+        assertTrue(analyzer.getResult().getReportingLineIssues().isEmpty());
+    }
+
+    @Test
+    void testTerminationOrphansDirectReports() {
+        analyzer.applyAll(Arrays.asList(
+                EmployeeChange.hire(new Employee(400, "Nina", "Deep", new BigDecimal("30000"), 305)),
+                EmployeeChange.hire(new Employee(401, "Otto", "Deeper", new BigDecimal("25000"), 400))));
+
+        OrgAnalysisDiff diff = analyzer.apply(EmployeeChange.terminate(124));
+
+        assertEquals(1, diff.getResolvedSalaryIssues().size());
+        assertEquals(1, diff.getResolvedReportingLineIssues().size());
+        assertFalse(analyzer.getEmployees().contains(martin));
+    }
+
+    @Test
+    void testCircularReferenceIsDetectedAndResolved() {
+        OrgAnalysisDiff diff = analyzer.apply(EmployeeChange.managerChange(124, 305));
+
+        assertEquals(Arrays.asList(124, 300, 305), ids(reportingEmployees(diff.getAddedReportingLineIssues())));
+        assertEquals(101, diff.getAddedReportingLineIssues().get(0).getReportingLineLength());
+
+        diff = analyzer.apply(EmployeeChange.managerChange(124, 123));
+        assertEquals(3, diff.getResolvedReportingLineIssues().size());
+        assertTrue(analyzer.getResult().getReportingLineIssues().isEmpty());
+    }
+
+    @Test
+    void testRejectsInvalidChanges() {
+        assertThrows(IllegalStateException.class,
+                () -> analyzer.apply(EmployeeChange.hire(new Employee(124, "Again", "Martin", new BigDecimal("1"), 123))));
+        assertThrows(IllegalArgumentException.class,
+                () -> analyzer.apply(EmployeeChange.terminate(999)));
+        assertThrows(IllegalArgumentException.class,
+                () -> EmployeeChange.salaryChange(124, BigDecimal.ZERO));
+    }
+
+    @Test
+    void testRandomChangesMatchFullAnalysisAndDiff() {
+        Random random = new Random(23);
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1, "Chief", "Executive", new BigDecimal("250000"), null));
+        for (int id = 2; id <= 300; id++) {
+            employees.add(new Employee(id, "First", "Last", randomSalary(random), 1 + random.nextInt(Math.min(id - 1, 5 + id / 4))));
+        }
+        IncrementalOrgAnalyzer incremental = new IncrementalOrgAnalyzer(employees);
+        OrgAnalysisEngine engine = new OrgAnalysisEngine();
+        Map<Integer, SalaryAnalysisResult> salaryIssues = bySalaryManager(incremental.getResult().getSalaryIssues());
+        Map<Integer, ReportingLineAnalysisResult> reportingIssues = byReportingEmployee(incremental.getResult().getReportingLineIssues());
+        int nextId = 1000;
+
+        for (int step = 0; step < 400; step++) {
+            List<Employee> current = incremental.getEmployees();
+            int someone = current.get(random.nextInt(current.size())).getId();
+            // Includes unknown managers (orphans), self-management and cycles
+            int someManager = random.nextInt(10) == 0 ? 5000 + random.nextInt(3) : current.get(random.nextInt(current.size())).getId();
+            EmployeeChange change;
+            switch (random.nextInt(4)) {
+                case 0:
+                    change = EmployeeChange.hire(new Employee(random.nextInt(20) == 0 ? 5000 : nextId++,
+                            "New", "Hire", randomSalary(random), someManager));
+                    break;
+                case 1:
+                    change = EmployeeChange.terminate(someone);
+                    break;
+                case 2:
+                    change = EmployeeChange.salaryChange(someone, randomSalary(random));
+                    break;
+                default:
+                    change = EmployeeChange.managerChange(someone, someManager);
+                    break;
+            }
+            if (change.getType() == EmployeeChange.Type.HIRE && containsId(current, change.getEmployeeId())) {
+                continue;
+            }
+
+            OrgAnalysisDiff diff = incremental.apply(change);
+            OrgAnalysisResult expected = engine.analyze(incremental.getEmployees());
+            OrgAnalysisResult actual = incremental.getResult();
+            assertSameSalaryIssues(expected.getSalaryIssues(), actual.getSalaryIssues());
+            List<ReportingLineAnalysisResult> expectedReporting = new ArrayList<>(expected.getReportingLineIssues());
+            expectedReporting.sort(Comparator.comparingInt(result -> result.getEmployee().getId()));
+            assertSameReportingLineIssues(expectedReporting, actual.getReportingLineIssues());
+
+            // Applying the diff to the previous results gives the new results
+            diff.getResolvedSalaryIssues().forEach(result -> assertNotNull(salaryIssues.remove(result.getManager().getId())));
+            diff.getAddedSalaryIssues().forEach(result -> assertNull(salaryIssues.put(result.getManager().getId(), result)));
+            diff.getUpdatedSalaryIssues().forEach(result -> assertNotNull(salaryIssues.put(result.getManager().getId(), result)));
+            diff.getResolvedReportingLineIssues().forEach(result -> assertNotNull(reportingIssues.remove(result.getEmployee().getId())));
+            diff.getAddedReportingLineIssues().forEach(result -> assertNull(reportingIssues.put(result.getEmployee().getId(), result)));
+            diff.getUpdatedReportingLineIssues().forEach(result -> assertNotNull(reportingIssues.put(result.getEmployee().getId(), result)));
+            assertEquals(bySalaryManager(actual.getSalaryIssues()).keySet(), salaryIssues.keySet());
+            assertEquals(byReportingEmployee(actual.getReportingLineIssues()).keySet(), reportingIssues.keySet());
+        }
+    }
+
+    private static BigDecimal randomSalary(Random random) {
+        return BigDecimal.valueOf(30_000_00L + random.nextInt(150_000_00), 2);
+    }
+
+    private static boolean containsId(List<Employee> employees, int id) {
+        return employees.stream().anyMatch(employee -> employee.getId() == id);
+    }
+
+    private static List<Integer> ids(List<Employee> employees) {
+        List<Integer> ids = new ArrayList<>();
+        employees.forEach(employee -> ids.add(employee.getId()));
+        return ids;
+    }
+
+    private static List<Employee> reportingEmployees(List<ReportingLineAnalysisResult> results) {
+        List<Employee> employees = new ArrayList<>();
+        results.forEach(result -> employees.add(result.getEmployee()));
+        return employees;
+    }
+
+    private static Map<Integer, SalaryAnalysisResult> bySalaryManager(List<SalaryAnalysisResult> results) {
+        Map<Integer, SalaryAnalysisResult> map = new TreeMap<>();
+        results.forEach(result -> map.put(result.getManager().getId(), result));
+        return map;
+    }
+
+    private static Map<Integer, ReportingLineAnalysisResult> byReportingEmployee(List<ReportingLineAnalysisResult> results) {
+        Map<Integer, ReportingLineAnalysisResult> map = new TreeMap<>();
+        results.forEach(result -> map.put(result.getEmployee().getId(), result));
+        return map;
+    }
+
+    private static void assertSameSalaryIssues(List<SalaryAnalysisResult> expected, List<SalaryAnalysisResult> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getManager(), actual.get(i).getManager());
+            assertEquals(expected.get(i).getManager().getSalary(), actual.get(i).getManager().getSalary());
+            assertEquals(expected.get(i).getIssueType(), actual.get(i).getIssueType());
+            assertEquals(expected.get(i).getSalaryGap(), actual.get(i).getSalaryGap());
+        }
+    }
+
+    private static void assertSameReportingLineIssues(List<ReportingLineAnalysisResult> expected,
+                                                      List<ReportingLineAnalysisResult> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getEmployee(), actual.get(i).getEmployee());
+            assertEquals(expected.get(i).getReportingLineLength(), actual.get(i).getReportingLineLength());
+            assertEquals(ids(expected.get(i).getReportingChain()), ids(actual.get(i).getReportingChain()));
+        }
+    }
+}
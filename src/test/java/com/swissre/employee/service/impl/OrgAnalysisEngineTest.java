@@ -0,0 +1,95 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.OrgAnalysisResult;
+import com.swissre.employee.model.ReportingLineAnalysisResult;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrgAnalysisEngineTest {
+    
+    private OrgAnalysisEngine engine;
+    
+    @BeforeEach
+    void setUp() {
+        engine = new OrgAnalysisEngine();
+    }
+    
+    @Test
+    void testSampleOrganization() {
+        Employee ceo = new Employee(123, "Joe", "Doe", new BigDecimal("60000"), null);
+        Employee martin = new Employee(124, "Martin", "Chekov", new BigDecimal("45000"), 123);
+        Employee bob = new Employee(125, "Bob", "Ronstad", new BigDecimal("47000"), 123);
+        Employee alice = new Employee(300, "Alice", "Hasacat", new BigDecimal("50000"), 124);
+        Employee brett = new Employee(305, "Brett", "Hardleaf", new BigDecimal("34000"), 300);
+        
+        OrgAnalysisResult result = engine.analyze(Arrays.asList(ceo, martin, bob, alice, brett));
+        
+        assertEquals(1, result.getSalaryIssues().size());
+        SalaryAnalysisResult underpaid = result.getSalaryIssues().get(0);
+        assertEquals(martin, underpaid.getManager());
+        assertEquals(SalaryAnalysisResult.SalaryIssueType.UNDERPAID, underpaid.getIssueType());
+        assertEquals(new BigDecimal("15000.00"), underpaid.getSalaryGap());
+        assertTrue(result.getReportingLineIssues().isEmpty());
+    }
+    
+    @Test
+    void testMatchesDefaultServicesOnRandomOrganization() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1, "Chief", "Executive", new BigDecimal("250000"), null));
+        for (int id = 2; id <= 2000; id++) {
+            int managerId = 1 + random.nextInt(Math.min(id - 1, 40 + id / 3));
+            BigDecimal salary = BigDecimal.valueOf(30_000_00L + random.nextInt(150_000_00), 2);
+            employees.add(new Employee(id, "First" + id, "Last" + id, salary, managerId));
+        }
+        employees.add(new Employee(5000, "Lost", "Soul", new BigDecimal("40000"), 9999));
+        
+        OrgAnalysisResult result = engine.analyze(employees);
+        List<SalaryAnalysisResult> expectedSalary = new DefaultSalaryAnalysisService().analyzeSalaryDiscrepancies(employees);
+        List<ReportingLineAnalysisResult> expectedReporting = new DefaultReportingLineAnalysisService().analyzeReportingLines(employees);
+        
+        assertEquals(describeSalary(expectedSalary), describeSalary(result.getSalaryIssues()));
+        assertEquals(describeReporting(expectedReporting), describeReporting(result.getReportingLineIssues()));
+        assertFalse(result.getReportingLineIssues().isEmpty());
+    }
+    
+    @Test
+    void testCircularReferenceIsReportedLikeDefaultService() {
+        Employee first = new Employee(1, "First", "Cycle", new BigDecimal("50000"), 2);
+        Employee second = new Employee(2, "Second", "Cycle", new BigDecimal("50000"), 1);
+        List<Employee> employees = Arrays.asList(first, second);
+        
+        List<ReportingLineAnalysisResult> results = engine.analyzeReportingLines(employees);
+        
+        assertEquals(describeReporting(new DefaultReportingLineAnalysisService().analyzeReportingLines(employees)),
+                describeReporting(results));
+    }
+    
+    private static List<String> describeSalary(List<SalaryAnalysisResult> results) {
+        List<String> descriptions = new ArrayList<>();
+        results.stream()
+                .sorted(Comparator.comparingInt(r -> r.getManager().getId()))
+                .forEach(r -> descriptions.add(r.getManager().getId() + " " + r.getIssueType() + " " + r.getAverageSubordinateSalary()
+                        + " " + r.getMinimumExpectedSalary() + " " + r.getMaximumExpectedSalary() + " " + r.getSalaryGap()));
+        return descriptions;
+    }
+    
+    private static List<String> describeReporting(List<ReportingLineAnalysisResult> results) {
+        List<String> descriptions = new ArrayList<>();
+        for (ReportingLineAnalysisResult result : results) {
+            descriptions.add(result.getEmployee().getId() + " " + result.getReportingLineLength() + " " + result.getReportingChain());
+        }
+        return descriptions;
+    }
+}
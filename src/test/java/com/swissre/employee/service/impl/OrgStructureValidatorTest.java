@@ -0,0 +1,95 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeTable;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.OrgValidationReport;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrgStructureValidatorTest {
+
+    @Test
+    void testValidOrganization() {
+        OrgValidationReport report = OrgStructureValidator.validate(OrgIndex.build(Arrays.asList(
+                employee(1, null), employee(2, 1), employee(3, 1), employee(4, 2))));
+
+        assertTrue(report.isValid());
+        assertEquals(1, report.getComponentCount());
+        assertTrue(report.getCycles().isEmpty());
+        assertTrue(report.getOrphans().isEmpty());
+    }
+
+    @Test
+    void testEachCycleAndOrphanReportedOnce() {
+        List<Employee> employees = Arrays.asList(
+                employee(1, null),
+                employee(2, 1),
+                // Cycle 10 -> 11 -> 12 -> 10 with a tail hanging below it
+                employee(13, 12),
+                employee(10, 11),
+                employee(11, 12),
+                employee(12, 10),
+                employee(14, 13),
+                // Self-reference
+                employee(20, 20),
+                // Orphan with a report
+                employee(30, 99),
+                employee(31, 30));
+
+        for (OrgValidationReport report : Arrays.asList(
+                OrgStructureValidator.validate(OrgIndex.build(employees)),
+                OrgStructureValidator.validate(EmployeeTable.fromEmployees(employees)))) {
+            assertFalse(report.isValid());
+            List<List<Integer>> cycles = report.getCycles().stream().map(OrgStructureValidatorTest::ids).collect(Collectors.toList());
+            assertEquals(Arrays.asList(Arrays.asList(12, 10, 11), Arrays.asList(20)), cycles);
+            assertEquals(Arrays.asList(30), ids(report.getOrphans()));
+            // CEO tree, orphan tree and two cycles
+            assertEquals(4, report.getComponentCount());
+        }
+    }
+
+    @Test
+    void testLongCycleIsLinear() {
+        List<Employee> employees = new ArrayList<>();
+        employees.add(employee(1, null));
+        int size = 200_000;
+        for (int id = 2; id <= size; id++) {
+            employees.add(employee(id, id == 2 ? size : id - 1));
+        }
+
+        OrgValidationReport report = OrgStructureValidator.validate(OrgIndex.build(employees));
+
+        assertEquals(1, report.getCycles().size());
+        assertEquals(size - 1, report.getCycles().get(0).size());
+        assertEquals(2, report.getComponentCount());
+    }
+
+    @Test
+    void testCycleDescriptionIsTruncated() {
+        List<Employee> employees = new ArrayList<>();
+        for (int id = 1; id <= 12; id++) {
+            employees.add(employee(id, null));
+        }
+        int[] path = {4, 5, 6, 7, 8, 9, 10, 11, 0, 1, 2, 3};
+
+        assertEquals("5 -> 6 -> 7 -> 5", OrgStructureValidator.describe(path, 0, 3, employees::get));
+        assertEquals("5 -> 6 -> 7 -> 8 -> 9 -> 10 -> 11 -> 12 -> 1 -> 2 -> ...",
+                OrgStructureValidator.describe(path, 0, path.length, employees::get));
+    }
+
+    private static Employee employee(int id, Integer managerId) {
+        return new Employee(id, "First" + id, "Last" + id, new BigDecimal("50000"), managerId);
+    }
+
+    private static List<Integer> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+}
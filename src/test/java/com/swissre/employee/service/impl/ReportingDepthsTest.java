@@ -0,0 +1,38 @@
+package com.swissre.employee.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportingDepthsTest {
+    
+    @Test
+    void testForestDepths() {
+        // 0 <- 1 <- 2, 0 <- 3, 4 is a separate tree top, 5 reports to 4
+        int[] managers = {-1, 0, 1, 0, -1, 4};
+        
+        int[] depths = ReportingDepths.compute(managers.length, i -> managers[i]);
+        
+        assertArrayEquals(new int[] {0, 1, 2, 1, 0, 1}, depths);
+    }
+    
+    @Test
+    void testEmployeesInAndBelowCycleAreCircular() {
+        // 0 <-> 1 form a cycle, 2 reports into it, 3 is a normal tree top
+        int[] managers = {1, 0, 0, -1};
+        
+        int[] depths = ReportingDepths.compute(managers.length, i -> managers[i]);
+        
+        assertArrayEquals(new int[] {ReportingDepths.CIRCULAR, ReportingDepths.CIRCULAR, ReportingDepths.CIRCULAR, 0}, depths);
+    }
+    
+    @Test
+    void testVeryDeepChainInReverseOrder() {
+        int size = 1_000_000;
+        // Employee i reports to i + 1; the last one tops the tree
+        int[] depths = ReportingDepths.compute(size, i -> i == size - 1 ? ReportingDepths.NO_MANAGER : i + 1);
+        
+        assertEquals(size - 1, depths[0]);
+        assertEquals(0, depths[size - 1]);
+    }
+}
@@ -0,0 +1,117 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.OrgAnalysisResult;
+import com.swissre.employee.service.EmployeeDataException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedEmployeeDataServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ShardedEmployeeDataService service = new ShardedEmployeeDataService(new CsvEmployeeDataService());
+
+    @Test
+    void testGlobMergesShardsWithCrossShardManagers() throws Exception {
+        write("a-head-office.csv", "id,firstName,lastName,salary,managerId",
+                "123,Joe,Doe,60000,",
+                "124,Martin,Chekov,45000,123");
+        write("b-region.csv", "id,firstName,lastName,salary,managerId",
+                "300,Alice,Hasacat,50000,124",
+                "125,Bob,Ronstad,47000,123");
+        write("c-region.csv", "305,Brett,Hardleaf,34000,300");
+        write("notes.txt", "not a shard");
+
+        List<Employee> employees = service.loadEmployeesFromCsv(tempDir.resolve("*.csv").toString());
+
+        assertEquals(Arrays.asList(123, 124, 300, 125, 305),
+                employees.stream().map(Employee::getId).collect(Collectors.toList()));
+        OrgAnalysisResult result = new OrgAnalysisEngine().analyze(employees);
+        // Martin (head office) is underpaid relative to Alice (region b)
+        assertEquals(Arrays.asList(124), result.getSalaryIssues().stream()
+                .map(issue -> issue.getManager().getId()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testPathListAndPlainPath() throws Exception {
+        Path first = write("first.csv", "1,Joe,Doe,60000,");
+        Path second = write("second.csv", "2,Jane,Roe,50000,1");
+
+        assertEquals(2, service.loadEmployeesFromCsv(Arrays.asList(second.toString(), first.toString())).size());
+        assertEquals(1, service.loadEmployeesFromCsv(first.toString()).size());
+    }
+
+    @Test
+    void testDuplicateIdAcrossShards() throws Exception {
+        write("a.csv", "1,Joe,Doe,60000,", "2,Jane,Roe,50000,1");
+        write("b.csv", "2,John,Poe,50000,1");
+
+        EmployeeDataException e = assertThrows(EmployeeDataException.class,
+                () -> service.loadEmployeesFromCsv(tempDir.resolve("*.csv").toString()));
+        assertTrue(e.getMessage().startsWith("Duplicate employee ID 2 in "));
+        assertTrue(e.getMessage().contains("a.csv and "));
+        assertTrue(e.getMessage().endsWith("b.csv"));
+    }
+
+    @Test
+    void testNestedGlobAndNoMatch() throws Exception {
+        Files.createDirectories(tempDir.resolve("emea"));
+        write("emea/shard.csv", "1,Joe,Doe,60000,");
+
+        assertTrue(ShardedEmployeeDataService.isGlob("exports/*.csv"));
+        assertFalse(ShardedEmployeeDataService.isGlob("exports/all.csv"));
+        assertEquals(1, service.loadEmployeesFromCsv(tempDir.resolve("**.csv").toString()).size());
+        assertThrows(EmployeeDataException.class, () -> service.loadEmployeesFromCsv(tempDir.resolve("*.csv").toString()));
+    }
+
+    @Test
+    void testExistingFileWithGlobCharactersIsReadLiterally() throws Exception {
+        Path bracketed = write("data[2024].csv", "1,Joe,Doe,60000,");
+        Path braced = write("exports{old}.csv", "2,Jane,Roe,50000,");
+
+        assertFalse(ShardedEmployeeDataService.isGlob(bracketed.toString()));
+        assertEquals(1, service.loadEmployeesFromCsv(bracketed.toString()).size());
+        assertEquals(2, service.loadEmployeesFromCsv(braced.toString()).get(0).getId());
+    }
+
+    @Test
+    void testGlobSkipsSnapshotFilesAndStaysAtPatternDepth() throws Exception {
+        ShardedEmployeeDataService snapshotting = new ShardedEmployeeDataService(
+                new SnapshotEmployeeDataService(new CsvEmployeeDataService()));
+        write("a.csv", "1,Joe,Doe,60000,");
+        write("b.csv", "2,Jane,Roe,50000,1");
+        write("b.csv.snapshot123.tmp", "left over from an interrupted write");
+        Files.createDirectories(tempDir.resolve("archive"));
+        write("archive/old.csv", "3,John,Poe,40000,1");
+
+        String glob = tempDir.resolve("*").toString();
+        assertEquals(2, snapshotting.loadEmployeesFromCsv(glob).size());
+        assertTrue(Files.exists(tempDir.resolve("a.csv.snapshot")));
+        assertEquals(2, snapshotting.loadEmployeesFromCsv(glob).size());
+        assertEquals(3, service.loadEmployeesFromCsv(tempDir.resolve("**.csv").toString()).size());
+    }
+
+    @Test
+    void testBrokenShardFailsLoad() throws Exception {
+        write("a.csv", "1,Joe,Doe,60000,");
+        write("b.csv", "x,Broken,Row,60000,");
+
+        assertThrows(EmployeeDataException.class, () -> service.loadEmployeesFromCsv(tempDir.resolve("*.csv").toString()));
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.write(tempDir.resolve(name), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+}
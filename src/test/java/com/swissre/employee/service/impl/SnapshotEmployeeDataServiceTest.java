@@ -0,0 +1,128 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.service.EmployeeDataException;
+import com.swissre.employee.service.EmployeeDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class SnapshotEmployeeDataServiceTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private EmployeeDataService delegate;
+    private SnapshotEmployeeDataService snapshotService;
+    private Path csvFile;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        delegate = spy(new CsvEmployeeDataService());
+        snapshotService = new SnapshotEmployeeDataService(delegate, tempDir);
+        csvFile = tempDir.resolve("employees.csv");
+        Files.write(csvFile, ("id,firstName,lastName,salary,managerId\n" +
+                "123,Joe,Doe,60000,\n" +
+                "124,Martin,Chekov,45000.50,123\n" +
+                "125,Bob,Doe,47000,123\n").getBytes());
+    }
+    
+    @Test
+    void testSecondLoadUsesSnapshot() throws EmployeeDataException {
+        List<Employee> first = snapshotService.loadEmployeesFromCsv(csvFile.toString());
+        List<Employee> second = snapshotService.loadEmployeesFromCsv(csvFile.toString());
+        
+        verify(delegate, times(1)).loadEmployeesFromCsv(anyString());
+        assertTrue(Files.exists(snapshotService.snapshotPath(csvFile)));
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).toString(), second.get(i).toString());
+        }
+    }
+    
+    @Test
+    void testSnapshotDirectoryKeepsSameNamedFilesApart() throws EmployeeDataException, IOException {
+        Path otherCsv = Files.createDirectory(tempDir.resolve("other")).resolve("employees.csv");
+        Files.write(otherCsv, "1,Jane,Smith,100000,\n".getBytes());
+        SnapshotEmployeeDataService service = new SnapshotEmployeeDataService(delegate, tempDir.resolve("cache"));
+        
+        service.loadEmployeesFromCsv(csvFile.toString());
+        service.loadEmployeesFromCsv(otherCsv.toString());
+        
+        assertNotEquals(service.snapshotPath(csvFile), service.snapshotPath(otherCsv));
+        assertEquals(3, service.loadEmployeesFromCsv(csvFile.toString()).size());
+        assertEquals(1, service.loadEmployeesFromCsv(otherCsv.toString()).size());
+        verify(delegate, times(2)).loadEmployeesFromCsv(anyString());
+        assertFalse(Files.exists(tempDir.resolve("employees.csv" + SnapshotEmployeeDataService.SNAPSHOT_SUFFIX)));
+    }
+    
+    @Test
+    void testChangedFileRebuildsSnapshot() throws EmployeeDataException, IOException {
+        snapshotService.loadEmployeesFromCsv(csvFile.toString());
+        
+        Files.write(csvFile, "1,Jane,Smith,100000,\n".getBytes());
+        Files.setLastModifiedTime(csvFile, FileTime.fromMillis(Files.getLastModifiedTime(csvFile).toMillis() + 5000));
+        List<Employee> reloaded = snapshotService.loadEmployeesFromCsv(csvFile.toString());
+        
+        verify(delegate, times(2)).loadEmployeesFromCsv(anyString());
+        assertEquals(1, reloaded.size());
+        assertEquals("Jane Smith", reloaded.get(0).getFullName());
+    }
+    
+    @Test
+    void testForEachEmployeeReadsSnapshot() throws EmployeeDataException {
+        snapshotService.loadEmployeesFromCsv(csvFile.toString());
+        clearInvocations(delegate);
+        
+        List<Integer> ids = new ArrayList<>();
+        snapshotService.forEachEmployee(csvFile.toString(), employee -> ids.add(employee.getId()));
+        
+        verify(delegate, never()).forEachEmployee(anyString(), any());
+        assertEquals(3, ids.size());
+    }
+    
+    @Test
+    void testCorruptSnapshotIsIgnored() throws EmployeeDataException, IOException {
+        Files.write(snapshotService.snapshotPath(csvFile), new byte[] {1, 2, 3});
+        
+        List<Employee> employees = snapshotService.loadEmployeesFromCsv(csvFile.toString());
+        
+        assertEquals(3, employees.size());
+    }
+    
+    @Test
+    void testSnapshotWithBadCountsFallsBackToCsv() throws EmployeeDataException, IOException {
+        snapshotService.loadEmployeesFromCsv(csvFile.toString());
+        Path snapshot = snapshotService.snapshotPath(csvFile);
+        byte[] valid = Files.readAllBytes(snapshot);
+        // Employee count, name count, first name length, and a truncated file
+        int[][] corruptions = {{32, -1}, {36, Integer.MAX_VALUE}, {40, -5}, {40, 1 << 20}};
+        
+        for (int[] corruption : corruptions) {
+            Files.write(snapshot, ByteBuffer.wrap(valid.clone()).putInt(corruption[0], corruption[1]).array());
+            clearInvocations(delegate);
+            
+            List<Integer> ids = new ArrayList<>();
+            snapshotService.forEachEmployee(csvFile.toString(), employee -> ids.add(employee.getId()));
+            
+            verify(delegate).forEachEmployee(anyString(), any());
+            assertEquals(Arrays.asList(123, 124, 125), ids);
+        }
+        
+        Files.write(snapshot, Arrays.copyOf(valid, valid.length - 1));
+        assertEquals(3, snapshotService.loadEmployeesFromCsv(csvFile.toString()).size());
+    }
+}
@@ -0,0 +1,196 @@
+package com.swissre.employee.service.impl;
+
+import com.swissre.employee.model.Employee;
+import com.swissre.employee.model.EmployeeChange;
+import com.swissre.employee.model.OrgIndex;
+import com.swissre.employee.model.SalaryAnalysisResult;
+import com.swissre.employee.model.WhatIfResult;
+import com.swissre.employee.model.WhatIfScenario;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WhatIfSimulatorTest {
+    
+    @Test
+    void testRaiseClearsUnderpaidManager() {
+        WhatIfSimulator simulator = new WhatIfSimulator(sampleOrganization());
+        
+        WhatIfResult raiseAlone = simulator.simulate(new WhatIfScenario("raise alone",
+                Collections.singletonList(EmployeeChange.salaryChange(124, new BigDecimal("60000")))));
+        WhatIfResult raise = simulator.simulate(new WhatIfScenario("raise", Arrays.asList(
+                EmployeeChange.salaryChange(124, new BigDecimal("60000")),
+                EmployeeChange.salaryChange(123, new BigDecimal("70000")))));
+        WhatIfResult smallRaise = simulator.simulate(new WhatIfScenario("small raise", Arrays.asList(
+                EmployeeChange.salaryChange(124, new BigDecimal("55000")),
+                EmployeeChange.salaryChange(123, new BigDecimal("70000")))));
+        
+        assertEquals(Arrays.asList(124), managerIds(simulator.getBaseSalaryIssues()));
+        // Raising Martin lifts the average of the CEO's reports above what the CEO earns
+        assertEquals(Arrays.asList(123), managerIds(raiseAlone.getSalaryIssues()));
+        assertTrue(raise.clearsSalaryIssues());
+        assertFalse(smallRaise.clearsSalaryIssues());
+        assertEquals(new BigDecimal("5000.00"), smallRaise.getSalaryIssues().get(0).getSalaryGap());
+    }
+    
+    @Test
+    void testHireFillsMissingManager() {
+        List<Employee> employees = new ArrayList<>(sampleOrganization());
+        employees.add(new Employee(400, "Orphan", "Report", new BigDecimal("40000"), 401));
+        WhatIfSimulator simulator = new WhatIfSimulator(employees);
+        
+        WhatIfResult result = simulator.simulate(new WhatIfScenario("hire", Collections.singletonList(
+                EmployeeChange.hire(new Employee(401, "New", "Manager", new BigDecimal("80000"), 123)))));
+        
+        assertEquals(expectedIssues(employees, result.getScenario()), describe(result.getSalaryIssues()));
+        assertEquals(Arrays.asList(123, 124, 401), managerIds(result.getSalaryIssues()));
+        assertEquals(new BigDecimal("40000.00"), result.getSalaryIssues().get(2).getAverageSubordinateSalary());
+    }
+    
+    @Test
+    void testRandomScenariosMatchFullAnalysis() {
+        Random random = new Random(5);
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(1, "Chief", "Executive", new BigDecimal("250000"), null));
+        for (int id = 2; id <= 1500; id++) {
+            int managerId = 1 + random.nextInt(Math.min(id - 1, 30 + id / 4));
+            employees.add(new Employee(id, "First" + id, "Last" + id, salary(random), managerId));
+        }
+        // Not representable in minor units: exercises the BigDecimal fallback
+        employees.add(new Employee(1600, "Very", "Rich", new BigDecimal("123456789012345678.25"), 7));
+        employees.add(new Employee(1601, "Lost", "Soul", new BigDecimal("40000"), 9999));
+        
+        List<WhatIfScenario> scenarios = new ArrayList<>();
+        for (int s = 0; s < 200; s++) {
+            List<EmployeeChange> changes = new ArrayList<>();
+            int nextHire = 10_000 + s * 10;
+            for (int c = 0; c < 1 + random.nextInt(6); c++) {
+                int id = 2 + random.nextInt(1499);
+                switch (random.nextInt(5)) {
+                    case 0:
+                        changes.add(EmployeeChange.managerChange(id, 1 + random.nextInt(100)));
+                        break;
+                    case 1:
+                        changes.add(EmployeeChange.hire(new Employee(nextHire++, "New", "Hire", salary(random), id)));
+                        break;
+                    case 2:
+                        changes.add(EmployeeChange.terminate(id));
+                        break;
+                    default:
+                        changes.add(EmployeeChange.salaryChange(id, salary(random)));
+                        break;
+                }
+            }
+            if (s % 50 == 0) {
+                changes.add(EmployeeChange.hire(new Employee(9999, "Found", "Manager", salary(random), 1)));
+            }
+            scenarios.add(new WhatIfScenario("scenario-" + s, dropInvalid(changes)));
+        }
+        
+        WhatIfSimulator simulator = new WhatIfSimulator(OrgIndex.build(employees), new ForkJoinPool(4));
+        List<WhatIfResult> results = simulator.simulateAll(scenarios);
+        
+        assertEquals(scenarios.size(), results.size());
+        for (int s = 0; s < scenarios.size(); s++) {
+            assertSame(scenarios.get(s), results.get(s).getScenario());
+            assertEquals(expectedIssues(employees, scenarios.get(s)), describe(results.get(s).getSalaryIssues()),
+                    scenarios.get(s).getName());
+        }
+    }
+    
+    @Test
+    void testInvalidChanges() {
+        WhatIfSimulator simulator = new WhatIfSimulator(sampleOrganization());
+        
+        assertThrows(IllegalArgumentException.class, () -> simulator.simulate(new WhatIfScenario("unknown",
+                Collections.singletonList(EmployeeChange.salaryChange(999, new BigDecimal("1000"))))));
+        assertThrows(IllegalStateException.class, () -> simulator.simulate(new WhatIfScenario("duplicate",
+                Collections.singletonList(EmployeeChange.hire(new Employee(124, "Again", "Martin", new BigDecimal("1000"), 123))))));
+        // The base organization is unaffected by scenarios
+        assertEquals(Arrays.asList(124), managerIds(simulator.getBaseSalaryIssues()));
+    }
+    
+    private static List<Employee> sampleOrganization() {
+        return Arrays.asList(
+                new Employee(123, "Joe", "Doe", new BigDecimal("60000"), null),
+                new Employee(124, "Martin", "Chekov", new BigDecimal("45000"), 123),
+                new Employee(125, "Bob", "Ronstad", new BigDecimal("47000"), 123),
+                new Employee(300, "Alice", "Hasacat", new BigDecimal("50000"), 124),
+                new Employee(305, "Brett", "Hardleaf", new BigDecimal("34000"), 300));
+    }
+    
+    private static BigDecimal salary(Random random) {
+        return BigDecimal.valueOf(30_000_00L + random.nextInt(150_000_00), 2);
+    }
+    
+    /**
+     * Terminations of an employee that a later change refers to are dropped, so every scenario is valid.
+     */
+    private static List<EmployeeChange> dropInvalid(List<EmployeeChange> changes) {
+        List<EmployeeChange> valid = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            EmployeeChange change = changes.get(i);
+            boolean laterReference = false;
+            for (int j = 0; j < changes.size(); j++) {
+                laterReference |= j != i && changes.get(j).getType() != EmployeeChange.Type.TERMINATE
+                        && changes.get(j).getEmployeeId() == change.getEmployeeId();
+            }
+            boolean repeated = valid.stream().anyMatch(v -> v.getType() == EmployeeChange.Type.TERMINATE
+                    && v.getEmployeeId() == change.getEmployeeId());
+            if (change.getType() != EmployeeChange.Type.TERMINATE || (!laterReference && !repeated)) {
+                valid.add(change);
+            }
+        }
+        return valid;
+    }
+    
+    private static List<String> expectedIssues(List<Employee> employees, WhatIfScenario scenario) {
+        Map<Integer, Employee> changed = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            changed.put(employee.getId(), employee);
+        }
+        for (EmployeeChange change : scenario.getChanges()) {
+            Employee current = changed.get(change.getEmployeeId());
+            switch (change.getType()) {
+                case HIRE:
+                    changed.put(change.getEmployeeId(), change.getEmployee());
+                    break;
+                case TERMINATE:
+                    changed.remove(change.getEmployeeId());
+                    break;
+                case SALARY_CHANGE:
+                    changed.put(current.getId(), new Employee(current.getId(), current.getFirstName(), current.getLastName(),
+                            change.getSalary(), current.getManagerId()));
+                    break;
+                default:
+                    changed.put(current.getId(), new Employee(current.getId(), current.getFirstName(), current.getLastName(),
+                            current.getSalary(), change.getManagerId()));
+                    break;
+            }
+        }
+        return describe(new OrgAnalysisEngine().analyzeSalaryDiscrepancies(new ArrayList<>(changed.values())));
+    }
+    
+    private static List<Integer> managerIds(List<SalaryAnalysisResult> results) {
+        return results.stream().map(r -> r.getManager().getId()).collect(Collectors.toList());
+    }
+    
+    private static List<String> describe(List<SalaryAnalysisResult> results) {
+        return results.stream()
+                .map(r -> r.getManager().getId() + " " + r.getManager().getSalary() + " " + r.getIssueType() + " "
+                        + r.getAverageSubordinateSalary() + " " + r.getMinimumExpectedSalary() + " "
+                        + r.getMaximumExpectedSalary() + " " + r.getSalaryGap())
+                .collect(Collectors.toList());
+    }
+}
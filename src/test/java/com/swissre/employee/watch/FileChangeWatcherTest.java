@@ -0,0 +1,96 @@
+package com.swissre.employee.watch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileChangeWatcherTest {
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(300);
+
+    @TempDir
+    Path tempDir;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testBurstOfWritesIsReportedOnceQuiet() throws Exception {
+        Path csv = tempDir.resolve("employees.csv");
+        Files.write(csv, "id,firstName,lastName,salary,managerId\n".getBytes());
+
+        try (FileChangeWatcher watcher = new FileChangeWatcher(csv, DEBOUNCE)) {
+            Future<Long> changed = executor.submit(() -> {
+                watcher.awaitChange();
+                return System.nanoTime();
+            });
+
+            long lastWrite = 0;
+            for (int i = 0; i < 3; i++) {
+                Files.write(csv, ("1,Joe,Doe,6000" + i + ",\n").getBytes());
+                lastWrite = System.nanoTime();
+                Thread.sleep(100);
+            }
+
+            long reportedAt = changed.get(10, TimeUnit.SECONDS);
+            assertTrue(reportedAt - lastWrite >= DEBOUNCE.toNanos() - TimeUnit.MILLISECONDS.toNanos(50),
+                    "change reported before the file was quiet");
+        }
+    }
+
+    @Test
+    void testOtherFilesInDirectoryAreIgnored() throws Exception {
+        Path csv = tempDir.resolve("employees.csv");
+        Files.write(csv, "id,firstName,lastName,salary,managerId\n".getBytes());
+
+        try (FileChangeWatcher watcher = new FileChangeWatcher(csv, DEBOUNCE)) {
+            Future<?> changed = executor.submit(() -> {
+                watcher.awaitChange();
+                return null;
+            });
+
+            Files.write(tempDir.resolve("employees.csv.snapshot"), new byte[]{1, 2, 3});
+            assertThrows(TimeoutException.class, () -> changed.get(1, TimeUnit.SECONDS));
+
+            Files.write(csv, "1,Joe,Doe,60000,\n".getBytes());
+            changed.get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testClosedWatcherStopsWaiting() throws IOException {
+        Path csv = tempDir.resolve("employees.csv");
+        Files.write(csv, new byte[0]);
+
+        FileChangeWatcher watcher = new FileChangeWatcher(csv, DEBOUNCE);
+        Future<?> waiting = executor.submit(() -> {
+            watcher.awaitChange();
+            return null;
+        });
+        watcher.close();
+
+        assertThrows(Exception.class, () -> waiting.get(10, TimeUnit.SECONDS));
+    }
+}